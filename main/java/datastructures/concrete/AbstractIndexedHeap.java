@@ -0,0 +1,70 @@
+package datastructures.concrete;
+
+/**
+ * The sift-up and sift-down steps of a 4-ary min-heap whose elements know which slot
+ * they occupy, shared by IndexedArrayHeap and the int-keyed heaps in misc.graphs.
+ *
+ * Subclasses keep their elements in slots 0 through length - 1 of whatever arrays
+ * suit them, and only say how to compare two slots and how to swap them. swapSlots
+ * must also update the subclass's record of where each element is.
+ */
+public abstract class AbstractIndexedHeap {
+    protected static final int NUM_CHILDREN = 4;
+    protected int length;
+
+    /**
+     * Compares the elements in slots 'a' and 'b' the way compareTo would.
+     */
+    protected abstract int compareSlots(int a, int b);
+
+    /**
+     * Exchanges the elements in slots 'a' and 'b'.
+     */
+    protected abstract void swapSlots(int a, int b);
+
+    /**
+     * Moves the element in the given slot up until its parent is no larger.
+     */
+    protected final void percolateUp(int ind) {
+        while (ind != 0) {
+            int parent = (ind - 1) / NUM_CHILDREN;
+            if (compareSlots(ind, parent) >= 0) {
+                break;
+            }
+            swapSlots(ind, parent);
+            ind = parent;
+        }
+    }
+
+    /**
+     * Moves the element in the given slot down until none of its children is smaller.
+     */
+    protected final void percolateDown(int ind) {
+        while (ind * NUM_CHILDREN + 1 < length) {
+            int minInd = ind * NUM_CHILDREN + 1;
+            int last = Math.min(minInd + NUM_CHILDREN, length);
+            for (int child = minInd + 1; child < last; child++) {
+                if (compareSlots(child, minInd) < 0) {
+                    minInd = child;
+                }
+            }
+            if (compareSlots(minInd, ind) >= 0) {
+                break;
+            }
+            swapSlots(ind, minInd);
+            ind = minInd;
+        }
+    }
+
+    /**
+     * Moves the element in the given slot up or down, whichever it needs, after it
+     * was put there in place of a removed one.
+     */
+    protected final void percolate(int ind) {
+        if (ind != 0 && compareSlots(ind, (ind - 1) / NUM_CHILDREN) < 0) {
+            percolateUp(ind);
+        } else {
+            percolateDown(ind);
+        }
+    }
+}
@@ -6,40 +6,67 @@ import datastructures.interfaces.IDisjointSet;
 
 /**
  * See IDisjointSet for more details.
+ *
+ * Besides the generic IDisjointSet methods, this class has an int-indexed API
+ * (makeSet(), find(int), union(int, int), ...) for callers that already number
+ * their items, such as Graph's vertex ids. The generic methods are a thin layer
+ * that maps each item to its id and then calls the int versions.
  */
 public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     // Note: do NOT rename or delete this field. We will be inspecting it
     // directly within our private tests.
+    //
+    // pointers[i] is the parent of item i, or -(size of the set) if i is a root.
     private int[] pointers;
-    
+
     // Map to point each index to the T item.
     private IDictionary<T, Integer> map = new ChainedHashDictionary<T, Integer>();
     // Integer to keep track of the size and the index.
     private int size;
-    
-    // However, feel free to add more methods and private helper methods.
-    // You will probably need to add one or two more fields in order to
-    // successfully implement this class.
+    // Number of disjoint sets.
+    private int numSets;
 
     public ArrayDisjointSet() {
-        pointers = new int[10]; // need to resize when there's not enough space?
+        this(10);
+    }
+
+    /**
+     * Creates an empty disjoint set with room for 'capacity' items before it
+     * has to resize.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public ArrayDisjointSet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        pointers = new int[Math.max(capacity, 1)];
         size = 0;
+        numSets = 0;
     }
-                                                            
+
     @Override
     public void makeSet(T item) {
         if (map.containsKey(item)) {
             throw new IllegalArgumentException();
         }
+        map.put(item, makeSet());
+    }
+
+    /**
+     * Creates a new set containing a fresh item, and returns that item's id.
+     * Ids are handed out in order, starting from 0.
+     */
+    public int makeSet() {
         int length = pointers.length;
         if (length == size) {
             resize(length);
         }
-        map.put(item, size);
-        pointers[size] = -1; // always height of 0 = -1
-        size++;
+        pointers[size] = -1; // a set of one item
+        numSets++;
+        return size++;
     }
-    
+
     private void resize(int len) {
         int[] replace = new int[len * 2];
         for (int i = 0; i < len; i++) {
@@ -50,52 +77,105 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
 
     @Override
     public int findSet(T item) {
-        // should probably be a recursive method 
-        if (!map.containsKey(item)) {
-            throw new IllegalArgumentException();
-        }
-        return findSetHelper(map.get(item));
+        return find(idOf(item));
     }
-    
-    private int findSetHelper(int index) {
-        if (pointers[index] < 0) {
-            return index;
-        } else {
-            int next = pointers[index];
-            int root = findSetHelper(next);
-            pointers[index] = root;
-            return root;
+
+    /**
+     * Returns the representative of the set containing the item with the given id.
+     *
+     * @throws IllegalArgumentException  if no item has that id
+     */
+    public int find(int id) {
+        checkId(id);
+        // Path halving: point every other item on the way up at its grandparent.
+        while (pointers[id] >= 0) {
+            int parent = pointers[id];
+            if (pointers[parent] >= 0) {
+                pointers[id] = pointers[parent];
+            }
+            id = pointers[id];
         }
+        return id;
     }
-    
+
     @Override
     public void union(T item1, T item2) {
-        if (!map.containsKey(item1) || !map.containsKey(item2)) {
+        int id1 = idOf(item1);
+        int id2 = idOf(item2);
+        if (!union(id1, id2)) {
             throw new IllegalArgumentException();
         }
+    }
 
-        // finds the contents of the array
-        int first = findSet(item1);
-        int second = findSet(item2);
+    /**
+     * Combines the sets containing the two ids. Returns 'true' if two sets were
+     * merged, and 'false' if the ids were already in the same set.
+     *
+     * @throws IllegalArgumentException  if either id does not belong to an item
+     */
+    public boolean union(int id1, int id2) {
+        int first = find(id1);
+        int second = find(id2);
         if (first == second) {
-            throw new IllegalArgumentException();
+            return false;
         }
-
-        int root = 0;
-        int child = 0;
-        // Since they're both negative, the taller height one is going to be LESS THAN the shorter height one,
-        // the "smaller" number is going to be root
-        if (pointers[first] > pointers[second]) {   
+        // Roots store negative sizes, so the bigger set has the smaller value.
+        // On a tie, the first set's root stays the root.
+        int root = first;
+        int child = second;
+        if (pointers[second] < pointers[first]) {
             root = second;
             child = first;
-        } else { // if same rank, we chose this one to be default
-            root = first;
-            child = second;
-            // if same rank, we increase the rank, -- because they are negative numbers
-            if (pointers[first] == pointers[second]) {
-                pointers[root]--;
-            }
-        }       
+        }
+        pointers[root] += pointers[child];
         pointers[child] = root;
+        numSets--;
+        return true;
+    }
+
+    /**
+     * Returns 'true' if the two ids are in the same set.
+     *
+     * @throws IllegalArgumentException  if either id does not belong to an item
+     */
+    public boolean sameSet(int id1, int id2) {
+        return find(id1) == find(id2);
+    }
+
+    /**
+     * Returns the number of items in the set containing the given id.
+     *
+     * @throws IllegalArgumentException  if the id does not belong to an item
+     */
+    public int setSize(int id) {
+        return -pointers[find(id)];
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int numSets() {
+        return numSets;
+    }
+
+    /**
+     * Returns the number of items across all sets.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int idOf(T item) {
+        Integer id = map.getOrDefault(item, null);
+        if (id == null) {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException();
+        }
     }
 }
@@ -46,33 +46,27 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         if (length == 0) {
             throw new EmptyContainerException();
         }
-        T item = heap[length - 1];
         T min = heap[0];
-        heap[0] = item;
-        boolean done = false; // false when not done, true when done
-        int ind = 0;
-        
-        while (length > ind * NUM_CHILDREN + 1 && !done) { // (size > ind * NUM_CHILDREN + 1) has 1 or more children
-            int minInd = ind * NUM_CHILDREN + 1;
-            T minVal = heap[minInd];
-            for (int i = 1; i < NUM_CHILDREN; i++) {
-                int childInd = ind * NUM_CHILDREN + i + 1;
-                
-                if (childInd < length && minVal.compareTo(heap[childInd]) > 0) {
-                    minVal = heap[childInd];
-                    minInd = childInd;
-                }
-            }
-            if (item.compareTo(minVal) > 0) {
-                heap[minInd] = item;
-                heap[ind] = minVal;
-                ind = minInd;
-            } else {
-                done = true;
-            }
-        }
-        
         length--;
+        heap[0] = heap[length];
+        heap[length] = null;
+        if (length > 0) {
+            percolateDown(0);
+        }
+        return min;
+    }
+
+    @Override
+    public T replaceMin(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (length == 0) {
+            throw new EmptyContainerException();
+        }
+        T min = heap[0];
+        heap[0] = item;
+        percolateDown(0);
         return min;
     }
 
@@ -114,6 +108,30 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         length--;
     }
     
+    private void percolateDown(int ind) {
+        T item = heap[ind];
+        boolean done = false; // false when not done, true when done
+        while (length > ind * NUM_CHILDREN + 1 && !done) { // (size > ind * NUM_CHILDREN + 1) has 1 or more children
+            int minInd = ind * NUM_CHILDREN + 1;
+            T minVal = heap[minInd];
+            for (int i = 1; i < NUM_CHILDREN; i++) {
+                int childInd = ind * NUM_CHILDREN + i + 1;
+
+                if (childInd < length && minVal.compareTo(heap[childInd]) > 0) {
+                    minVal = heap[childInd];
+                    minInd = childInd;
+                }
+            }
+            if (item.compareTo(minVal) > 0) {
+                heap[minInd] = item;
+                heap[ind] = minVal;
+                ind = minInd;
+            } else {
+                done = true;
+            }
+        }
+    }
+
     private void percolateUp(int ind) {
         while (ind != 0 && 0 > heap[ind].compareTo(heap[(ind-1)/NUM_CHILDREN])) {
             T temp = heap[ind]; 
@@ -0,0 +1,126 @@
+package datastructures.concrete;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A thread-safe union-find over the items 0 through size - 1, in the style of
+ * Anderson and Woll's wait-free union-find. No operation ever blocks.
+ *
+ * Every item starts in its own set. Each item stores a pointer to its parent in a
+ * single AtomicIntegerArray; roots point to themselves.
+ *
+ * - find walks up to the root with path halving: each step tries (once, with a
+ *   compare-and-set) to point the current item at its grandparent. A failed CAS just
+ *   means another thread already shortened the path, so find never retries or waits.
+ * - tryUnion links the root with the smaller index under the one with the larger
+ *   index, using a CAS that only succeeds if the first is still a root. Since parent
+ *   pointers only ever move towards larger indices, no cycle can form.
+ *
+ * Unlike IDisjointSet.union, tryUnion reports "already joined" by returning false
+ * rather than throwing, since with several threads the caller can't check first.
+ */
+public class ConcurrentDisjointSet {
+    private AtomicIntegerArray parents;
+    private AtomicInteger numSets;
+
+    /**
+     * Creates 'size' singleton sets, {0}, {1}, ..., {size - 1}.
+     *
+     * @throws IllegalArgumentException  if size is negative
+     */
+    public ConcurrentDisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
+        }
+        parents = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parents.set(i, i);
+        }
+        numSets = new AtomicInteger(size);
+    }
+
+    /**
+     * Returns the number of items.
+     */
+    public int size() {
+        return parents.length();
+    }
+
+    /**
+     * Returns the number of disjoint sets. While other threads are joining sets,
+     * this is only a snapshot.
+     */
+    public int numSets() {
+        return numSets.get();
+    }
+
+    /**
+     * Returns the representative of the set containing the given item. If other
+     * threads are joining sets, the result may already be out of date when it's returned.
+     *
+     * @throws IndexOutOfBoundsException  if item < 0 or item >= size()
+     */
+    public int find(int item) {
+        checkItem(item);
+        int curr = item;
+        int parent = parents.get(curr);
+        while (parent != curr) {
+            int grandparent = parents.get(parent);
+            if (parent != grandparent) {
+                parents.compareAndSet(curr, parent, grandparent);
+            }
+            curr = grandparent;
+            parent = parents.get(curr);
+        }
+        return curr;
+    }
+
+    /**
+     * Returns 'true' if the two items are in the same set.
+     *
+     * @throws IndexOutOfBoundsException  if either item is out of range
+     */
+    public boolean sameSet(int item1, int item2) {
+        while (true) {
+            int root1 = find(item1);
+            int root2 = find(item2);
+            if (root1 == root2) {
+                return true;
+            }
+            // If root1 is still a root, the two really were separate at this moment.
+            if (parents.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Joins the sets containing the two items. Returns 'true' if this call merged
+     * two sets, and 'false' if the items were already in the same set.
+     *
+     * @throws IndexOutOfBoundsException  if either item is out of range
+     */
+    public boolean tryUnion(int item1, int item2) {
+        while (true) {
+            int root1 = find(item1);
+            int root2 = find(item2);
+            if (root1 == root2) {
+                return false;
+            }
+            int child = Math.min(root1, root2);
+            int root = Math.max(root1, root2);
+            if (parents.compareAndSet(child, child, root)) {
+                numSets.decrementAndGet();
+                return true;
+            }
+            // Someone else linked 'child' first; look the roots up again.
+        }
+    }
+
+    private void checkItem(int item) {
+        if (item < 0 || item >= parents.length()) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe priority queue made of several ArrayHeaps (a "MultiQueue"), each
+ * guarded by its own lock.
+ *
+ * insert always adds the item to a random heap that no other thread is using. What
+ * removeMin does depends on the mode the queue was created in:
+ *
+ * - In relaxed mode, removeMin looks at two random heaps and removes the smaller of
+ *   their minimums. It may not return the true minimum, but the element it returns
+ *   is close to the front on average (with c heaps, its expected rank is O(c)), and
+ *   threads almost never wait for each other. This is the mode to use for schedulers
+ *   and other work queues where throughput matters more than exact order.
+ *
+ * - In strict mode, removeMin locks every heap and removes the true minimum, so the
+ *   queue behaves exactly like a (linearizable) IPriorityQueue. Inserts still spread
+ *   out, but removals are serialized.
+ *
+ * peekMin follows the same rules, so in relaxed mode it is only a hint, and a later
+ * removeMin may return a different element. This class does not support remove(T).
+ */
+public class ConcurrentMultiQueue<T extends Comparable<T>> implements IPriorityQueue<T> {
+    private static final int QUEUES_PER_THREAD = 2;
+    // How many random lanes an insert tries before it waits for one.
+    private static final int MAX_LOCK_ATTEMPTS = 4;
+
+    private Lane<T>[] lanes;
+    private boolean strict;
+    private AtomicInteger length;
+
+    /**
+     * Creates a relaxed queue with two heaps per available processor.
+     */
+    public ConcurrentMultiQueue() {
+        this(QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Creates a queue with the given number of internal heaps. See the class
+     * comment for what 'strict' means.
+     *
+     * @throws IllegalArgumentException  if numQueues is not positive
+     */
+    public ConcurrentMultiQueue(int numQueues, boolean strict) {
+        if (numQueues <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.lanes = makeArrayOfLanes(numQueues);
+        for (int i = 0; i < numQueues; i++) {
+            lanes[i] = new Lane<>();
+        }
+        this.strict = strict;
+        this.length = new AtomicInteger(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Lane<T>[] makeArrayOfLanes(int size) {
+        return (Lane<T>[]) new Lane[size];
+    }
+
+    /**
+     * Returns 'true' if removeMin and peekMin always return the true minimum.
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    @Override
+    public void insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        Lane<T> lane = lockRandomLane();
+        try {
+            lane.heap.insert(item);
+            lane.refreshTop();
+        } finally {
+            lane.lock.unlock();
+        }
+        length.incrementAndGet();
+    }
+
+    @Override
+    public T removeMin() {
+        return strict ? removeMinStrict() : removeMinRelaxed();
+    }
+
+    @Override
+    public T peekMin() {
+        if (strict) {
+            lockAll();
+            try {
+                return lanes[indexOfMin()].heap.peekMin();
+            } finally {
+                unlockAll();
+            }
+        }
+        T best = null;
+        for (Lane<T> lane : lanes) {
+            T top = lane.top;
+            if (top != null && (best == null || top.compareTo(best) < 0)) {
+                best = top;
+            }
+        }
+        if (best == null) {
+            throw new EmptyContainerException();
+        }
+        return best;
+    }
+
+    @Override
+    public void remove(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the number of elements in the queue. While other threads are inserting
+     * or removing, this is only a snapshot.
+     */
+    @Override
+    public int size() {
+        return length.get();
+    }
+
+    private T removeMinStrict() {
+        lockAll();
+        try {
+            int index = indexOfMin();
+            T min = lanes[index].heap.removeMin();
+            lanes[index].refreshTop();
+            length.decrementAndGet();
+            return min;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private T removeMinRelaxed() {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        while (true) {
+            if (length.get() == 0) {
+                throw new EmptyContainerException();
+            }
+            // Two random choices: take whichever heap currently has the smaller minimum.
+            Lane<T> lane = lanes[rand.nextInt(lanes.length)];
+            Lane<T> other = lanes[rand.nextInt(lanes.length)];
+            T top = lane.top;
+            T otherTop = other.top;
+            if (top == null || (otherTop != null && otherTop.compareTo(top) < 0)) {
+                lane = other;
+                top = otherTop;
+            }
+            if (top == null) {
+                // Both picks were empty; the queue is nearly drained, so look everywhere.
+                lane = firstNonEmptyLane();
+                if (lane == null) {
+                    continue;
+                }
+            }
+            if (lane.lock.tryLock()) {
+                try {
+                    if (!lane.heap.isEmpty()) {
+                        T min = lane.heap.removeMin();
+                        lane.refreshTop();
+                        length.decrementAndGet();
+                        return min;
+                    }
+                } finally {
+                    lane.lock.unlock();
+                }
+            }
+        }
+    }
+
+    private Lane<T> firstNonEmptyLane() {
+        for (Lane<T> lane : lanes) {
+            if (lane.top != null) {
+                return lane;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Locks a random lane, preferring one no other thread holds. If every try finds a
+     * held lock (as when a strict removeMin holds all of them), it blocks on the last
+     * pick rather than spinning until the locks are released.
+     */
+    private Lane<T> lockRandomLane() {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        for (int attempt = 1; attempt < MAX_LOCK_ATTEMPTS; attempt++) {
+            Lane<T> lane = lanes[rand.nextInt(lanes.length)];
+            if (lane.lock.tryLock()) {
+                return lane;
+            }
+            Thread.onSpinWait();
+        }
+        Lane<T> lane = lanes[rand.nextInt(lanes.length)];
+        lane.lock.lock();
+        return lane;
+    }
+
+    /*
+     * Returns the lane holding the overall minimum. The caller must hold every lock.
+     *
+     * @throws EmptyContainerException  if every lane is empty
+     */
+    private int indexOfMin() {
+        int best = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            if (!lanes[i].heap.isEmpty()
+                    && (best == -1 || lanes[i].heap.peekMin().compareTo(lanes[best].heap.peekMin()) < 0)) {
+                best = i;
+            }
+        }
+        if (best == -1) {
+            throw new EmptyContainerException();
+        }
+        return best;
+    }
+
+    // Locks are always taken in index order, so strict operations can't deadlock.
+    private void lockAll() {
+        for (Lane<T> lane : lanes) {
+            lane.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            lanes[i].lock.unlock();
+        }
+    }
+
+    private static class Lane<T extends Comparable<T>> {
+        public final ReentrantLock lock = new ReentrantLock();
+        public final ArrayHeap<T> heap = new ArrayHeap<>();
+        // A copy of heap.peekMin() (or null if empty) that other threads can read
+        // without taking the lock. Only updated while holding the lock.
+        public volatile T top = null;
+
+        public void refreshTop() {
+            top = heap.isEmpty() ? null : heap.peekMin();
+        }
+    }
+}
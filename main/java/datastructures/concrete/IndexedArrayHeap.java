@@ -0,0 +1,170 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * A 4-ary heap that also maps every element to the slot it occupies.
+ *
+ * Elements are ordered by their compareTo method, or by a comparator given to the
+ * constructor; with Comparator.reverseOrder(), for example, it is a max-heap.
+ *
+ * See IIndexedPriorityQueue for details on what each method must do.
+ */
+public class IndexedArrayHeap<T extends Comparable<T>> extends AbstractIndexedHeap
+        implements IIndexedPriorityQueue<T> {
+    private T[] heap;
+    // Invariant: positions.get(heap[i]) == i for every 0 <= i < length,
+    // and positions contains no other keys.
+    private IDictionary<T, Integer> positions;
+    // null when the elements' own compareTo is used.
+    private Comparator<? super T> order;
+
+    public IndexedArrayHeap() {
+        this(null);
+    }
+
+    /**
+     * Creates a heap whose "smallest" element is the smallest according to the given
+     * comparator. In the documentation of IIndexedPriorityQueue, "compares smaller"
+     * then means smaller according to the comparator: for a reversed comparator,
+     * decreaseKey is the one to call after an element has grown.
+     */
+    public IndexedArrayHeap(Comparator<? super T> order) {
+        this.heap = makeArrayOfT(10);
+        this.length = 0;
+        this.positions = new ChainedHashDictionary<>();
+        this.order = order;
+    }
+
+    private void resize() {
+        T[] replace = makeArrayOfT(length * 2);
+        for (int i = 0; i < length; i++) {
+            replace[i] = heap[i];
+        }
+        heap = replace;
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type T.
+     *
+     * Note that each element in the array will initially be null.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int size) {
+        return (T[]) (new Comparable[size]);
+    }
+
+    @Override
+    public T removeMin() {
+        if (length == 0) {
+            throw new EmptyContainerException();
+        }
+        T min = heap[0];
+        removeAt(0);
+        return min;
+    }
+
+    @Override
+    public T peekMin() {
+        if (length == 0) {
+            throw new EmptyContainerException();
+        }
+        return heap[0];
+    }
+
+    @Override
+    public void insert(T item) {
+        if (item == null || positions.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        if (length == heap.length) {
+            resize();
+        }
+        place(item, length);
+        length++;
+        percolateUp(length - 1);
+    }
+
+    @Override
+    public void remove(T item) {
+        removeAt(indexOf(item));
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && positions.containsKey(item);
+    }
+
+    @Override
+    public void decreaseKey(T item) {
+        percolateUp(indexOf(item));
+    }
+
+    @Override
+    public void increaseKey(T item) {
+        percolateDown(indexOf(item));
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Returns the element in the given slot of the heap array, for classes in this
+     * package that need to see every element without removing them.
+     */
+    T get(int ind) {
+        return heap[ind];
+    }
+
+    private int compare(T a, T b) {
+        return order == null ? a.compareTo(b) : order.compare(a, b);
+    }
+
+    private int indexOf(T item) {
+        if (!contains(item)) {
+            throw new NoSuchElementException();
+        }
+        return positions.get(item);
+    }
+
+    /*
+     * Moves the last element into the given slot, then lets it sink or rise to
+     * wherever it belongs.
+     */
+    private void removeAt(int ind) {
+        positions.remove(heap[ind]);
+        length--;
+        T last = heap[length];
+        heap[length] = null;
+        if (ind < length) {
+            place(last, ind);
+            percolate(ind);
+        }
+    }
+
+    @Override
+    protected int compareSlots(int a, int b) {
+        return compare(heap[a], heap[b]);
+    }
+
+    @Override
+    protected void swapSlots(int a, int b) {
+        T item = heap[a];
+        place(heap[b], a);
+        place(item, b);
+    }
+
+    private void place(T item, int ind) {
+        heap[ind] = item;
+        positions.put(item, ind);
+    }
+}
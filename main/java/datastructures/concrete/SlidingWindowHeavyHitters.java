@@ -0,0 +1,170 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+
+/**
+ * Counts how often each key occurs among those inserted recently, and keeps the k
+ * most frequent: for example, the ten most requested pages of the last minute.
+ *
+ * Keys enter the window with insert and leave it, oldest first, with expireBefore
+ * (by timestamp) or retainNewest (by count), just like in SlidingWindowTopK. Each
+ * insert or expiry changes one key's count by one, which takes O(log d) time, where
+ * d is the number of distinct keys in the window; topK takes O(k log k) time.
+ *
+ * Where several keys have the same count, the ones seen most recently count as the
+ * most frequent.
+ */
+public class SlidingWindowHeavyHitters<K> {
+    private TopKSet<Counter<K>> counters;
+    private IDictionary<K, Counter<K>> counts;
+    // One event per insertion, oldest first.
+    private IList<Event<K>> window;
+    private long latestTimestamp;
+    private long nextSequence;
+
+    /**
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public SlidingWindowHeavyHitters(int k) {
+        this.counters = new TopKSet<>(k);
+        this.counts = new ChainedHashDictionary<>();
+        this.window = new DoubleLinkedList<>();
+        this.latestTimestamp = Long.MIN_VALUE;
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Adds one occurrence of the key to the window at the given time.
+     *
+     * @throws IllegalArgumentException  if the timestamp is smaller than that of a
+     *                                   key inserted before
+     */
+    public void insert(K key, long timestamp) {
+        if (timestamp < latestTimestamp) {
+            throw new IllegalArgumentException();
+        }
+        latestTimestamp = timestamp;
+        Counter<K> counter = counts.getOrDefault(key, null);
+        if (counter == null) {
+            counter = new Counter<>(key);
+            counts.put(key, counter);
+            counter.count = 1;
+            counter.lastSeen = nextSequence++;
+            counters.insert(counter);
+        } else {
+            counter.count++;
+            counter.lastSeen = nextSequence++;
+            counters.increased(counter);
+        }
+        window.add(new Event<>(counter, timestamp));
+    }
+
+    /**
+     * Adds one occurrence of the key to the window with the same timestamp as the key
+     * inserted last (or Long.MIN_VALUE, if there was none). Meant for windows that are
+     * only ever trimmed with retainNewest.
+     */
+    public void insert(K key) {
+        this.insert(key, latestTimestamp);
+    }
+
+    /**
+     * Removes every occurrence whose timestamp is smaller than the given one, and
+     * returns how many there were.
+     */
+    public int expireBefore(long timestamp) {
+        int expired = 0;
+        while (!window.isEmpty() && window.get(0).timestamp < timestamp) {
+            expire(window.delete(0).counter);
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * Removes the oldest occurrences until at most 'count' remain, and returns how
+     * many were removed.
+     *
+     * @throws IllegalArgumentException  if count < 0
+     */
+    public int retainNewest(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException();
+        }
+        int expired = 0;
+        while (window.size() > count) {
+            expire(window.delete(0).counter);
+            expired++;
+        }
+        return expired;
+    }
+
+    private void expire(Counter<K> counter) {
+        if (counter.count == 1) {
+            counters.remove(counter);
+            counts.remove(counter.key);
+        } else {
+            counter.count--;
+            counters.decreased(counter);
+        }
+    }
+
+    /**
+     * Returns the number of key occurrences in the window.
+     */
+    public int size() {
+        return window.size();
+    }
+
+    /**
+     * Returns how many times the key occurs in the window.
+     */
+    public int count(K key) {
+        Counter<K> counter = counts.getOrDefault(key, null);
+        return counter == null ? 0 : counter.count;
+    }
+
+    /**
+     * Returns the k most frequent keys in the window (or all of them, if there are
+     * fewer) with their counts, from least to most frequent.
+     */
+    public IList<KVPair<K, Integer>> topK() {
+        IList<KVPair<K, Integer>> output = new DoubleLinkedList<>();
+        for (Counter<K> counter : counters.topK()) {
+            output.add(new KVPair<>(counter.key, counter.count));
+        }
+        return output;
+    }
+
+    /**
+     * The count of one key. Equality and hashing are by identity, so the counter keeps
+     * its place in the heaps while its count changes.
+     */
+    private static class Counter<K> implements Comparable<Counter<K>> {
+        public final K key;
+        public int count;
+        public long lastSeen;
+
+        public Counter(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Counter<K> other) {
+            int cmp = Integer.compare(count, other.count);
+            return cmp != 0 ? cmp : Long.compare(lastSeen, other.lastSeen);
+        }
+    }
+
+    private static class Event<K> {
+        public final Counter<K> counter;
+        public final long timestamp;
+
+        public Event(Counter<K> counter, long timestamp) {
+            this.counter = counter;
+            this.timestamp = timestamp;
+        }
+    }
+}
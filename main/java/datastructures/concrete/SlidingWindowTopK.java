@@ -0,0 +1,134 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+
+/**
+ * Keeps the k largest items among those inserted recently: for example, the top
+ * ten scores of the last minute, or of the last thousand games.
+ *
+ * Items enter the window with insert and leave it, oldest first, with expireBefore
+ * (by timestamp) or retainNewest (by count). Each insert or expiry takes O(log n)
+ * time, where n is the number of items in the window, and topK takes O(k log k)
+ * time, so there is no need to re-run Searcher.topKSort over the window every time
+ * it changes.
+ *
+ * Where several items in the window compare equal, the newest ones count as the
+ * largest.
+ */
+public class SlidingWindowTopK<T extends Comparable<T>> {
+    private TopKSet<Entry<T>> entries;
+    // The entries in the order they were inserted, oldest first.
+    private IList<Entry<T>> window;
+    private long latestTimestamp;
+    private long nextSequence;
+
+    /**
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public SlidingWindowTopK(int k) {
+        this.entries = new TopKSet<>(k);
+        this.window = new DoubleLinkedList<>();
+        this.latestTimestamp = Long.MIN_VALUE;
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Adds the item to the window at the given time.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     * @throws IllegalArgumentException  if the timestamp is smaller than that of an
+     *                                   item inserted before
+     */
+    public void insert(T item, long timestamp) {
+        if (item == null || timestamp < latestTimestamp) {
+            throw new IllegalArgumentException();
+        }
+        latestTimestamp = timestamp;
+        Entry<T> entry = new Entry<>(item, timestamp, nextSequence++);
+        window.add(entry);
+        entries.insert(entry);
+    }
+
+    /**
+     * Adds the item to the window with the same timestamp as the item inserted last
+     * (or Long.MIN_VALUE, if there was none). Meant for windows that are only ever
+     * trimmed with retainNewest.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     */
+    public void insert(T item) {
+        this.insert(item, latestTimestamp);
+    }
+
+    /**
+     * Removes every item whose timestamp is smaller than the given one, and returns
+     * how many there were.
+     */
+    public int expireBefore(long timestamp) {
+        int expired = 0;
+        while (!window.isEmpty() && window.get(0).timestamp < timestamp) {
+            entries.remove(window.delete(0));
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * Removes the oldest items until at most 'count' remain, and returns how many
+     * were removed.
+     *
+     * @throws IllegalArgumentException  if count < 0
+     */
+    public int retainNewest(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException();
+        }
+        int expired = 0;
+        while (window.size() > count) {
+            entries.remove(window.delete(0));
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the number of items in the window.
+     */
+    public int size() {
+        return window.size();
+    }
+
+    /**
+     * Returns the k largest items in the window (or all of them, if there are fewer)
+     * in ascending order, like Searcher.topKSort.
+     */
+    public IList<T> topK() {
+        IList<T> output = new DoubleLinkedList<>();
+        for (Entry<T> entry : entries.topK()) {
+            output.add(entry.item);
+        }
+        return output;
+    }
+
+    /**
+     * One insertion of an item. Equality and hashing are by identity, so the same
+     * item can be in the window more than once.
+     */
+    private static class Entry<T extends Comparable<T>> implements Comparable<Entry<T>> {
+        public final T item;
+        public final long timestamp;
+        public final long sequence;
+
+        public Entry(T item, long timestamp, long sequence) {
+            this.item = item;
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            int cmp = item.compareTo(other.item);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IPriorityQueue;
+
+import java.util.Comparator;
+
+/**
+ * A changing set of elements that keeps its k largest apart from the rest, so the
+ * k largest can be listed at any time without looking at the others.
+ *
+ * 'top' is a min-heap of the k largest elements and 'rest' a max-heap of all the
+ * others, so the two roots are the elements on either side of the boundary. Each
+ * change moves at most one element across it, so insert, remove and the
+ * re-prioritizing methods take O(log n) time.
+ *
+ * As in IIndexedPriorityQueue, elements must be unique according to equals, and
+ * their hashCode must not change while they are in the set.
+ */
+class TopKSet<T extends Comparable<T>> {
+    private final int k;
+    // Invariants: every element of 'top' is at least as large as every element of
+    // 'rest', and 'rest' is empty unless 'top' holds exactly k elements.
+    private final IndexedArrayHeap<T> top;
+    private final IndexedArrayHeap<T> rest;
+
+    /**
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public TopKSet(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.k = k;
+        this.top = new IndexedArrayHeap<>();
+        this.rest = new IndexedArrayHeap<T>(Comparator.reverseOrder());
+    }
+
+    public int size() {
+        return top.size() + rest.size();
+    }
+
+    public void insert(T item) {
+        if (top.size() < k) {
+            top.insert(item);
+        } else if (k > 0 && item.compareTo(top.peekMin()) > 0) {
+            rest.insert(top.replaceMin(item));
+        } else {
+            rest.insert(item);
+        }
+    }
+
+    public void remove(T item) {
+        if (top.contains(item)) {
+            top.remove(item);
+            if (!rest.isEmpty()) {
+                top.insert(rest.removeMin());
+            }
+        } else {
+            rest.remove(item);
+        }
+    }
+
+    /**
+     * Restores the order after the item has grown, that is, after it started
+     * comparing larger than it did when it was inserted or last updated.
+     */
+    public void increased(T item) {
+        if (top.contains(item)) {
+            top.increaseKey(item);
+        } else {
+            // 'rest' is reversed, so growing moves the item towards its root.
+            rest.decreaseKey(item);
+            if (k > 0 && rest.peekMin().compareTo(top.peekMin()) > 0) {
+                rest.insert(top.replaceMin(rest.removeMin()));
+            }
+        }
+    }
+
+    /**
+     * Restores the order after the item has shrunk, that is, after it started
+     * comparing smaller than it did when it was inserted or last updated.
+     */
+    public void decreased(T item) {
+        if (top.contains(item)) {
+            top.decreaseKey(item);
+            if (!rest.isEmpty() && rest.peekMin().compareTo(top.peekMin()) > 0) {
+                top.insert(rest.replaceMin(top.removeMin()));
+            }
+        } else {
+            rest.increaseKey(item);
+        }
+    }
+
+    /**
+     * Returns the k largest elements (or all of them, if there are fewer) in
+     * ascending order. Takes O(k log k) time and leaves the set unchanged.
+     */
+    public IList<T> topK() {
+        IPriorityQueue<T> sorter = new ArrayHeap<>();
+        for (int i = 0; i < top.size(); i++) {
+            sorter.insert(top.get(i));
+        }
+        IList<T> output = new DoubleLinkedList<>();
+        while (!sorter.isEmpty()) {
+            output.add(sorter.removeMin());
+        }
+        return output;
+    }
+}
@@ -57,6 +57,12 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         return pairs[index].value;
     }
 
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int index = keyIndex(key);
+        return index == -1 ? defaultValue : pairs[index].value;
+    }
+
     /**
      * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
      * replace its value with the given one.
@@ -94,6 +100,8 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         for (int i = index; i < this.size - 1; i++) {
             pairs[i] = pairs[i + 1];
         }
+        // The iterator stops at the first null, so the vacated slot must be cleared.
+        pairs[this.size - 1] = null;
         this.size--;
         return content;
     }
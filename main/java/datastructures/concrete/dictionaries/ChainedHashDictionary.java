@@ -15,13 +15,37 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     // it using our private tests.
     private IDictionary<K, V>[] chains;
     private static final int NUM = 10; 
+    // How many old buckets each put or remove moves while an incremental rehash is running.
+    private static final int MIGRATE_BUCKETS = 4;
     private int length;
     
     // You're encouraged to add extra fields (and helper methods) though!
 
+    // Incremental rehashing. When enabled, resize() only allocates the bigger table;
+    // the old one is kept in oldChains and drained a few buckets at a time.
+    //
+    // Invariants while oldChains != null:
+    // - buckets oldChains[0] through oldChains[migrated - 1] have been moved and are null
+    // - a key lives in oldChains if its old bucket is >= migrated, and in chains otherwise
+    private boolean incremental;
+    private IDictionary<K, V>[] oldChains;
+    private int migrated;
+
     public ChainedHashDictionary() {
+        this(false);
+    }
+
+    /**
+     * Creates a dictionary that, if 'incremental' is true, spreads the cost of each
+     * resize over the following puts and removes instead of rehashing every entry at
+     * once. This trades slightly slower average operations for no long pauses.
+     */
+    public ChainedHashDictionary(boolean incremental) {
         chains = makeArrayOfChains(NUM);
         length = 0;
+        this.incremental = incremental;
+        oldChains = null;
+        migrated = 0;
     }
 
     /**
@@ -39,31 +63,38 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     }
 
     public V get(K key) {
-        int code = getCode(key, chains.length);
+        IDictionary<K, V> chain = chainFor(key);
         
         // If dictionary retrieving from is null or it doesnt contain the key, throw exception.
-        if (chains[code] == null || !chains[code].containsKey(key)) {
+        if (chain == null || !chain.containsKey(key)) {
             throw new NoSuchKeyException();
         }
-        return chains[code].get(key);
+        return chain.get(key);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        IDictionary<K, V> chain = chainFor(key);
+        return chain == null ? defaultValue : chain.getOrDefault(key, defaultValue);
     }
 
     public V remove(K key) {
-        int hash = getCode(key, chains.length);
+        migrateStep();
+        IDictionary<K, V> chain = chainFor(key);
         
-        if (chains[hash] == null || !chains[hash].containsKey(key)) {
+        if (chain == null || !chain.containsKey(key)) {
             throw new NoSuchKeyException();
         }
-        V result = chains[hash].get(key);
-        chains[hash].remove(key);
+        V result = chain.get(key);
+        chain.remove(key);
         length--;
         return result;
     }
 
     @Override
     public boolean containsKey(K key) {
-        int hash = getCode(key, chains.length);
-        return chains[hash] != null && chains[hash].containsKey(key);
+        IDictionary<K, V> chain = chainFor(key);
+        return chain != null && chain.containsKey(key);
     }
 
     @Override
@@ -72,55 +103,105 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     }
     
     private int getCode(K key, int modVal) {
-        int hash = 0;
-        if (key != null) {
-            hash = key.hashCode() % modVal;
-        }
-        if (hash < 0) {
-            hash = hash * -1;
+        // Spread the bits first: keys like Point and Wall hash to values whose low
+        // bits are nearly constant, and the table sizes are all multiples of 10.
+        return (Hashing.spread(key) & 0x7FFFFFFF) % modVal;
+    }
+
+    /*
+     * Returns the table whose chain holds (or would hold) the key.
+     */
+    private IDictionary<K, V>[] tableFor(K key) {
+        if (oldChains != null && getCode(key, oldChains.length) >= migrated) {
+            return oldChains;
         }
-        return hash;
+        return chains;
     }
 
+    /*
+     * Returns the chain that holds (or would hold) the key, which may be null.
+     * Lookups never migrate buckets, so reading while iterating is always safe.
+     */
+    private IDictionary<K, V> chainFor(K key) {
+        IDictionary<K, V>[] table = tableFor(key);
+        return table[getCode(key, table.length)];
+    }
     
     public void put(K key, V value) {
+        migrateStep();
         // Need to check if the key is null before we call hashcode on it
-        int code = getCode(key, chains.length);
+        IDictionary<K, V>[] table = tableFor(key);
+        int code = getCode(key, table.length);
         
-        if (chains[code] == null) {
-            chains[code] = new ArrayDictionary<K, V>();
+        if (table[code] == null) {
+            table[code] = new ArrayDictionary<K, V>();
         }
-        if (!chains[code].containsKey(key)) {
+        if (!table[code].containsKey(key)) {
             length++;
         }
-        chains[code].put(key, value);
+        table[code].put(key, value);
         if (length / chains.length >= 1) {
             resize();
         }
     }
     
     private void resize() {
+        // An incremental rehash must finish before the next one can start.
+        while (oldChains != null) {
+            migrateStep();
+        }
         IDictionary<K, V>[] replace = makeArrayOfChains(chains.length * 2); // Replacement array, doubled size
+        if (incremental) {
+            oldChains = chains;
+            migrated = 0;
+            chains = replace;
+            return;
+        }
         for (int i = 0; i < chains.length; i++) { // loop through all indices of chains
-            IDictionary<K, V> curr = chains[i]; // Isolated dictionary at ith index of chains
-            if (curr != null) { // If that dictionary is null, do nothing. Otherwise: 
-                for (KVPair<K, V> key : curr) { // Iterate over pairs, add them to new array.
-                    int code = getCode(key.getKey(), replace.length);
-                    
-                    if (replace[code] == null) { // if dictionary at specified location is null, 
-                        replace[code] = new ArrayDictionary<K, V>(); // create a new dictionary there
-                    }
-                    replace[code].put(key.getKey(), key.getValue()); // put the pair in! 
+            moveChain(chains[i], replace);
+        }
+        chains = replace;
+    }
+
+    /*
+     * Re-puts every pair in the given chain (which may be null) into the target table.
+     */
+    private void moveChain(IDictionary<K, V> curr, IDictionary<K, V>[] replace) {
+        if (curr != null) { // If that dictionary is null, do nothing. Otherwise: 
+            for (KVPair<K, V> key : curr) { // Iterate over pairs, add them to new array.
+                int code = getCode(key.getKey(), replace.length);
+                
+                if (replace[code] == null) { // if dictionary at specified location is null, 
+                    replace[code] = new ArrayDictionary<K, V>(); // create a new dictionary there
                 }
+                replace[code].put(key.getKey(), key.getValue()); // put the pair in! 
             }
         }
-        chains = replace;
+    }
+
+    /*
+     * If an incremental rehash is running, moves the next few old buckets into
+     * the current table, and drops the old table once it is empty.
+     */
+    private void migrateStep() {
+        if (oldChains == null) {
+            return;
+        }
+        int stop = Math.min(migrated + MIGRATE_BUCKETS, oldChains.length);
+        for (; migrated < stop; migrated++) {
+            moveChain(oldChains[migrated], chains);
+            oldChains[migrated] = null;
+        }
+        if (migrated == oldChains.length) {
+            oldChains = null;
+            migrated = 0;
+        }
     }
     
     @Override
     public Iterator<KVPair<K, V>> iterator() {
         // Note: you do not need to change this method
-        return new ChainedIterator<>(this.chains);
+        return new ChainedIterator<>(this.chains, this.oldChains, this.migrated);
     }
 
     /**
@@ -174,53 +255,46 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      *    instance inside your 'chains' array, however.
      */
     private static class ChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
+        // Walks every bucket of 'chains', followed by the buckets of 'oldChains' that an
+        // incremental rehash hasn't moved yet. Bucket numbers past the end of 'chains'
+        // refer to oldChains[firstOld], oldChains[firstOld + 1], and so on.
+        //
+        // Invariant: 'iter' is either null or the iterator of bucket 'currBucket'.
         private IDictionary<K, V>[] chains;
+        private IDictionary<K, V>[] oldChains;
+        private int firstOld;
         private int currBucket;
         private Iterator<KVPair<K, V>> iter;
         
-        public ChainedIterator(IDictionary<K, V>[] chains) {
+        public ChainedIterator(IDictionary<K, V>[] chains, IDictionary<K, V>[] oldChains, int firstOld) {
             this.chains = chains;
-            currBucket = 0; 
+            this.oldChains = oldChains;
+            this.firstOld = firstOld;
+            currBucket = -1;
+            iter = null;
         }
-        
-        // Returns the next bucket after the currently observed one that has objects.
-        private int nextNonEmptyIndex(int thisBuck) {
-            for (int i = thisBuck + 1; i < chains.length; i++) {
-                if (chains[i] != null) {
-                    return i;
-                }
-             }
-            return -1;
+
+        private int numBuckets() {
+            return chains.length + (oldChains == null ? 0 : oldChains.length - firstOld);
         }
 
-        public boolean hasNext() {
-            if (chains[currBucket] == null) {
-                int possNewIndex = nextNonEmptyIndex(currBucket);
-                if (possNewIndex == -1) { 
-                    return false;
-                }
-                currBucket = possNewIndex;
-                iter = chains[currBucket].iterator();
+        private IDictionary<K, V> bucket(int index) {
+            if (index < chains.length) {
+                return chains[index];
             }
-  
-            if (iter == null) { // Iterator not created yet
-                if (chains[currBucket] == null) { // check if current settled dict is null
-                    currBucket = nextNonEmptyIndex(currBucket);
-                }
-                if (currBucket == -1) {
+            return oldChains[firstOld + index - chains.length];
+        }
+
+        public boolean hasNext() {
+            // Skip over missing and empty buckets until one has something left.
+            while (iter == null || !iter.hasNext()) {
+                currBucket++;
+                if (currBucket >= numBuckets()) {
                     return false;
                 }
-                iter = chains[currBucket].iterator();
-            } 
-            if (!iter.hasNext()) {
-                int possNewIndex = nextNonEmptyIndex(currBucket);
-                if (possNewIndex == -1) {
-                    return false; 
-                }
-                currBucket = possNewIndex;
-                iter = chains[currBucket].iterator();
+                IDictionary<K, V> chain = bucket(currBucket);
+                iter = chain == null ? null : chain.iterator();
             }
-            
             return true;
         }
 
@@ -232,4 +306,4 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
             return iter.next();
         }
     }
-}
\ No newline at end of file
+}
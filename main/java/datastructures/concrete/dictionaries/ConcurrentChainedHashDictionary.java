@@ -0,0 +1,278 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe IDictionary built from lock-striped ChainedHashDictionary segments.
+ *
+ * Every key belongs to exactly one segment, chosen from its (spread) hash code, and
+ * each segment has its own read-write lock. Threads working on different segments
+ * never block each other, lookups within one segment run in parallel, and when a
+ * segment resizes it only locks itself, so the rest of the dictionary stays available.
+ *
+ * Besides the IDictionary methods, this class offers putIfAbsent, computeIfAbsent and
+ * merge, which check and update a key in a single atomic step.
+ *
+ * Iterators are weakly consistent: they never throw because of concurrent updates,
+ * and they see each segment as it was when the iterator reached it.
+ */
+public class ConcurrentChainedHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private Segment<K, V>[] segments;
+    // The number of bits to shift a spread hash right by to get a segment index.
+    private int segmentShift;
+
+    public ConcurrentChainedHashDictionary() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Creates a dictionary with at least 'concurrencyLevel' segments, which is roughly
+     * how many threads can update it at the same time without waiting.
+     *
+     * @throws IllegalArgumentException  if concurrencyLevel is not positive
+     */
+    public ConcurrentChainedHashDictionary(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException();
+        }
+        int numSegments = 1;
+        int bits = 0;
+        while (numSegments < concurrencyLevel) {
+            numSegments *= 2;
+            bits++;
+        }
+        segments = makeArrayOfSegments(numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment<>();
+        }
+        segmentShift = 32 - bits;
+    }
+
+    /**
+     * See ArrayDictionary's makeArrayOfPairs(...) method for why we need this.
+     */
+    @SuppressWarnings("unchecked")
+    private Segment<K, V>[] makeArrayOfSegments(int size) {
+        return (Segment<K, V>[]) new Segment[size];
+    }
+
+    /*
+     * Picks the segment from the high bits of the spread hash. ChainedHashDictionary
+     * picks a chain from the same hash modulo its (even) table size, which depends
+     * mostly on the low bits, so the two choices stay close to independent.
+     */
+    private Segment<K, V> segmentFor(K key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        return segments[Hashing.spread(key) >>> segmentShift];
+    }
+
+    @Override
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.readLock().lock();
+        try {
+            return segment.map.get(key);
+        } finally {
+            segment.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.readLock().lock();
+        try {
+            return segment.map.getOrDefault(key, defaultValue);
+        } finally {
+            segment.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.writeLock().lock();
+        try {
+            segment.map.put(key, value);
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.writeLock().lock();
+        try {
+            return segment.map.remove(key);
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.readLock().lock();
+        try {
+            return segment.map.containsKey(key);
+        } finally {
+            segment.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary. If other
+     * threads are updating the dictionary, this is only an estimate.
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.readLock().lock();
+            try {
+                total += segment.map.size();
+            } finally {
+                segment.lock.readLock().unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * If the key is not already in the dictionary, adds it with the given value.
+     *
+     * Returns the value the key had before the call, or null if it was absent.
+     */
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.writeLock().lock();
+        try {
+            if (segment.map.containsKey(key)) {
+                return segment.map.get(key);
+            }
+            segment.map.put(key, value);
+            return null;
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the value of the given key. If the key is absent, first computes its
+     * value with the given function and adds it, unless the function returns null.
+     *
+     * The function is called at most once, while other updates to the key wait, so
+     * it should be short and must not touch this dictionary.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.writeLock().lock();
+        try {
+            if (segment.map.containsKey(key)) {
+                return segment.map.get(key);
+            }
+            V value = function.apply(key);
+            if (value != null) {
+                segment.map.put(key, value);
+            }
+            return value;
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * If the key is absent, adds it with the given value. Otherwise, replaces its
+     * value with function(oldValue, value), or removes the key if that returns null.
+     *
+     * Returns the key's new value, or null if it was removed. As with computeIfAbsent,
+     * the function runs while other updates to the key wait.
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.writeLock().lock();
+        try {
+            if (!segment.map.containsKey(key)) {
+                segment.map.put(key, value);
+                return value;
+            }
+            V merged = function.apply(segment.map.get(key), value);
+            if (merged == null) {
+                segment.map.remove(key);
+            } else {
+                segment.map.put(key, merged);
+            }
+            return merged;
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new SegmentIterator<>(segments);
+    }
+
+    private static class Segment<K, V> {
+        public final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        public final ChainedHashDictionary<K, V> map = new ChainedHashDictionary<>();
+    }
+
+    /**
+     * Walks the segments in order. Each segment's pairs are copied out under its read
+     * lock when the iterator gets to it, so concurrent updates can't corrupt the walk.
+     */
+    private static class SegmentIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private Segment<K, V>[] segments;
+        private int nextSegment;
+        private Iterator<KVPair<K, V>> iter;
+
+        public SegmentIterator(Segment<K, V>[] segments) {
+            this.segments = segments;
+            this.nextSegment = 0;
+            this.iter = null;
+        }
+
+        public boolean hasNext() {
+            while (iter == null || !iter.hasNext()) {
+                if (nextSegment == segments.length) {
+                    return false;
+                }
+                Segment<K, V> segment = segments[nextSegment];
+                nextSegment++;
+                IList<KVPair<K, V>> snapshot = new DoubleLinkedList<>();
+                segment.lock.readLock().lock();
+                try {
+                    for (KVPair<K, V> pair : segment.map) {
+                        snapshot.add(pair);
+                    }
+                } finally {
+                    segment.lock.readLock().unlock();
+                }
+                iter = snapshot.iterator();
+            }
+            return true;
+        }
+
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iter.next();
+        }
+    }
+}
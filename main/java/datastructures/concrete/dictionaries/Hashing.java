@@ -0,0 +1,25 @@
+package datastructures.concrete.dictionaries;
+
+/**
+ * Hash code helpers shared by the hash dictionaries in this package.
+ */
+final class Hashing {
+    private Hashing() {
+    }
+
+    /**
+     * Scrambles the key's hash code so that poor hashCode() implementations still
+     * spread over every bit. java.awt.Point (and so Room and Wall) hashes doubles,
+     * which leaves the low bits of small coordinates all zero, so the high bits
+     * must be folded down before multiplying. This is MurmurHash3's finalizer.
+     */
+    static int spread(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
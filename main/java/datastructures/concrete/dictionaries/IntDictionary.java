@@ -0,0 +1,142 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IIntIntDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash dictionary from primitive int keys to primitive int values.
+ *
+ * This is IntObjDictionary with the values unboxed as well: it's meant for
+ * index maps (for example, item id to array slot) where both sides are ints.
+ * Neither get nor put allocates.
+ *
+ * See IIntIntDictionary for more details on what each method should do.
+ */
+public class IntDictionary extends IntKeyTable implements IIntIntDictionary {
+    // values[i] is the value of keys[i] when used[i] is true.
+    private int[] values;
+
+    public IntDictionary() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a dictionary that can hold the given number of keys before resizing.
+     */
+    public IntDictionary(int expectedSize) {
+        super(expectedSize);
+        values = new int[keys.length];
+    }
+
+    @Override
+    public int get(int key) {
+        int slot = slotOf(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        return values[slot];
+    }
+
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        int slot = slotOf(key);
+        return slot == -1 ? defaultValue : values[slot];
+    }
+
+    @Override
+    public void put(int key, int value) {
+        // slotFor may resize, replacing 'values', so it must run first.
+        int slot = slotFor(key);
+        values[slot] = value;
+    }
+
+    @Override
+    public int remove(int key) {
+        int slot = slotOf(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        int result = values[slot];
+        removeSlot(slot);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return slotOf(key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearValue(int slot) {
+        // Unused slots may hold any int.
+    }
+
+    @Override
+    protected void resizeValues(int capacity, boolean[] oldUsed, int[] newSlots) {
+        int[] oldValues = values;
+        values = new int[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldUsed[i]) {
+                values[newSlots[i]] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns all key-value pairs contained within this dict. Iterating boxes
+     * each key and value.
+     */
+    @Override
+    public Iterator<KVPair<Integer, Integer>> iterator() {
+        return new IntIterator(keys, values, used);
+    }
+
+    private static class IntIterator implements Iterator<KVPair<Integer, Integer>> {
+        private int[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int currSlot;
+
+        public IntIterator(int[] keys, int[] values, boolean[] used) {
+            this.keys = keys;
+            this.values = values;
+            this.used = used;
+            this.currSlot = nextUsed(0);
+        }
+
+        private int nextUsed(int from) {
+            int slot = from;
+            while (slot < used.length && !used[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+
+        public boolean hasNext() {
+            return currSlot < used.length;
+        }
+
+        public KVPair<Integer, Integer> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<Integer, Integer> pair = new KVPair<>(keys[currSlot], values[currSlot]);
+            currSlot = nextUsed(currSlot + 1);
+            return pair;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IIntDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+
+/**
+ * Lets an IIntDictionary be used anywhere an IDictionary<Integer, V> is expected.
+ *
+ * Every call unboxes the key and forwards it, so existing callers can switch to a
+ * primitive dictionary without changing their code. A null key is never present:
+ * looking one up behaves like any other missing key, and storing one is rejected.
+ */
+public class IntDictionaryAdapter<V> implements IDictionary<Integer, V> {
+    private IIntDictionary<V> dict;
+
+    public IntDictionaryAdapter(IIntDictionary<V> dict) {
+        this.dict = dict;
+    }
+
+    @Override
+    public V get(Integer key) {
+        if (key == null) {
+            throw new NoSuchKeyException();
+        }
+        return dict.get(key);
+    }
+
+    @Override
+    public V getOrDefault(Integer key, V defaultValue) {
+        return key == null ? defaultValue : dict.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key is null
+     */
+    @Override
+    public void put(Integer key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
+        dict.put(key, value);
+    }
+
+    @Override
+    public V remove(Integer key) {
+        if (key == null) {
+            throw new NoSuchKeyException();
+        }
+        return dict.remove(key);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return key != null && dict.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return dict.size();
+    }
+
+    @Override
+    public Iterator<KVPair<Integer, V>> iterator() {
+        return dict.iterator();
+    }
+}
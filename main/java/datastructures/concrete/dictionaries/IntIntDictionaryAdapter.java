@@ -0,0 +1,76 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IIntIntDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+
+/**
+ * Lets an IIntIntDictionary be used anywhere an IDictionary<Integer, Integer> is
+ * expected, just as IntDictionaryAdapter does for IIntDictionary.
+ *
+ * A null key is never present: looking one up behaves like any other missing key.
+ * Neither a null key nor a null value can be stored.
+ */
+public class IntIntDictionaryAdapter implements IDictionary<Integer, Integer> {
+    private IIntIntDictionary dict;
+
+    public IntIntDictionaryAdapter(IIntIntDictionary dict) {
+        this.dict = dict;
+    }
+
+    @Override
+    public Integer get(Integer key) {
+        if (key == null) {
+            throw new NoSuchKeyException();
+        }
+        return dict.get(key);
+    }
+
+    @Override
+    public Integer getOrDefault(Integer key, Integer defaultValue) {
+        // The default may be null, so it must not be unboxed (as dict.getOrDefault
+        // or a conditional expression mixing int and Integer would do).
+        if (key != null && dict.containsKey(key)) {
+            return dict.get(key);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key or the value is null
+     */
+    @Override
+    public void put(Integer key, Integer value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException();
+        }
+        dict.put(key, value);
+    }
+
+    @Override
+    public Integer remove(Integer key) {
+        if (key == null) {
+            throw new NoSuchKeyException();
+        }
+        return dict.remove(key);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return key != null && dict.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return dict.size();
+    }
+
+    @Override
+    public Iterator<KVPair<Integer, Integer>> iterator() {
+        return dict.iterator();
+    }
+}
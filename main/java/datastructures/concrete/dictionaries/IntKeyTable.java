@@ -0,0 +1,153 @@
+package datastructures.concrete.dictionaries;
+
+/**
+ * The open-addressing table of primitive int keys shared by IntObjDictionary and
+ * IntDictionary.
+ *
+ * This class probes, inserts, deletes and resizes the keys. Subclasses keep their
+ * values in a parallel array of whatever type they need, and move them along with
+ * the keys through moveValue, clearValue and resizeValues.
+ */
+abstract class IntKeyTable {
+    protected static final int INITIAL_CAPACITY = 16;
+
+    // Invariants:
+    //
+    // - The capacity (keys.length) is always a power of two.
+    // - used[i] is true exactly when slot i holds a key.
+    // - Every key sits somewhere in the run of used slots that starts at its home
+    //   slot, with no unused slot in between. removeSlot() shifts entries backwards
+    //   to keep this true, so lookups can stop at the first unused slot.
+    protected int[] keys;
+    protected boolean[] used;
+    protected int size;
+
+    /**
+     * Creates a table that can hold the given number of keys before resizing.
+     * Subclasses must then create a value array of length keys.length.
+     */
+    protected IntKeyTable(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity *= 2;
+        }
+        keys = new int[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    /**
+     * Scrambles the key so that keys which differ only in their high bits
+     * (or are simply consecutive) still spread out over the table.
+     */
+    static int spread(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Copies the value in slot 'from' into slot 'to'.
+     */
+    protected abstract void moveValue(int from, int to);
+
+    /**
+     * Forgets the value in a slot that has just become unused.
+     */
+    protected abstract void clearValue(int slot);
+
+    /**
+     * Replaces the value array with one of the given capacity, where the value that
+     * was in slot 'i' goes to slot newSlots[i] for every slot with oldUsed[i] set.
+     */
+    protected abstract void resizeValues(int capacity, boolean[] oldUsed, int[] newSlots);
+
+    /*
+     * Returns the slot containing the key, or -1 if the key is absent.
+     */
+    protected final int slotOf(int key) {
+        int mask = keys.length - 1;
+        int slot = spread(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /*
+     * Returns the slot containing the key. If the key is absent, it is added first,
+     * growing the table if it would become more than 3/4 full, and the caller must
+     * then store its value in the returned slot.
+     */
+    protected final int slotFor(int key) {
+        int slot = slotOf(key);
+        if (slot != -1) {
+            return slot;
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        slot = freeSlot(key);
+        used[slot] = true;
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    /*
+     * Removes the key in the given slot, along with its value.
+     */
+    protected final void removeSlot(int slot) {
+        // Backward-shift deletion: walk the rest of the run and pull back every
+        // entry whose home slot is at or before the hole.
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int home = spread(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                moveValue(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        clearValue(hole);
+        size--;
+    }
+
+    /*
+     * Returns the first unused slot in the key's run. The key must be absent.
+     */
+    private int freeSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = spread(key) & mask;
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+
+        // Every key is known to be distinct, so we can drop each one into the
+        // first free slot without comparing keys.
+        int[] newSlots = new int[oldKeys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = freeSlot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                newSlots[i] = slot;
+            }
+        }
+        resizeValues(keys.length, oldUsed, newSlots);
+    }
+}
@@ -0,0 +1,143 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IIntDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash dictionary from primitive int keys to objects.
+ *
+ * Keys and values live in parallel arrays and collisions are resolved by linear
+ * probing, so there are no per-entry objects and get/put never allocate (apart
+ * from the occasional resize).
+ *
+ * See IIntDictionary for more details on what each method should do.
+ */
+public class IntObjDictionary<V> extends IntKeyTable implements IIntDictionary<V> {
+    // values[i] is the value of keys[i] when used[i] is true, and null otherwise.
+    private Object[] values;
+
+    public IntObjDictionary() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a dictionary that can hold the given number of keys before resizing.
+     */
+    public IntObjDictionary(int expectedSize) {
+        super(expectedSize);
+        values = new Object[keys.length];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = slotOf(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        return (V) values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        int slot = slotOf(key);
+        return slot == -1 ? defaultValue : (V) values[slot];
+    }
+
+    @Override
+    public void put(int key, V value) {
+        // slotFor may resize, replacing 'values', so it must run first.
+        int slot = slotFor(key);
+        values[slot] = value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = slotOf(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        V result = (V) values[slot];
+        removeSlot(slot);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return slotOf(key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearValue(int slot) {
+        values[slot] = null;
+    }
+
+    @Override
+    protected void resizeValues(int capacity, boolean[] oldUsed, int[] newSlots) {
+        Object[] oldValues = values;
+        values = new Object[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldUsed[i]) {
+                values[newSlots[i]] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public Iterator<KVPair<Integer, V>> iterator() {
+        return new IntObjIterator<>(keys, values, used);
+    }
+
+    private static class IntObjIterator<V> implements Iterator<KVPair<Integer, V>> {
+        private int[] keys;
+        private Object[] values;
+        private boolean[] used;
+        // Invariant: currSlot is the next used slot, or keys.length if there are none left.
+        private int currSlot;
+
+        public IntObjIterator(int[] keys, Object[] values, boolean[] used) {
+            this.keys = keys;
+            this.values = values;
+            this.used = used;
+            this.currSlot = nextUsed(0);
+        }
+
+        private int nextUsed(int from) {
+            int slot = from;
+            while (slot < used.length && !used[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+
+        public boolean hasNext() {
+            return currSlot < used.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public KVPair<Integer, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<Integer, V> pair = new KVPair<>(keys[currSlot], (V) values[currSlot]);
+            currSlot = nextUsed(currSlot + 1);
+            return pair;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A dictionary that holds at most 'capacity' pairs. When a put would go over that,
+ * it first evicts the least recently used pair.
+ *
+ * A pair counts as used when it is put or read with get or getOrDefault. containsKey
+ * and iteration do not count. Iteration goes from most to least recently used.
+ *
+ * The pairs form a doubly linked list in order of use, and a hash dictionary maps
+ * each key to its list node, so every operation takes O(1) time.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class LruDictionary<K, V> implements IDictionary<K, V> {
+    private IDictionary<K, Node<K, V>> nodes;
+    private int capacity;
+    // 'newest' is the most recently used pair and 'oldest' the least; both are null
+    // when the dictionary is empty.
+    private Node<K, V> newest;
+    private Node<K, V> oldest;
+
+    /**
+     * @throws IllegalArgumentException  if capacity < 1
+     */
+    public LruDictionary(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.nodes = new RobinHoodHashDictionary<>();
+        this.capacity = capacity;
+        this.newest = null;
+        this.oldest = null;
+    }
+
+    /**
+     * Returns the most pairs this dictionary will hold at once.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = nodes.getOrDefault(key, null);
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        moveToFront(node);
+        return node.value;
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = nodes.getOrDefault(key, null);
+        if (node == null) {
+            return defaultValue;
+        }
+        moveToFront(node);
+        return node.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Node<K, V> node = nodes.getOrDefault(key, null);
+        if (node != null) {
+            node.value = value;
+            moveToFront(node);
+            return;
+        }
+        if (nodes.size() == capacity) {
+            nodes.remove(oldest.key);
+            unlink(oldest);
+        }
+        node = new Node<>(key, value);
+        nodes.put(key, node);
+        linkAtFront(node);
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = nodes.getOrDefault(key, null);
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        nodes.remove(key);
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return nodes.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    private void moveToFront(Node<K, V> node) {
+        if (node != newest) {
+            unlink(node);
+            linkAtFront(node);
+        }
+    }
+
+    private void linkAtFront(Node<K, V> node) {
+        node.older = newest;
+        node.newer = null;
+        if (newest != null) {
+            newest.newer = node;
+        } else {
+            oldest = node;
+        }
+        newest = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.newer != null) {
+            node.newer.older = node.older;
+        } else {
+            newest = node.older;
+        }
+        if (node.older != null) {
+            node.older.newer = node.newer;
+        } else {
+            oldest = node.newer;
+        }
+        node.newer = null;
+        node.older = null;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new LruIterator<>(newest);
+    }
+
+    private static class Node<K, V> {
+        public final K key;
+        public V value;
+        public Node<K, V> newer;
+        public Node<K, V> older;
+
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static class LruIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private Node<K, V> current;
+
+        public LruIterator(Node<K, V> newest) {
+            this.current = newest;
+        }
+
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<K, V> pair = new KVPair<>(current.key, current.value);
+            current = current.older;
+            return pair;
+        }
+    }
+}
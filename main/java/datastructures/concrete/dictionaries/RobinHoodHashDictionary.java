@@ -0,0 +1,264 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash dictionary that uses Robin Hood linear probing.
+ *
+ * Keys, values and (spread) hash codes are stored in three flat arrays, so there
+ * are no chains or per-entry objects. On insert, an entry that has probed further
+ * from its home slot than the entry it collides with takes that slot, and the
+ * displaced entry keeps probing. This keeps every probe sequence short, and lets a
+ * lookup for a missing key stop early.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class RobinHoodHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int EMPTY = 0;
+
+    // Invariants:
+    //
+    // - The capacity (keys.length) is always a power of two, and the table is
+    //   never more than 80% full.
+    // - hashes[i] == EMPTY exactly when slot i is unused. Otherwise hashes[i] is
+    //   the spread hash of keys[i], which is never EMPTY.
+    // - Along any run of used slots, each entry's distance from its home slot is
+    //   at most one more than the previous entry's distance.
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int size;
+
+    public RobinHoodHashDictionary() {
+        keys = makeArrayOfK(INITIAL_CAPACITY);
+        values = makeArrayOfV(INITIAL_CAPACITY);
+        hashes = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * These helper methods return new, empty arrays of the given size. See
+     * ArrayDictionary's makeArrayOfPairs(...) method for why we need them.
+     */
+    @SuppressWarnings("unchecked")
+    private K[] makeArrayOfK(int arraySize) {
+        return (K[]) new Object[arraySize];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V[] makeArrayOfV(int arraySize) {
+        return (V[]) new Object[arraySize];
+    }
+
+    /*
+     * Returns the key's spread hash code (see Hashing.spread), moved off the value
+     * that marks empty slots.
+     */
+    private static int hash(Object key) {
+        int hash = Hashing.spread(key);
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    /*
+     * Returns how far the entry with the given hash sits past its home slot.
+     */
+    private int probeDistance(int hash, int slot) {
+        return (slot - hash) & (hashes.length - 1);
+    }
+
+    /*
+     * Returns the slot containing the key, or -1 if the key is absent.
+     */
+    private int slotOf(K key) {
+        int hash = hash(key);
+        int mask = hashes.length - 1;
+        int slot = hash & mask;
+        for (int dist = 0; hashes[slot] != EMPTY; dist++) {
+            if (probeDistance(hashes[slot], slot) < dist) {
+                // Had the key been present, it would have displaced this entry.
+                return -1;
+            }
+            if (hashes[slot] == hash && equal(keys[slot], key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    @Override
+    public V get(K key) {
+        int slot = slotOf(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        return values[slot];
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = slotOf(key);
+        return slot == -1 ? defaultValue : values[slot];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return slotOf(key) != -1;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int mask = hashes.length - 1;
+        int slot = hash & mask;
+        for (int dist = 0; hashes[slot] != EMPTY; dist++) {
+            if (hashes[slot] == hash && equal(keys[slot], key)) {
+                values[slot] = value;
+                return;
+            }
+            if (probeDistance(hashes[slot], slot) < dist) {
+                // The key is not present; it belongs here, in front of the richer entry.
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insertAt(slot, hash, key, value);
+        size++;
+        if (size * 5 > hashes.length * 4) {
+            resize();
+        }
+    }
+
+    /*
+     * Places the entry at the given slot, pushing whatever was there (and so on)
+     * one step further along the run until an empty slot absorbs the last one.
+     */
+    private void insertAt(int slot, int hash, K key, V value) {
+        int mask = hashes.length - 1;
+        while (hashes[slot] != EMPTY) {
+            int displacedHash = hashes[slot];
+            K displacedKey = keys[slot];
+            V displacedValue = values[slot];
+            hashes[slot] = hash;
+            keys[slot] = key;
+            values[slot] = value;
+            hash = displacedHash;
+            key = displacedKey;
+            value = displacedValue;
+
+            // Skip past every entry at least as far from home as the one we carry.
+            slot = (slot + 1) & mask;
+            while (hashes[slot] != EMPTY && probeDistance(hashes[slot], slot) >= probeDistance(hash, slot)) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    @Override
+    public V remove(K key) {
+        int slot = slotOf(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        V result = values[slot];
+
+        // Backward-shift deletion: pull each following entry one step closer to
+        // home until we reach an empty slot or an entry already at home.
+        int mask = hashes.length - 1;
+        int next = (slot + 1) & mask;
+        while (hashes[next] != EMPTY && probeDistance(hashes[next], next) != 0) {
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = EMPTY;
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void resize() {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        keys = makeArrayOfK(oldHashes.length * 2);
+        values = makeArrayOfV(oldHashes.length * 2);
+        hashes = new int[oldHashes.length * 2];
+
+        // The cached hashes mean we never call hashCode() or equals() again here.
+        int mask = hashes.length - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                int slot = oldHashes[i] & mask;
+                int dist = 0;
+                while (hashes[slot] != EMPTY && probeDistance(hashes[slot], slot) >= dist) {
+                    slot = (slot + 1) & mask;
+                    dist++;
+                }
+                insertAt(slot, oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new RobinHoodIterator<>(keys, values, hashes);
+    }
+
+    private static class RobinHoodIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private K[] keys;
+        private V[] values;
+        private int[] hashes;
+        // Invariant: currSlot is the next used slot, or hashes.length if there are none left.
+        private int currSlot;
+
+        public RobinHoodIterator(K[] keys, V[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.currSlot = nextUsed(0);
+        }
+
+        private int nextUsed(int from) {
+            int slot = from;
+            while (slot < hashes.length && hashes[slot] == EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+
+        public boolean hasNext() {
+            return currSlot < hashes.length;
+        }
+
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<K, V> pair = new KVPair<>(keys[currSlot], values[currSlot]);
+            currSlot = nextUsed(currSlot + 1);
+            return pair;
+        }
+    }
+}
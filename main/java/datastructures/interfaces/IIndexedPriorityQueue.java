@@ -0,0 +1,53 @@
+package datastructures.interfaces;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a priority queue that keeps track of where each of its elements lives,
+ * so an element can be looked up, removed, or re-prioritized without searching for it.
+ *
+ * Elements must be unique according to their equals method, and an element's
+ * hashCode must not change while it is inside the queue. Its compareTo, however,
+ * may change: that is how a client changes an element's priority. After changing
+ * the priority of an element in the queue, the client must call decreaseKey or
+ * increaseKey (whichever applies) before using the queue again.
+ */
+public interface IIndexedPriorityQueue<T extends Comparable<T>> extends IPriorityQueue<T> {
+    /**
+     * Inserts the given item into the queue.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     * @throws IllegalArgumentException  if the item is already in the queue
+     */
+    void insert(T item);
+
+    /**
+     * Finds the given item in the queue, and removes it.
+     *
+     * Unlike IPriorityQueue, implementations of this interface must support this method.
+     *
+     * @throws NoSuchElementException  if the given item does not exist
+     */
+    void remove(T item);
+
+    /**
+     * Returns 'true' if the queue contains the given item, and 'false' otherwise.
+     */
+    boolean contains(T item);
+
+    /**
+     * Restores the heap ordering after the given item's priority has decreased
+     * (that is, it now compares smaller than it did when it was inserted or last updated).
+     *
+     * @throws NoSuchElementException  if the given item does not exist
+     */
+    void decreaseKey(T item);
+
+    /**
+     * Restores the heap ordering after the given item's priority has increased
+     * (that is, it now compares larger than it did when it was inserted or last updated).
+     *
+     * @throws NoSuchElementException  if the given item does not exist
+     */
+    void increaseKey(T item);
+}
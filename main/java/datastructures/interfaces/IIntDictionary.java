@@ -0,0 +1,71 @@
+package datastructures.interfaces;
+
+import datastructures.concrete.KVPair;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+
+/**
+ * Represents a dictionary whose keys are primitive ints. Each key must be unique.
+ *
+ * This is the same contract as IDictionary<Integer, V>, except that keys are never
+ * boxed, so implementations can look up and store keys without allocating.
+ */
+public interface IIntDictionary<V> extends Iterable<KVPair<Integer, V>> {
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public V get(int key);
+
+    /**
+     * Returns the value corresponding to the given key, if the key exists in the map.
+     *
+     * If the key does *not* contain the given key, returns the default value.
+     */
+    public default V getOrDefault(int key, V defaultValue) {
+        if (this.containsKey(key)) {
+            return this.get(key);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    public void put(int key, V value);
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public V remove(int key);
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(int key);
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size();
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns a list of all key-value pairs contained within this dict.
+     *
+     * Note: unlike the other methods, iterating boxes each key.
+     */
+    public Iterator<KVPair<Integer, V>> iterator();
+}
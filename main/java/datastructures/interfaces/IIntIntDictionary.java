@@ -0,0 +1,72 @@
+package datastructures.interfaces;
+
+import datastructures.concrete.KVPair;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+
+/**
+ * Represents a dictionary whose keys and values are both primitive ints. Each key
+ * must be unique.
+ *
+ * This is the same contract as IIntDictionary<Integer>, except that values are never
+ * boxed either, so implementations can look up and store entries without allocating.
+ */
+public interface IIntIntDictionary extends Iterable<KVPair<Integer, Integer>> {
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int get(int key);
+
+    /**
+     * Returns the value corresponding to the given key, if the key exists in the map.
+     *
+     * If the key does *not* contain the given key, returns the default value.
+     */
+    public default int getOrDefault(int key, int defaultValue) {
+        if (this.containsKey(key)) {
+            return this.get(key);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    public void put(int key, int value);
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int remove(int key);
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(int key);
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size();
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns a list of all key-value pairs contained within this dict.
+     *
+     * Note: unlike the other methods, iterating boxes each key and value.
+     */
+    public Iterator<KVPair<Integer, Integer>> iterator();
+}
@@ -52,6 +52,23 @@ public interface IPriorityQueue<T extends Comparable<T>> {
      */
     void remove(T item);
 
+    /**
+     * Removes and returns the smallest element in the queue, and inserts the given
+     * item in its place. The result is the same as calling removeMin() then
+     * insert(item), but implementations may do it in a single pass.
+     *
+     * @throws EmptyContainerException   if the queue is empty
+     * @throws IllegalArgumentException  if the item is null
+     */
+    default T replaceMin(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        T min = this.removeMin();
+        this.insert(item);
+        return min;
+    }
+
     /**
      * Returns the number of elements contained within this queue.
      */
@@ -1,8 +1,18 @@
 package mazes.entities;
 
+import misc.graphs.Heuristic;
+
 import java.awt.*;
 
 public class Room {
+    /**
+     * Estimates the cost between two rooms as the straight-line distance between
+     * their centers. This never overestimates as long as every wall on the path
+     * weighs at least the distance between the centers of its rooms, which holds
+     * for walls using their default distance.
+     */
+    public static final Heuristic<Room> EUCLIDEAN_HEURISTIC = Room::distanceTo;
+
     private Point center;
     private Polygon polygon;
 
@@ -23,6 +33,13 @@ public class Room {
         return this.polygon;
     }
 
+    /**
+     * Returns the straight-line distance between the centers of the two rooms.
+     */
+    public double distanceTo(Room other) {
+        return this.center.distance(other.center);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -28,7 +28,10 @@ public class KruskalMazeCarver implements MazeCarver {
         }
         Graph<Room, Wall> graph = new Graph<Room, Wall>(maze.getRooms(), walls);
         ISet<Wall> mst = graph.findMinimumSpanningTree();
-        
+
+        for (Wall wall : walls) {
+            wall.resetDistanceToOriginal();
+        }
         return mst;
     }
 }
@@ -124,7 +124,7 @@ public class OptionsPanel extends JPanel {
                 this.originalMaze.getRooms(),
                 this.subtract(this.originalMaze.getWalls(), this.currentMaze.getWalls()));
         try {
-            IList<Wall> path = graph.findShortestPathBetween(this.start, this.end);
+            IList<Wall> path = graph.findShortestPathAStar(this.start, this.end, Room.EUCLIDEAN_HEURISTIC).getPath();
             this.drawer.drawPath(path);
         } catch (NoPathExistsException ex) {
             JOptionPane.showMessageDialog(
@@ -0,0 +1,464 @@
+package misc;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IPriorityQueue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorts, or finds the top k of, more records than fit in memory, using temporary
+ * files on disk.
+ *
+ * Sorting happens in two phases. First the input is read 'runSize' records at a
+ * time; each run is sorted in memory with Sorter and written to a temporary file.
+ * Then the runs are merged: an ArrayHeap holds the smallest unread record of each
+ * run, and the merge repeatedly writes out the heap's minimum and replaces it with
+ * the next record from the same run. Each run being merged needs its own read
+ * buffer, so the memory budget decides how many runs can be merged at once; if
+ * there are more runs than that, extra passes first merge them into fewer, longer
+ * runs.
+ *
+ * Records go to disk and back with a Codec, at least twice each, so a compact codec
+ * pays off directly. Files written by sort and topK hold nothing but the encoded
+ * records, one after another; openReader and openWriter read and write that format.
+ *
+ * sort is stable: records that compare equal come out in the order they went in.
+ */
+public class ExternalSorter<T extends Comparable<T>> {
+    /**
+     * Turns records into bytes and back. read must consume exactly the bytes write
+     * produced for the record.
+     */
+    public interface Codec<T> {
+        void write(DataOutput out, T item) throws IOException;
+
+        T read(DataInput in) throws IOException;
+    }
+
+    public static final Codec<Integer> INTEGERS = new Codec<Integer>() {
+        public void write(DataOutput out, Integer item) throws IOException {
+            out.writeInt(item);
+        }
+
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    public static final Codec<Long> LONGS = new Codec<Long>() {
+        public void write(DataOutput out, Long item) throws IOException {
+            out.writeLong(item);
+        }
+
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    public static final Codec<Double> DOUBLES = new Codec<Double>() {
+        public void write(DataOutput out, Double item) throws IOException {
+            out.writeDouble(item);
+        }
+
+        public Double read(DataInput in) throws IOException {
+            return in.readDouble();
+        }
+    };
+
+    /**
+     * Writes each string as its length in UTF-8 bytes, then the bytes. Unlike
+     * DataOutput.writeUTF, this has no 64 KB limit.
+     */
+    public static final Codec<String> STRINGS = new Codec<String>() {
+        public void write(DataOutput out, String item) throws IOException {
+            byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        public String read(DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    // The size of the buffer behind every file read or written.
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Codec<T> codec;
+    private final int runSize;
+    private final int fanIn;
+    private final Path tempDirectory;
+
+    /**
+     * Creates a sorter that holds up to 'runSize' records in memory at once, and
+     * uses about 'memoryBudget' bytes of file buffers while merging. Temporary files
+     * go in the given directory and are deleted before sort or topK returns.
+     *
+     * @throws IllegalArgumentException  if runSize < 1
+     * @throws IllegalArgumentException  if memoryBudget is too small to merge two runs
+     *                                   at once (three 64 KB buffers)
+     */
+    public ExternalSorter(Codec<T> codec, int runSize, long memoryBudget, Path tempDirectory) {
+        if (runSize < 1 || memoryBudget < 3L * BUFFER_SIZE) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = codec;
+        this.runSize = runSize;
+        // One buffer per run being merged, plus one for the output.
+        this.fanIn = (int) Math.min(memoryBudget / BUFFER_SIZE - 1, Integer.MAX_VALUE);
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Creates a sorter that keeps its temporary files in the system's temporary
+     * directory. See the constructor above.
+     */
+    public ExternalSorter(Codec<T> codec, int runSize, long memoryBudget) {
+        this(codec, runSize, memoryBudget, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Returns a reader over the records in the given file.
+     */
+    public RecordReader<T> openReader(Path file) throws IOException {
+        return new RecordReader<>(codec, file);
+    }
+
+    /**
+     * Returns a writer that replaces the given file's contents with records.
+     */
+    public RecordWriter<T> openWriter(Path file) throws IOException {
+        return new RecordWriter<>(codec, file);
+    }
+
+    /**
+     * Writes the records the iterator produces to the output file, in sorted order.
+     *
+     * @throws IllegalArgumentException  if the input contains null
+     */
+    public void sort(Iterator<T> input, Path output) throws IOException {
+        this.mergeRuns(input, Long.MAX_VALUE, output);
+    }
+
+    /**
+     * Writes the records in the input file to the output file, in sorted order. The
+     * two files must be different.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        try (RecordReader<T> reader = this.openReader(input)) {
+            this.sort(reader, output);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Writes the k biggest records the iterator produces to the output file, in
+     * ascending order, like Searcher.topKSort. If k is no more than the run size, the
+     * records are picked in memory with a bounded heap, and no temporary files are
+     * needed.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the input contains null
+     */
+    public void topK(int k, Iterator<T> input, Path output) throws IOException {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (k > runSize) {
+            this.mergeRuns(input, k, output);
+            return;
+        }
+        IList<T> top = Searcher.topKSort(k, input);
+        try (RecordWriter<T> writer = this.openWriter(output)) {
+            for (T item : top) {
+                writer.write(item);
+            }
+        }
+    }
+
+    /**
+     * Writes the k biggest records in the input file to the output file, in ascending
+     * order. The two files must be different.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public void topK(int k, Path input, Path output) throws IOException {
+        try (RecordReader<T> reader = this.openReader(input)) {
+            this.topK(k, reader, output);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Writes the last 'keep' records of the sorted input (all of them, if keep is at
+     * least the input's length) to the output file.
+     *
+     * When keep is smaller than the input, no run needs more than its last 'keep'
+     * records either, so every run is cut down to that as it is written or merged.
+     */
+    private void mergeRuns(Iterator<T> input, long keep, Path output) throws IOException {
+        // Every temporary file made along the way, so all are deleted even on failure.
+        IList<Path> tempFiles = new DoubleLinkedList<>();
+        try {
+            IList<Run> runs = this.writeRuns(input, keep, tempFiles);
+            while (runs.size() > fanIn) {
+                IList<Run> merged = new DoubleLinkedList<>();
+                while (!runs.isEmpty()) {
+                    IList<Run> group = new DoubleLinkedList<>();
+                    while (group.size() < fanIn && !runs.isEmpty()) {
+                        group.add(runs.delete(0));
+                    }
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path file = this.createTempFile(tempFiles);
+                    merged.add(new Run(file, this.merge(group, keep, file)));
+                    // Free the disk space now rather than at the end.
+                    for (Run run : group) {
+                        Files.delete(run.file);
+                    }
+                }
+                runs = merged;
+            }
+            this.merge(runs, keep, output);
+        } finally {
+            for (Path file : tempFiles) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private Path createTempFile(IList<Path> tempFiles) throws IOException {
+        Path file = Files.createTempFile(tempDirectory, "run", ".tmp");
+        tempFiles.add(file);
+        return file;
+    }
+
+    /**
+     * Sorts the input a run at a time, writes the last 'keep' records of each run to
+     * a temporary file, and returns the runs in input order.
+     */
+    private IList<Run> writeRuns(Iterator<T> input, long keep, IList<Path> tempFiles) throws IOException {
+        IList<Run> runs = new DoubleLinkedList<>();
+        T[] run = makeArrayOfT(runSize);
+        while (input.hasNext()) {
+            int size = 0;
+            while (size < runSize && input.hasNext()) {
+                T item = input.next();
+                if (item == null) {
+                    throw new IllegalArgumentException();
+                }
+                run[size++] = item;
+            }
+            T[] items = size == runSize ? run : Arrays.copyOf(run, size);
+            Sorter.parallelSort(items);
+            int from = (int) Math.max(0, size - keep);
+            Path file = this.createTempFile(tempFiles);
+            try (RecordWriter<T> writer = this.openWriter(file)) {
+                for (int i = from; i < size; i++) {
+                    writer.write(items[i]);
+                }
+            }
+            runs.add(new Run(file, size - from));
+        }
+        return runs;
+    }
+
+    /**
+     * Merges the runs into the output file, keeping only the last 'keep' records,
+     * and returns how many records it wrote. Where records compare equal, the one
+     * from the earlier run goes first.
+     */
+    private long merge(IList<Run> runs, long keep, Path output) throws IOException {
+        long total = 0;
+        for (Run run : runs) {
+            total += run.length;
+        }
+        long skip = Math.max(0, total - keep);
+
+        IPriorityQueue<Head<T>> heap = new ArrayHeap<>();
+        IList<RecordReader<T>> readers = new DoubleLinkedList<>();
+        try {
+            int index = 0;
+            for (Run run : runs) {
+                RecordReader<T> reader = this.openReader(run.file);
+                readers.add(reader);
+                if (reader.hasNext()) {
+                    heap.insert(new Head<>(reader, index));
+                }
+                index++;
+            }
+            try (RecordWriter<T> writer = this.openWriter(output)) {
+                while (!heap.isEmpty()) {
+                    Head<T> head = heap.peekMin();
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        writer.write(head.item);
+                    }
+                    if (head.reader.hasNext()) {
+                        head.item = head.reader.next();
+                        heap.replaceMin(head);
+                    } else {
+                        heap.removeMin();
+                    }
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            for (RecordReader<T> reader : readers) {
+                reader.close();
+            }
+        }
+        return Math.min(total, keep);
+    }
+
+    /**
+     * Returns a new, empty array of the given size that can contain elements of
+     * type T. See ArrayHeap's makeArrayOfT(...) method for why we need it.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> T[] makeArrayOfT(int size) {
+        return (T[]) new Comparable[size];
+    }
+
+    /**
+     * A sorted run in a temporary file.
+     */
+    private static class Run {
+        public final Path file;
+        public final long length;
+
+        public Run(Path file, long length) {
+            this.file = file;
+            this.length = length;
+        }
+    }
+
+    /**
+     * The smallest record of one run that the merge has not written yet. Ties go to
+     * the earlier run, which keeps the merge stable.
+     */
+    private static class Head<T extends Comparable<T>> implements Comparable<Head<T>> {
+        public final RecordReader<T> reader;
+        public final int run;
+        public T item;
+
+        public Head(RecordReader<T> reader, int run) {
+            this.reader = reader;
+            this.run = run;
+            this.item = reader.next();
+        }
+
+        @Override
+        public int compareTo(Head<T> other) {
+            int cmp = item.compareTo(other.item);
+            return cmp != 0 ? cmp : Integer.compare(run, other.run);
+        }
+    }
+
+    /**
+     * Reads records from a file. I/O errors while iterating are thrown as
+     * UncheckedIOExceptions, since Iterator's methods cannot throw IOException.
+     */
+    public static class RecordReader<T> implements Iterator<T>, Closeable {
+        private final Codec<T> codec;
+        private final DataInputStream in;
+        // The record next() will return, or null at the end of the file.
+        private T next;
+
+        private RecordReader(Codec<T> codec, Path file) throws IOException {
+            this.codec = codec;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            try {
+                this.advance();
+            } catch (UncheckedIOException ex) {
+                in.close();
+                throw ex.getCause();
+            }
+        }
+
+        private void advance() {
+            try {
+                in.mark(1);
+                if (in.read() == -1) {
+                    next = null;
+                } else {
+                    in.reset();
+                    next = codec.read(in);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = next;
+            this.advance();
+            return item;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes records to a file, replacing what was in it.
+     */
+    public static class RecordWriter<T> implements Closeable {
+        private final Codec<T> codec;
+        private final DataOutputStream out;
+
+        private RecordWriter(Codec<T> codec, Path file) throws IOException {
+            this.codec = codec;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        }
+
+        /**
+         * @throws IllegalArgumentException  if the item is null
+         */
+        public void write(T item) throws IOException {
+            if (item == null) {
+                throw new IllegalArgumentException();
+            }
+            codec.write(out, item);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
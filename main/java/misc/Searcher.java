@@ -5,6 +5,16 @@ import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
 public class Searcher {
     /**
      * This method takes the input list and returns the top k elements
@@ -16,46 +26,384 @@ public class Searcher {
      * If the input list contains fewer then 'k' elements, return
      * a list containing all input.length elements in sorted order.
      *
+     * Where several elements compare equal, the ones later in the input count as
+     * bigger, so the output is always the last k elements of a stable sort of the
+     * input: equal elements are kept in the order they appear.
+     *
      * This method must not modify the input list.
      *
      * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the input list contains null
      */
     public static <T extends Comparable<T>> IList<T> topKSort(int k, IList<T> input) {
-        // Implementation notes:
-        //
-        // - This static method is a _generic method_. A generic method is similar to
-        //   the generic methods we covered in class, except that the generic parameter
-        //   is used only within this method.
-        //
-        //   You can implement a generic method in basically the same way you implement
-        //   generic classes: just use the 'T' generic type as if it were a regular type.
-        //
-        // - You should implement this method by using your ArrayHeap for the sake of
-        //   efficiency.
+        return topKSort(k, input.iterator());
+    }
+
+    /**
+     * Returns the top k elements of the given source in sorted order, with the
+     * same contract as topKSort(int, IList).
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the source produces a null element
+     */
+    public static <T extends Comparable<T>> IList<T> topKSort(int k, Iterable<T> input) {
+        return topKSort(k, input.iterator());
+    }
+
+    /**
+     * Returns the top k elements the iterator produces, in sorted order, with the
+     * same contract as topKSort(int, IList). The iterator is run to the end.
+     *
+     * Only the k biggest elements seen so far are kept, in a min-heap whose root is
+     * the smallest of them. Each new element either loses to that root and is
+     * dropped, or replaces it. So this takes O(k) memory and O(n log k) time
+     * however long the source is, and the source is never collected into a list.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the iterator produces a null element
+     */
+    public static <T extends Comparable<T>> IList<T> topKSort(int k, Iterator<T> input) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        IPriorityQueue<Ranked<T>> heap = topK(k, input, 0);
+        IList<T> output = new DoubleLinkedList<T>();
+        while (!heap.isEmpty()) {
+            output.add(heap.removeMin().item);
+        }
+        return output;
+    }
+
+    /**
+     * Returns a heap of the k biggest elements the iterator produces, numbering them
+     * from 'position' on.
+     */
+    private static <T extends Comparable<T>> IPriorityQueue<Ranked<T>> topK(int k, Iterator<T> input,
+                                                                            long position) {
+        IPriorityQueue<Ranked<T>> heap = new ArrayHeap<>();
+        while (input.hasNext()) {
+            T item = input.next();
+            if (item == null) {
+                throw new IllegalArgumentException();
+            }
+            if (heap.size() < k) {
+                heap.insert(new Ranked<>(item, position));
+            } else if (k > 0 && item.compareTo(heap.peekMin().item) >= 0) {
+                // An equal item still wins, since it comes later than the root.
+                heap.replaceMin(new Ranked<>(item, position));
+            }
+            position++;
+        }
+        return heap;
+    }
+
+    /**
+     * An element with its position in the input. Equal elements are ordered by
+     * position, so no two ranked elements ever compare equal.
+     */
+    private static class Ranked<T extends Comparable<T>> implements Comparable<Ranked<T>> {
+        public final T item;
+        public final long position;
+
+        public Ranked(T item, long position) {
+            this.item = item;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Ranked<T> other) {
+            int cmp = item.compareTo(other.item);
+            return cmp != 0 ? cmp : Long.compare(position, other.position);
+        }
+    }
+
+    /**
+     * Returns the top k elements of the array in sorted order, with the same
+     * contract as topKSort(int, IList), using every core.
+     *
+     * The output is exactly topKSort's: the same instances in the same order, even
+     * where several elements compare equal.
+     *
+     * When k is small next to the input, the array is split into chunks, each
+     * chunk's top k is found with a bounded heap on the common fork-join pool, and
+     * neighbouring chunks' results are merged pairwise on the way back up. When k
+     * is a large part of the input (at least 1 / SELECT_FRACTION of it), a bounded
+     * heap would do little bounding, so instead a copy of the input is partitioned
+     * around the k-th biggest element with introselect, and only the top k are
+     * sorted, in parallel.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the array contains null
+     */
+    public static <T extends Comparable<T>> IList<T> parallelTopKSort(int k, T[] input) {
+        return parallelTopKSort(k, input.length, i -> input[i]);
+    }
+
+    /**
+     * Returns the top k elements of the list in sorted order, like
+     * parallelTopKSort(int, T[]). A RandomAccess list, such as an ArrayList or an
+     * Arrays.asList view of an array, is read in place with get(int); any other
+     * list is copied first.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the list contains null
+     */
+    public static <T extends Comparable<T>> IList<T> parallelTopKSort(int k, List<T> input) {
+        if (!(input instanceof RandomAccess)) {
+            input = new ArrayList<>(input);
+        }
+        return parallelTopKSort(k, input.size(), input::get);
+    }
+
+    // parallelTopKSort runs topKSort on inputs shorter than this, and never makes a
+    // chunk shorter than this.
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    // parallelTopKSort selects instead of using heaps once k >= n / SELECT_FRACTION.
+    private static final int SELECT_FRACTION = 8;
+
+    private static <T extends Comparable<T>> IList<T> parallelTopKSort(int k, int length, IntFunction<T> input) {
         if (k < 0) {
             throw new IllegalArgumentException();
         }
-        
-        IPriorityQueue<T> heap = new ArrayHeap<T>();
-        for (T item : input) {
-            heap.insert(item);
+        if (length < PARALLEL_THRESHOLD) {
+            return topKSort(k, new RangeIterator<>(input, 0, length));
         }
-        
+
         IList<T> output = new DoubleLinkedList<T>();
-        int length = heap.size();
-        if (k > length) {
-            for (int i = 0; i < length; i++) {
-                output.add(heap.removeMin());
+        if (k >= length / SELECT_FRACTION) {
+            for (T item : selectTopK(k, length, input)) {
+                output.add(item);
             }
         } else {
-            for (int i = 0; i < length - k; i++) {
-                heap.removeMin();
-            }
-            for (int i = 0; i < k; i++) {
-                output.add(heap.removeMin());
+            // About four chunks per core, so a slow chunk does not hold up the rest.
+            int chunks = 4 * ForkJoinPool.getCommonPoolParallelism();
+            int chunkSize = Math.max(PARALLEL_THRESHOLD, (length + chunks - 1) / chunks);
+            for (Ranked<T> ranked : ForkJoinPool.commonPool().invoke(
+                    new TopKTask<>(k, input, 0, length, chunkSize))) {
+                output.add(ranked.item);
             }
         }
-        
         return output;
     }
+
+    /**
+     * Finds the top k elements of input[from, to) by splitting the range in half
+     * until it is at most chunkSize long. Returns them in ascending order.
+     */
+    private static class TopKTask<T extends Comparable<T>> extends RecursiveTask<Ranked<T>[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int k;
+        private final IntFunction<T> input;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        public TopKTask(int k, IntFunction<T> input, int from, int to, int chunkSize) {
+            this.k = k;
+            this.input = input;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Ranked<T>[] compute() {
+            if (to - from <= chunkSize) {
+                IPriorityQueue<Ranked<T>> heap = topK(k, new RangeIterator<>(input, from, to), from);
+                Ranked<T>[] top = makeArrayOfRanked(heap.size());
+                for (int i = 0; i < top.length; i++) {
+                    top[i] = heap.removeMin();
+                }
+                return top;
+            }
+            int middle = from + (to - from) / 2;
+            TopKTask<T> left = new TopKTask<>(k, input, from, middle, chunkSize);
+            TopKTask<T> right = new TopKTask<>(k, input, middle, to, chunkSize);
+            left.fork();
+            Ranked<T>[] rightTop = right.compute();
+            return mergeTops(left.join(), rightTop, k);
+        }
+    }
+
+    /**
+     * Returns the biggest k elements of two ascending arrays, in ascending order.
+     * Ranked elements never tie, so the result never depends on thread timing.
+     */
+    private static <T extends Comparable<T>> Ranked<T>[] mergeTops(Ranked<T>[] left, Ranked<T>[] right,
+                                                                   int k) {
+        Ranked<T>[] merged = makeArrayOfRanked(Math.min(k, left.length + right.length));
+        int i = left.length - 1;
+        int j = right.length - 1;
+        for (int pos = merged.length - 1; pos >= 0; pos--) {
+            if (j < 0 || (i >= 0 && left[i].compareTo(right[j]) > 0)) {
+                merged[pos] = left[i--];
+            } else {
+                merged[pos] = right[j--];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the top k of the first 'length' elements, in ascending order, by
+     * copying them and finding the k-th biggest with introselect.
+     *
+     * The copy loses track of which equal element came first, so the top k are then
+     * picked from the input itself: everything bigger than the k-th biggest, plus
+     * as many of the last elements equal to it as are needed. Arrays.parallelSort
+     * is stable, so equal elements stay in input order.
+     */
+    private static <T extends Comparable<T>> T[] selectTopK(int k, int length, IntFunction<T> input) {
+        T[] items = makeArrayOfT(length);
+        for (int i = 0; i < length; i++) {
+            items[i] = input.apply(i);
+            if (items[i] == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+        k = Math.min(k, length);
+        if (k == 0) {
+            return makeArrayOfT(0);
+        }
+        select(items, length - k);
+        T threshold = items[length - k];
+        int numEqual = 0;
+        int numBigger = 0;
+        for (int i = length - k; i < length; i++) {
+            int cmp = items[i].compareTo(threshold);
+            if (cmp == 0) {
+                numEqual++;
+            } else {
+                numBigger++;
+            }
+        }
+        for (int i = 0; i < length - k; i++) {
+            if (items[i].compareTo(threshold) == 0) {
+                numEqual++;
+            }
+        }
+
+        // Of the elements equal to the threshold, skip all but the last k - numBigger.
+        int equalToSkip = numEqual - (k - numBigger);
+        T[] top = makeArrayOfT(k);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            T item = input.apply(i);
+            int cmp = item.compareTo(threshold);
+            if (cmp > 0) {
+                top[size++] = item;
+            } else if (cmp == 0) {
+                if (equalToSkip > 0) {
+                    equalToSkip--;
+                } else {
+                    top[size++] = item;
+                }
+            }
+        }
+        Arrays.parallelSort(top);
+        return top;
+    }
+
+    /**
+     * Rearranges the array so that items[target] holds the element that would be
+     * there if the array were sorted, everything before it is no bigger, and
+     * everything after it is no smaller.
+     *
+     * Quickselect around a median-of-three pivot, with three-way partitioning so
+     * runs of equal elements cost nothing. If the ranges stop shrinking quickly
+     * (more than 2 log2(n) rounds), the rest is sorted instead, which bounds the
+     * worst case at O(n log n).
+     */
+    private static <T extends Comparable<T>> void select(T[] items, int target) {
+        int lo = 0;
+        int hi = items.length - 1;
+        int roundsLeft = 2 * (32 - Integer.numberOfLeadingZeros(items.length));
+        while (lo < hi) {
+            if (roundsLeft-- == 0) {
+                Arrays.sort(items, lo, hi + 1);
+                return;
+            }
+            T pivot = medianOfThree(items[lo], items[lo + (hi - lo) / 2], items[hi]);
+            // Invariant: [lo, lt) < pivot, [lt, i) == pivot, (gt, hi] > pivot.
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                int cmp = items[i].compareTo(pivot);
+                if (cmp < 0) {
+                    swap(items, lt++, i++);
+                } else if (cmp > 0) {
+                    swap(items, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (target < lt) {
+                hi = lt - 1;
+            } else if (target > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static <T extends Comparable<T>> T medianOfThree(T a, T b, T c) {
+        if (a.compareTo(b) > 0) {
+            T temp = a;
+            a = b;
+            b = temp;
+        }
+        if (b.compareTo(c) <= 0) {
+            return b;
+        }
+        return a.compareTo(c) >= 0 ? a : c;
+    }
+
+    private static <T> void swap(T[] items, int i, int j) {
+        T temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    /**
+     * Returns a new, empty array of the given size that can contain elements of
+     * type T. See ArrayHeap's makeArrayOfT(...) method for why we need it.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> T[] makeArrayOfT(int size) {
+        return (T[]) new Comparable[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> Ranked<T>[] makeArrayOfRanked(int size) {
+        return (Ranked<T>[]) new Ranked<?>[size];
+    }
+
+    /**
+     * Iterates over input[from, to) without copying it.
+     */
+    private static class RangeIterator<T> implements Iterator<T> {
+        private final IntFunction<T> input;
+        private int next;
+        private final int to;
+
+        public RangeIterator(IntFunction<T> input, int from, int to) {
+            this.input = input;
+            this.next = from;
+            this.to = to;
+        }
+
+        public boolean hasNext() {
+            return next < to;
+        }
+
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return input.apply(next++);
+        }
+    }
 }
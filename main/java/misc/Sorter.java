@@ -0,0 +1,744 @@
+package misc;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts whole inputs in place in arrays, where Searcher.topKSort with k = n would
+ * push every element through a heap and a linked list.
+ *
+ * - sort(T[]) is a stable, adaptive merge sort in the style of TimSort: it finds
+ *   the runs already in order (reversing descending ones), extends short runs with
+ *   binary insertion sort, and merges neighbouring runs of similar length. Sorted,
+ *   reversed, and mostly sorted inputs take close to O(n) time; anything else takes
+ *   O(n log n).
+ * - sort(int[]) and sort(double[]) are a dual-pivot quicksort, which makes fewer
+ *   passes over memory than a single-pivot one. Like introsort, they switch to heap
+ *   sort if partitioning goes badly, so they never take more than O(n log n) time.
+ * - parallelSort(T[]) is a stable sample sort: it splits the array into buckets
+ *   around splitters picked from a random sample, then merge sorts the buckets on
+ *   the common fork-join pool.
+ */
+public class Sorter {
+    // Runs shorter than this are extended to about this length with insertion sort,
+    // and ranges shorter than this are sorted with insertion sort outright.
+    private static final int MIN_RUN = 32;
+    // The quicksorts hand ranges shorter than this to insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 40;
+    // parallelSort sorts arrays shorter than this with sort, and never makes a bucket
+    // that is expected to be shorter than this.
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    // parallelSort samples this many elements per bucket to pick the splitters.
+    private static final int OVERSAMPLING = 32;
+    // The most buckets parallelSort uses, so a bucket number fits in a byte.
+    private static final int MAX_BUCKETS = 256;
+
+    /**
+     * Returns a new list holding the input's elements in sorted order. Equal elements
+     * keep their relative order. This method does not modify the input list.
+     *
+     * @throws IllegalArgumentException  if the input list contains null
+     */
+    public static <T extends Comparable<T>> IList<T> sort(IList<T> input) {
+        T[] items = makeArrayOfT(input.size());
+        int i = 0;
+        for (T item : input) {
+            items[i++] = item;
+        }
+        sort(items);
+        IList<T> output = new DoubleLinkedList<>();
+        for (T item : items) {
+            output.add(item);
+        }
+        return output;
+    }
+
+    /**
+     * Sorts the array. Equal elements keep their relative order.
+     *
+     * @throws IllegalArgumentException  if the array contains null
+     */
+    public static <T extends Comparable<T>> void sort(T[] items) {
+        checkForNull(items);
+        mergeSort(items, 0, items.length);
+    }
+
+    /**
+     * Sorts the array using every core, with the same result as sort(T[]).
+     *
+     * @throws IllegalArgumentException  if the array contains null
+     */
+    public static <T extends Comparable<T>> void parallelSort(T[] items) {
+        checkForNull(items);
+        int length = items.length;
+        // Several buckets per core, so an unlucky split does not leave cores idle.
+        int numBuckets = Math.min(Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), MAX_BUCKETS),
+                length / PARALLEL_THRESHOLD);
+        if (numBuckets < 2) {
+            mergeSort(items, 0, length);
+            return;
+        }
+
+        // An element goes in the bucket numbered by how many splitters are smaller
+        // than it, so equal elements always share a bucket.
+        T[] splitters = pickSplitters(items, numBuckets);
+        byte[] bucketOf = new byte[length];
+        int[][] counts = new int[numBuckets][numBuckets];
+        IntStream.range(0, numBuckets).parallel().forEach(chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = chunkStart(length, numBuckets, chunk); i < chunkStart(length, numBuckets, chunk + 1); i++) {
+                int bucket = lowerBound(splitters, items[i], 0, splitters.length);
+                bucketOf[i] = (byte) bucket;
+                chunkCounts[bucket]++;
+            }
+        });
+
+        // Within a bucket, each chunk's elements go after those of the chunks before
+        // it, so the buckets come out in the same relative order as the input.
+        int[][] next = new int[numBuckets][numBuckets];
+        int[] bucketStart = new int[numBuckets + 1];
+        int position = 0;
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            bucketStart[bucket] = position;
+            for (int chunk = 0; chunk < numBuckets; chunk++) {
+                next[chunk][bucket] = position;
+                position += counts[chunk][bucket];
+            }
+        }
+        bucketStart[numBuckets] = length;
+
+        T[] buckets = makeArrayOfT(length);
+        IntStream.range(0, numBuckets).parallel().forEach(chunk -> {
+            int[] chunkNext = next[chunk];
+            for (int i = chunkStart(length, numBuckets, chunk); i < chunkStart(length, numBuckets, chunk + 1); i++) {
+                buckets[chunkNext[bucketOf[i] & 0xff]++] = items[i];
+            }
+        });
+        IntStream.range(0, numBuckets).parallel().forEach(bucket -> {
+            int from = bucketStart[bucket];
+            int to = bucketStart[bucket + 1];
+            mergeSort(buckets, from, to);
+            System.arraycopy(buckets, from, items, from, to - from);
+        });
+    }
+
+    private static int chunkStart(int length, int numChunks, int chunk) {
+        return (int) ((long) length * chunk / numChunks);
+    }
+
+    /**
+     * Returns numBuckets - 1 splitters, in ascending order, that should cut the array
+     * into buckets of about the same size.
+     */
+    private static <T extends Comparable<T>> T[] pickSplitters(T[] items, int numBuckets) {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        T[] sample = makeArrayOfT(numBuckets * OVERSAMPLING);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = items[rand.nextInt(items.length)];
+        }
+        mergeSort(sample, 0, sample.length);
+        T[] splitters = makeArrayOfT(numBuckets - 1);
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+        return splitters;
+    }
+
+    private static <T> void checkForNull(T[] items) {
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+
+    /**
+     * Sorts items[from, to) stably.
+     */
+    private static <T extends Comparable<T>> void mergeSort(T[] items, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        if (to - from < MIN_RUN) {
+            insertionSort(items, from, to, from + findRun(items, from, to));
+            return;
+        }
+        new RunMerger<>(items).sort(from, to);
+    }
+
+    /**
+     * Returns the length of the run that starts at items[from]: the longest stretch
+     * that is either ascending, or strictly descending. A descending run is reversed
+     * in place, which keeps the sort stable because it has no equal elements.
+     */
+    private static <T extends Comparable<T>> int findRun(T[] items, int from, int to) {
+        int end = from + 1;
+        if (end == to) {
+            return 1;
+        }
+        if (items[end++].compareTo(items[from]) < 0) {
+            while (end < to && items[end].compareTo(items[end - 1]) < 0) {
+                end++;
+            }
+            for (int lo = from, hi = end - 1; lo < hi; lo++, hi--) {
+                T temp = items[lo];
+                items[lo] = items[hi];
+                items[hi] = temp;
+            }
+        } else {
+            while (end < to && items[end].compareTo(items[end - 1]) >= 0) {
+                end++;
+            }
+        }
+        return end - from;
+    }
+
+    /**
+     * Sorts items[from, to), given that items[from, sortedEnd) is already sorted, by
+     * inserting the rest one at a time after a binary search for their place.
+     */
+    private static <T extends Comparable<T>> void insertionSort(T[] items, int from, int to, int sortedEnd) {
+        for (int i = sortedEnd; i < to; i++) {
+            T item = items[i];
+            int place = upperBound(items, item, from, i);
+            System.arraycopy(items, place, items, place + 1, i - place);
+            items[place] = item;
+        }
+    }
+
+    /**
+     * Returns the first index in the sorted range items[from, to) whose element is
+     * bigger than the key, or 'to' if there is none.
+     */
+    private static <T extends Comparable<T>> int upperBound(T[] items, T key, int from, int to) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (key.compareTo(items[middle]) < 0) {
+                to = middle;
+            } else {
+                from = middle + 1;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Returns the first index in the sorted range items[from, to) whose element is at
+     * least the key, or 'to' if there is none.
+     */
+    private static <T extends Comparable<T>> int lowerBound(T[] items, T key, int from, int to) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (items[middle].compareTo(key) < 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * The state of one merge sort: the runs found so far that are still waiting to
+     * be merged, and a buffer for merging.
+     */
+    private static class RunMerger<T extends Comparable<T>> {
+        private final T[] items;
+        private T[] buffer;
+        // The pending runs, left to right. Merging keeps every run longer than the
+        // two after it put together (see collapse), so run lengths grow at least as
+        // fast as the Fibonacci numbers going down the stack, and 64 entries are
+        // enough for any array.
+        private final int[] runStart;
+        private final int[] runLength;
+        private int numRuns;
+
+        public RunMerger(T[] items) {
+            this.items = items;
+            this.buffer = makeArrayOfT(0);
+            this.runStart = new int[64];
+            this.runLength = new int[64];
+            this.numRuns = 0;
+        }
+
+        public void sort(int from, int to) {
+            int minRun = minRunLength(to - from);
+            int start = from;
+            while (start < to) {
+                int end = start + findRun(items, start, to);
+                if (end - start < minRun) {
+                    int forced = Math.min(to, start + minRun);
+                    insertionSort(items, start, forced, end);
+                    end = forced;
+                }
+                runStart[numRuns] = start;
+                runLength[numRuns] = end - start;
+                numRuns++;
+                collapse();
+                start = end;
+            }
+            while (numRuns > 1) {
+                int n = numRuns - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Returns a run length between MIN_RUN / 2 and MIN_RUN such that the length
+         * divided by it is a power of two or just under one, so the final merges are
+         * between runs of about the same length.
+         */
+        private int minRunLength(int length) {
+            int lowBits = 0;
+            while (length >= MIN_RUN) {
+                lowBits |= length & 1;
+                length >>= 1;
+            }
+            return length + lowBits;
+        }
+
+        /**
+         * Merges runs until, for the top few runs on the stack, each is longer than
+         * the two after it put together and longer than the one after it. Checking
+         * the top four runs, not just the top three, is what makes the invariant hold
+         * all the way down the stack.
+         */
+        private void collapse() {
+            while (numRuns > 1) {
+                int n = numRuns - 2;
+                if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                        || (n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n])) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges run n with run n + 1.
+         */
+        private void mergeAt(int n) {
+            int start1 = runStart[n];
+            int length1 = runLength[n];
+            int start2 = runStart[n + 1];
+            int length2 = runLength[n + 1];
+            runLength[n] = length1 + length2;
+            if (n == numRuns - 3) {
+                runStart[n + 1] = runStart[n + 2];
+                runLength[n + 1] = runLength[n + 2];
+            }
+            numRuns--;
+
+            // The first run's elements no bigger than the second run's first, and the
+            // second run's elements no smaller than the first run's last, are already
+            // where they belong.
+            int skip = upperBound(items, items[start2], start1, start2);
+            length1 -= skip - start1;
+            start1 = skip;
+            if (length1 == 0) {
+                return;
+            }
+            length2 = lowerBound(items, items[start2 - 1], start2, start2 + length2) - start2;
+            if (length2 == 0) {
+                return;
+            }
+            if (length1 <= length2) {
+                mergeLow(start1, length1, start2, length2);
+            } else {
+                mergeHigh(start1, length1, start2, length2);
+            }
+        }
+
+        /**
+         * Merges front to back, with the first (shorter) run moved to the buffer.
+         */
+        private void mergeLow(int start1, int length1, int start2, int length2) {
+            ensureBuffer(length1);
+            System.arraycopy(items, start1, buffer, 0, length1);
+            int i = 0;
+            int j = start2;
+            int end2 = start2 + length2;
+            int dest = start1;
+            while (i < length1 && j < end2) {
+                // Ties go to the first run, which keeps the sort stable.
+                if (items[j].compareTo(buffer[i]) < 0) {
+                    items[dest++] = items[j++];
+                } else {
+                    items[dest++] = buffer[i++];
+                }
+            }
+            System.arraycopy(buffer, i, items, dest, length1 - i);
+        }
+
+        /**
+         * Merges back to front, with the second (shorter) run moved to the buffer.
+         */
+        private void mergeHigh(int start1, int length1, int start2, int length2) {
+            ensureBuffer(length2);
+            System.arraycopy(items, start2, buffer, 0, length2);
+            int i = start1 + length1 - 1;
+            int j = length2 - 1;
+            int dest = start2 + length2 - 1;
+            while (i >= start1 && j >= 0) {
+                // Ties go to the second run, which keeps the sort stable.
+                if (buffer[j].compareTo(items[i]) < 0) {
+                    items[dest--] = items[i--];
+                } else {
+                    items[dest--] = buffer[j--];
+                }
+            }
+            System.arraycopy(buffer, 0, items, start1, j + 1);
+        }
+
+        private void ensureBuffer(int size) {
+            if (buffer.length < size) {
+                buffer = makeArrayOfT(Math.max(size, Math.min(2 * buffer.length, items.length / 2)));
+            }
+        }
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     */
+    public static void sort(int[] items) {
+        quicksort(items, 0, items.length - 1, depthLimit(items.length));
+    }
+
+    /**
+     * Sorts the array in the order of Double.compare: -0.0 comes before 0.0, and NaN
+     * comes after everything else, including positive infinity.
+     */
+    public static void sort(double[] items) {
+        // Move the NaNs to the end, out of the way of the comparisons below.
+        int end = items.length;
+        for (int i = end - 1; i >= 0; i--) {
+            if (Double.isNaN(items[i])) {
+                double nan = items[i];
+                items[i] = items[--end];
+                items[end] = nan;
+            }
+        }
+        quicksort(items, 0, end - 1, depthLimit(end));
+
+        // The quicksort treats -0.0 and 0.0 as equal, so they may be mixed up.
+        int zeros = end;
+        int lo = 0;
+        while (lo < zeros) {
+            int middle = (lo + zeros) >>> 1;
+            if (items[middle] < 0.0) {
+                lo = middle + 1;
+            } else {
+                zeros = middle;
+            }
+        }
+        int negativeZeros = 0;
+        int afterZeros = zeros;
+        while (afterZeros < end && items[afterZeros] == 0.0) {
+            if (Double.doubleToRawLongBits(items[afterZeros]) < 0) {
+                negativeZeros++;
+            }
+            afterZeros++;
+        }
+        for (int i = zeros; i < afterZeros; i++) {
+            items[i] = i < zeros + negativeZeros ? -0.0 : 0.0;
+        }
+    }
+
+    /**
+     * Returns how many rounds of partitioning a quicksort of the given length may take
+     * before it gives up and heap sorts instead.
+     */
+    private static int depthLimit(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    /**
+     * Sorts items[left, right] (inclusive) with a dual-pivot quicksort: two pivots
+     * split the range into the elements below the first, those between the two, and
+     * those above the second.
+     */
+    private static void quicksort(int[] items, int left, int right, int depth) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(items, left, right);
+                return;
+            }
+            int span = right - left;
+            // The pivots are the second and fourth of five evenly spaced samples.
+            int step = (right - left) >> 3;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - step;
+            int e1 = e2 - step;
+            int e4 = e3 + step;
+            int e5 = e4 + step;
+            sortFive(items, e1, e2, e3, e4, e5);
+            swap(items, left, e2);
+            swap(items, right, e4);
+            int pivot1 = items[left];
+            int pivot2 = items[right];
+
+            // Invariant: [left + 1, less) < pivot1, [less, k) is between the pivots,
+            // and (great, right - 1] > pivot2.
+            int less = left + 1;
+            int great = right - 1;
+            for (int k = less; k <= great; k++) {
+                int item = items[k];
+                if (item < pivot1) {
+                    items[k] = items[less];
+                    items[less++] = item;
+                } else if (item > pivot2) {
+                    while (items[great] > pivot2 && k < great) {
+                        great--;
+                    }
+                    items[k] = items[great];
+                    items[great--] = item;
+                    item = items[k];
+                    if (item < pivot1) {
+                        items[k] = items[less];
+                        items[less++] = item;
+                    }
+                }
+            }
+            less--;
+            great++;
+            items[left] = items[less];
+            items[less] = pivot1;
+            items[right] = items[great];
+            items[great] = pivot2;
+
+            quicksort(items, left, less - 1, depth);
+            quicksort(items, great + 1, right, depth);
+            if (pivot1 == pivot2) {
+                return;
+            }
+            left = less + 1;
+            right = great - 1;
+            // If most of the range fell between the pivots, copies of them are likely
+            // to be why: move those out of the way, since they are already in place.
+            if (right - left > span / 2) {
+                for (int k = left; k <= right; k++) {
+                    int item = items[k];
+                    if (item == pivot1) {
+                        items[k] = items[left];
+                        items[left++] = item;
+                    } else if (item == pivot2) {
+                        while (items[right] == pivot2 && k < right) {
+                            right--;
+                        }
+                        items[k] = items[right];
+                        items[right--] = item;
+                        item = items[k];
+                        if (item == pivot1) {
+                            items[k] = items[left];
+                            items[left++] = item;
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            int item = items[i];
+            int j = i - 1;
+            while (j >= left && items[j] > item) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = item;
+        }
+    }
+
+    private static void sortFive(int[] items, int e1, int e2, int e3, int e4, int e5) {
+        int[] at = {e1, e2, e3, e4, e5};
+        for (int i = 1; i < at.length; i++) {
+            for (int j = i; j > 0 && items[at[j]] < items[at[j - 1]]; j--) {
+                swap(items, at[j], at[j - 1]);
+            }
+        }
+    }
+
+    private static void swap(int[] items, int i, int j) {
+        int temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    /**
+     * Sorts items[left, right] (inclusive) with a binary max-heap built in place.
+     */
+    private static void heapSort(int[] items, int left, int right) {
+        int length = right - left + 1;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(items, left, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(items, left, left + end);
+            siftDown(items, left, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] items, int base, int ind, int length) {
+        int item = items[base + ind];
+        while (2 * ind + 1 < length) {
+            int child = 2 * ind + 1;
+            if (child + 1 < length && items[base + child + 1] > items[base + child]) {
+                child++;
+            }
+            if (items[base + child] <= item) {
+                break;
+            }
+            items[base + ind] = items[base + child];
+            ind = child;
+        }
+        items[base + ind] = item;
+    }
+
+    /**
+     * The same as quicksort(int[], ...), for doubles other than NaN.
+     */
+    private static void quicksort(double[] items, int left, int right, int depth) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(items, left, right);
+                return;
+            }
+            int span = right - left;
+            int step = (right - left) >> 3;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - step;
+            int e1 = e2 - step;
+            int e4 = e3 + step;
+            int e5 = e4 + step;
+            sortFive(items, e1, e2, e3, e4, e5);
+            swap(items, left, e2);
+            swap(items, right, e4);
+            double pivot1 = items[left];
+            double pivot2 = items[right];
+
+            int less = left + 1;
+            int great = right - 1;
+            for (int k = less; k <= great; k++) {
+                double item = items[k];
+                if (item < pivot1) {
+                    items[k] = items[less];
+                    items[less++] = item;
+                } else if (item > pivot2) {
+                    while (items[great] > pivot2 && k < great) {
+                        great--;
+                    }
+                    items[k] = items[great];
+                    items[great--] = item;
+                    item = items[k];
+                    if (item < pivot1) {
+                        items[k] = items[less];
+                        items[less++] = item;
+                    }
+                }
+            }
+            less--;
+            great++;
+            items[left] = items[less];
+            items[less] = pivot1;
+            items[right] = items[great];
+            items[great] = pivot2;
+
+            quicksort(items, left, less - 1, depth);
+            quicksort(items, great + 1, right, depth);
+            if (pivot1 == pivot2) {
+                return;
+            }
+            left = less + 1;
+            right = great - 1;
+            if (right - left > span / 2) {
+                for (int k = left; k <= right; k++) {
+                    double item = items[k];
+                    if (item == pivot1) {
+                        items[k] = items[left];
+                        items[left++] = item;
+                    } else if (item == pivot2) {
+                        while (items[right] == pivot2 && k < right) {
+                            right--;
+                        }
+                        items[k] = items[right];
+                        items[right--] = item;
+                        item = items[k];
+                        if (item == pivot1) {
+                            items[k] = items[left];
+                            items[left++] = item;
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            double item = items[i];
+            int j = i - 1;
+            while (j >= left && items[j] > item) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = item;
+        }
+    }
+
+    private static void sortFive(double[] items, int e1, int e2, int e3, int e4, int e5) {
+        int[] at = {e1, e2, e3, e4, e5};
+        for (int i = 1; i < at.length; i++) {
+            for (int j = i; j > 0 && items[at[j]] < items[at[j - 1]]; j--) {
+                swap(items, at[j], at[j - 1]);
+            }
+        }
+    }
+
+    private static void swap(double[] items, int i, int j) {
+        double temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    private static void heapSort(double[] items, int left, int right) {
+        int length = right - left + 1;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(items, left, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(items, left, left + end);
+            siftDown(items, left, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] items, int base, int ind, int length) {
+        double item = items[base + ind];
+        while (2 * ind + 1 < length) {
+            int child = 2 * ind + 1;
+            if (child + 1 < length && items[base + child + 1] > items[base + child]) {
+                child++;
+            }
+            if (items[base + child] <= item) {
+                break;
+            }
+            items[base + ind] = items[base + child];
+            ind = child;
+        }
+        items[base + ind] = item;
+    }
+
+    /**
+     * Returns a new, empty array of the given size that can contain elements of
+     * type T. See ArrayHeap's makeArrayOfT(...) method for why we need it.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> T[] makeArrayOfT(int size) {
+        return (T[]) new Comparable[size];
+    }
+}
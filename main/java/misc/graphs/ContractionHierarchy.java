@@ -0,0 +1,625 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoPathExistsException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A contraction hierarchy over a graph, built once by Graph.buildContractionHierarchy
+ * and then used to answer many shortest path queries quickly.
+ *
+ * Preprocessing removes ("contracts") the vertices one at a time, least important
+ * first. Whenever removing a vertex would break the only shortest path between two
+ * of its neighbours, a shortcut edge standing for that two-edge path is added
+ * between them. Each vertex's rank is the order it was contracted in.
+ *
+ * Every shortest path then has a version that only climbs in rank from the start,
+ * and only climbs in rank from the end, until the two halves meet. A query searches
+ * upward from both ends at once, so it touches a tiny part of the graph, and then
+ * unpacks the shortcuts on the path back into the original edges.
+ *
+ * Queries reuse scratch arrays sized to the graph, so they are synchronized: the
+ * hierarchy may be shared between threads, but answers one query at a time.
+ */
+public class ContractionHierarchy<V, E extends Edge<V>> {
+    // A witness search gives up after settling this many vertices and adds the
+    // shortcut anyway. An unnecessary shortcut costs a little memory and query
+    // time; it never makes an answer wrong.
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final CsrGraph<V, E> graph;
+
+    // Arcs 0 through graph.numEdges() - 1 are the original edges, with the same ids.
+    // The rest are shortcuts: shortcut 'a' runs from arcVertex1[a] through
+    // arcMiddle[a] to arcVertex2[a], and stands for arc arcChild1[a] (which touches
+    // arcVertex1[a]) followed by arc arcChild2[a] (which touches arcVertex2[a]).
+    private int[] arcVertex1;
+    private int[] arcVertex2;
+    private int[] arcMiddle;
+    private int[] arcChild1;
+    private int[] arcChild2;
+    private double[] arcWeight;
+    private int numArcs;
+    // Arcs a cheaper shortcut replaced during the build. Shortcuts built before that
+    // may still unpack into them, but queries never need to follow them.
+    private BitSet superseded;
+
+    private final int[] rank;
+
+    // The arcs leading from each vertex to a vertex of higher rank, in CSR form.
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upArcs;
+    private final double[] upWeights;
+
+    // Query scratch space. Between queries every cost is infinite and both queues
+    // are empty; touched lists the vertices each side reached, so resetting costs
+    // time proportional to the search, not to the graph.
+    private final double[] forwardCosts;
+    private final double[] backwardCosts;
+    private final int[] forwardBackArc;
+    private final int[] backwardBackArc;
+    private final int[] forwardTouched;
+    private final int[] backwardTouched;
+    private final VertexQueue forwardQueue;
+    private final VertexQueue backwardQueue;
+
+    /**
+     * Contracts every vertex of the given graph. This takes a while: the last few
+     * vertices to go have many neighbours each, so the time grows faster than the
+     * graph does.
+     */
+    ContractionHierarchy(CsrGraph<V, E> graph) {
+        this.graph = graph;
+        int numVertices = graph.numVertices();
+        int numEdges = graph.numEdges();
+        int capacity = Math.max(16, numEdges * 2);
+        arcVertex1 = Arrays.copyOf(graph.edgeVertex1, capacity);
+        arcVertex2 = Arrays.copyOf(graph.edgeVertex2, capacity);
+        arcMiddle = new int[capacity];
+        arcChild1 = new int[capacity];
+        arcChild2 = new int[capacity];
+        arcWeight = Arrays.copyOf(graph.weights, capacity);
+        Arrays.fill(arcMiddle, 0, numEdges, -1);
+        numArcs = numEdges;
+        superseded = new BitSet();
+
+        rank = new Contraction().run();
+
+        // Point every arc from its lower-ranked end to its higher-ranked end.
+        upOffsets = new int[numVertices + 1];
+        for (int a = 0; a < numArcs; a++) {
+            if (arcVertex1[a] != arcVertex2[a] && !superseded.get(a)) {
+                upOffsets[lower(a) + 1]++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+        }
+        upTargets = new int[upOffsets[numVertices]];
+        upArcs = new int[upOffsets[numVertices]];
+        upWeights = new double[upOffsets[numVertices]];
+        int[] fill = new int[numVertices];
+        for (int a = 0; a < numArcs; a++) {
+            if (arcVertex1[a] != arcVertex2[a] && !superseded.get(a)) {
+                int low = lower(a);
+                int slot = upOffsets[low] + fill[low]++;
+                upTargets[slot] = low == arcVertex1[a] ? arcVertex2[a] : arcVertex1[a];
+                upArcs[slot] = a;
+                upWeights[slot] = arcWeight[a];
+            }
+        }
+
+        // The build arrays were grown with room to spare; the query only needs this much.
+        arcVertex1 = Arrays.copyOf(arcVertex1, numArcs);
+        arcVertex2 = Arrays.copyOf(arcVertex2, numArcs);
+        arcMiddle = Arrays.copyOf(arcMiddle, numArcs);
+        arcChild1 = Arrays.copyOf(arcChild1, numArcs);
+        arcChild2 = Arrays.copyOf(arcChild2, numArcs);
+        arcWeight = null;
+        superseded = null;
+
+        forwardCosts = new double[numVertices];
+        backwardCosts = new double[numVertices];
+        Arrays.fill(forwardCosts, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardCosts, Double.POSITIVE_INFINITY);
+        forwardBackArc = new int[numVertices];
+        backwardBackArc = new int[numVertices];
+        forwardTouched = new int[numVertices];
+        backwardTouched = new int[numVertices];
+        forwardQueue = new VertexQueue(numVertices);
+        backwardQueue = new VertexQueue(numVertices);
+    }
+
+    private int lower(int arc) {
+        int v1 = arcVertex1[arc];
+        int v2 = arcVertex2[arc];
+        return rank[v1] < rank[v2] ? v1 : v2;
+    }
+
+    /**
+     * Returns the number of shortcut edges preprocessing added.
+     */
+    public int numShortcuts() {
+        return numArcs - graph.numEdges();
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * with the same contract as Graph.findShortestPathBetween.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end) {
+        return findShortestPath(start, end).getPath();
+    }
+
+    /**
+     * Returns the shortest path from the start to the end, along with the number of
+     * vertices the two upward searches expanded between them.
+     *
+     * The path is empty if the start and end vertices are the same.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public synchronized SearchResult<E> findShortestPath(V start, V end) {
+        if (start.equals(end)) {
+            return new SearchResult<>(new DoubleLinkedList<E>(), 0.0, 0);
+        }
+        int source = graph.idOf(start);
+        int target = graph.idOf(end);
+        if (source == -1 || target == -1) {
+            throw new NoPathExistsException();
+        }
+
+        int numForward = 1;
+        int numBackward = 1;
+        forwardTouched[0] = source;
+        backwardTouched[0] = target;
+        forwardCosts[source] = 0.0;
+        backwardCosts[target] = 0.0;
+        forwardBackArc[source] = -1;
+        backwardBackArc[target] = -1;
+        forwardQueue.insertOrDecrease(source, 0.0);
+        backwardQueue.insertOrDecrease(target, 0.0);
+
+        // Unlike plain bidirectional Dijkstra, the first meeting is not necessarily
+        // the best one: each side keeps going until its frontier alone costs more
+        // than the best path found.
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        int expanded = 0;
+        while (true) {
+            boolean forwardLive = !forwardQueue.isEmpty() && forwardQueue.peekMinKey() < best;
+            boolean backwardLive = !backwardQueue.isEmpty() && backwardQueue.peekMinKey() < best;
+            if (!forwardLive && !backwardLive) {
+                break;
+            }
+            boolean fromStart = forwardLive
+                    && (!backwardLive || forwardQueue.peekMinKey() <= backwardQueue.peekMinKey());
+            VertexQueue queue = fromStart ? forwardQueue : backwardQueue;
+            double[] costs = fromStart ? forwardCosts : backwardCosts;
+            double[] otherCosts = fromStart ? backwardCosts : forwardCosts;
+            int[] backArc = fromStart ? forwardBackArc : backwardBackArc;
+            int[] touched = fromStart ? forwardTouched : backwardTouched;
+
+            int next = queue.removeMin();
+            expanded++;
+            if (costs[next] + otherCosts[next] < best) {
+                best = costs[next] + otherCosts[next];
+                meet = next;
+            }
+            if (isStalled(next, costs)) {
+                continue;
+            }
+            for (int i = upOffsets[next]; i < upOffsets[next + 1]; i++) {
+                int other = upTargets[i];
+                double cost = costs[next] + upWeights[i];
+                if (cost < costs[other]) {
+                    if (costs[other] == Double.POSITIVE_INFINITY) {
+                        if (fromStart) {
+                            touched[numForward++] = other;
+                        } else {
+                            touched[numBackward++] = other;
+                        }
+                    }
+                    costs[other] = cost;
+                    backArc[other] = upArcs[i];
+                    queue.insertOrDecrease(other, cost);
+                }
+            }
+        }
+
+        IList<E> path = null;
+        if (meet != -1) {
+            // Collect the forward arcs from the meeting point back to the start, then
+            // unpack them start-first; the backward arcs already run toward the end.
+            int[] arcs = new int[16];
+            int numArcsOnPath = 0;
+            for (int look = meet; look != source; look = otherEnd(forwardBackArc[look], look)) {
+                if (numArcsOnPath == arcs.length) {
+                    arcs = Arrays.copyOf(arcs, arcs.length * 2);
+                }
+                arcs[numArcsOnPath++] = forwardBackArc[look];
+            }
+            path = new DoubleLinkedList<>();
+            int look = source;
+            for (int i = numArcsOnPath - 1; i >= 0; i--) {
+                unpack(arcs[i], look, path);
+                look = otherEnd(arcs[i], look);
+            }
+            for (look = meet; look != target; look = otherEnd(backwardBackArc[look], look)) {
+                unpack(backwardBackArc[look], look, path);
+            }
+        }
+
+        for (int i = 0; i < numForward; i++) {
+            forwardCosts[forwardTouched[i]] = Double.POSITIVE_INFINITY;
+        }
+        for (int i = 0; i < numBackward; i++) {
+            backwardCosts[backwardTouched[i]] = Double.POSITIVE_INFINITY;
+        }
+        while (!forwardQueue.isEmpty()) {
+            forwardQueue.removeMin();
+        }
+        while (!backwardQueue.isEmpty()) {
+            backwardQueue.removeMin();
+        }
+
+        if (path == null) {
+            throw new NoPathExistsException();
+        }
+        return new SearchResult<>(path, best, expanded);
+    }
+
+    /**
+     * Returns 'true' if some higher-ranked neighbour the search has already reached
+     * offers a cheaper way to v than the one found. Then v's cost is too high to be
+     * its real distance, and the search need not go on from it ("stall-on-demand").
+     *
+     * The graph is undirected, so the arcs from v up to its higher-ranked neighbours
+     * are also the arcs those neighbours would come back down by.
+     */
+    private boolean isStalled(int v, double[] costs) {
+        for (int i = upOffsets[v]; i < upOffsets[v + 1]; i++) {
+            if (costs[upTargets[i]] + upWeights[i] < costs[v]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int otherEnd(int arc, int vertex) {
+        return arcVertex1[arc] == vertex ? arcVertex2[arc] : arcVertex1[arc];
+    }
+
+    /**
+     * Appends the original edges the arc stands for to the path, walking the arc
+     * from the given end.
+     */
+    private void unpack(int arc, int from, IList<E> path) {
+        // An explicit stack of (arc, from) pairs; shortcuts can nest deeply.
+        int[] stack = new int[32];
+        int size = 0;
+        stack[size++] = arc;
+        stack[size++] = from;
+        while (size > 0) {
+            int start = stack[--size];
+            int next = stack[--size];
+            if (arcMiddle[next] == -1) {
+                path.add(graph.edges[next]);
+                continue;
+            }
+            int first = arcVertex1[next] == start ? arcChild1[next] : arcChild2[next];
+            int second = arcVertex1[next] == start ? arcChild2[next] : arcChild1[next];
+            if (size + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = second;
+            stack[size++] = arcMiddle[next];
+            stack[size++] = first;
+            stack[size++] = start;
+        }
+    }
+
+    /**
+     * The state that only exists while the hierarchy is being built.
+     */
+    private class Contraction {
+        private final boolean[] contracted;
+        // Both feed into a vertex's priority; see run().
+        private final int[] contractedNeighbours;
+        private final int[] levels;
+
+        // The arcs touching each uncontracted vertex whose other end is also still
+        // uncontracted: adjacentArcs[v][j] leads to adjacentVertices[v][j] and weighs
+        // adjacentWeights[v][j], for j < adjacencySize[v]. Keeping the other end and
+        // the weight inline keeps the witness searches out of the big arc arrays.
+        private final int[][] adjacentArcs;
+        private final int[][] adjacentVertices;
+        private final double[][] adjacentWeights;
+        private final int[] adjacencySize;
+
+        // The uncontracted neighbours of the vertex being looked at, the cheapest
+        // arc to each, and that arc's weight. slotOf[u] is u's index, or -1.
+        private int[] neighbours;
+        private int[] neighbourArcs;
+        private double[] neighbourWeights;
+        private int numNeighbours;
+        private final int[] slotOf;
+
+        // Witness search scratch space, reset after every search.
+        private final double[] witnessCosts;
+        private int[] witnessTouched;
+        private int numWitnessTouched;
+        private final VertexQueue witnessQueue;
+
+        public Contraction() {
+            int numVertices = graph.numVertices();
+            contracted = new boolean[numVertices];
+            contractedNeighbours = new int[numVertices];
+            levels = new int[numVertices];
+            adjacentArcs = new int[numVertices][];
+            adjacentVertices = new int[numVertices][];
+            adjacentWeights = new double[numVertices][];
+            adjacencySize = new int[numVertices];
+            for (int v = 0; v < numVertices; v++) {
+                int capacity = Math.max(4, graph.degree(v));
+                adjacentArcs[v] = new int[capacity];
+                adjacentVertices[v] = new int[capacity];
+                adjacentWeights[v] = new double[capacity];
+            }
+            for (int e = 0; e < graph.numEdges(); e++) {
+                int v1 = graph.edgeVertex1[e];
+                int v2 = graph.edgeVertex2[e];
+                if (v1 != v2) {
+                    addToAdjacency(v1, e, v2);
+                    addToAdjacency(v2, e, v1);
+                }
+            }
+
+            neighbours = new int[16];
+            neighbourArcs = new int[16];
+            neighbourWeights = new double[16];
+            slotOf = new int[numVertices];
+            Arrays.fill(slotOf, -1);
+            witnessCosts = new double[numVertices];
+            Arrays.fill(witnessCosts, Double.POSITIVE_INFINITY);
+            witnessTouched = new int[16];
+            witnessQueue = new VertexQueue(numVertices);
+        }
+
+        /**
+         * Contracts every vertex and returns the rank of each.
+         */
+        public int[] run() {
+            // A vertex's priority is twice the number of arcs contracting it would add
+            // minus the number it would remove, plus the number of neighbours already
+            // contracted and its level (one more than the highest level among them).
+            // The last two spread the contractions evenly over the graph, which keeps
+            // the hierarchy shallow. Priorities go stale as neighbours are contracted;
+            // a vertex is re-checked when it comes up, and put back if it is no longer
+            // the smallest.
+            int numVertices = graph.numVertices();
+            int[] ranks = new int[numVertices];
+            VertexQueue queue = new VertexQueue(numVertices);
+            for (int v = 0; v < numVertices; v++) {
+                queue.insertOrDecrease(v, priority(v));
+            }
+            int nextRank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.removeMin();
+                double priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.peekMinKey()) {
+                    queue.insertOrDecrease(v, priority);
+                    continue;
+                }
+                contract(v);
+                ranks[v] = nextRank++;
+            }
+            return ranks;
+        }
+
+        private double priority(int v) {
+            collectNeighbours(v);
+            int shortcuts = addShortcuts(v, false);
+            return 2 * (shortcuts - numNeighbours) + contractedNeighbours[v] + levels[v];
+        }
+
+        private void contract(int v) {
+            collectNeighbours(v);
+            addShortcuts(v, true);
+            contracted[v] = true;
+            for (int i = 0; i < numNeighbours; i++) {
+                int u = neighbours[i];
+                contractedNeighbours[u]++;
+                levels[u] = Math.max(levels[u], levels[v] + 1);
+                removeArcsBetween(u, v);
+            }
+            adjacentArcs[v] = null;
+            adjacentVertices[v] = null;
+            adjacentWeights[v] = null;
+        }
+
+        /**
+         * Fills in the neighbours of v, keeping only the cheapest of any parallel arcs.
+         */
+        private void collectNeighbours(int v) {
+            numNeighbours = 0;
+            int[] arcs = adjacentArcs[v];
+            int[] vertices = adjacentVertices[v];
+            double[] weights = adjacentWeights[v];
+            for (int j = 0; j < adjacencySize[v]; j++) {
+                int u = vertices[j];
+                int slot = slotOf[u];
+                if (slot == -1) {
+                    if (numNeighbours == neighbours.length) {
+                        neighbours = Arrays.copyOf(neighbours, numNeighbours * 2);
+                        neighbourArcs = Arrays.copyOf(neighbourArcs, numNeighbours * 2);
+                        neighbourWeights = Arrays.copyOf(neighbourWeights, numNeighbours * 2);
+                    }
+                    slotOf[u] = numNeighbours;
+                    neighbours[numNeighbours] = u;
+                    neighbourArcs[numNeighbours] = arcs[j];
+                    neighbourWeights[numNeighbours] = weights[j];
+                    numNeighbours++;
+                } else if (weights[j] < neighbourWeights[slot]) {
+                    neighbourArcs[slot] = arcs[j];
+                    neighbourWeights[slot] = weights[j];
+                }
+            }
+            for (int i = 0; i < numNeighbours; i++) {
+                slotOf[neighbours[i]] = -1;
+            }
+        }
+
+        /**
+         * Returns how many shortcuts contracting v needs, given the neighbours
+         * collected for it. Adds them too if 'add' is true.
+         */
+        private int addShortcuts(int v, boolean add) {
+            for (int i = 0; i < numNeighbours; i++) {
+                slotOf[neighbours[i]] = i;
+            }
+            // Each pair of neighbours is checked once, by a search from the first.
+            int count = 0;
+            for (int i = 0; i < numNeighbours - 1; i++) {
+                double farthest = 0.0;
+                for (int j = i + 1; j < numNeighbours; j++) {
+                    farthest = Math.max(farthest, neighbourWeights[j]);
+                }
+                int u = neighbours[i];
+                witnessSearch(u, v, neighbourWeights[i] + farthest, i + 1);
+                for (int j = i + 1; j < numNeighbours; j++) {
+                    double via = neighbourWeights[i] + neighbourWeights[j];
+                    if (witnessCosts[neighbours[j]] > via) {
+                        count++;
+                        if (add) {
+                            addShortcut(u, neighbours[j], v, neighbourArcs[i], neighbourArcs[j], via);
+                        }
+                    }
+                }
+                resetWitnessSearch();
+            }
+            for (int i = 0; i < numNeighbours; i++) {
+                slotOf[neighbours[i]] = -1;
+            }
+            return count;
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from 'source' over the uncontracted vertices
+         * other than 'skip', stopping past the given cost or settle limit, or once
+         * neighbours[firstTarget] onward have all been settled.
+         */
+        private void witnessSearch(int source, int skip, double limit, int firstTarget) {
+            touchWitness(source, 0.0);
+            witnessQueue.insertOrDecrease(source, 0.0);
+            int settled = 0;
+            int targetsLeft = numNeighbours - firstTarget;
+            while (!witnessQueue.isEmpty() && witnessQueue.peekMinKey() <= limit
+                    && settled < WITNESS_SETTLE_LIMIT) {
+                int next = witnessQueue.removeMin();
+                settled++;
+                if (slotOf[next] >= firstTarget && --targetsLeft == 0) {
+                    break;
+                }
+                int[] vertices = adjacentVertices[next];
+                double[] weights = adjacentWeights[next];
+                for (int j = 0; j < adjacencySize[next]; j++) {
+                    int other = vertices[j];
+                    double cost = witnessCosts[next] + weights[j];
+                    if (other != skip && cost < witnessCosts[other]) {
+                        touchWitness(other, cost);
+                        witnessQueue.insertOrDecrease(other, cost);
+                    }
+                }
+            }
+        }
+
+        private void touchWitness(int v, double cost) {
+            if (witnessCosts[v] == Double.POSITIVE_INFINITY) {
+                if (numWitnessTouched == witnessTouched.length) {
+                    witnessTouched = Arrays.copyOf(witnessTouched, numWitnessTouched * 2);
+                }
+                witnessTouched[numWitnessTouched++] = v;
+            }
+            witnessCosts[v] = cost;
+        }
+
+        private void resetWitnessSearch() {
+            for (int i = 0; i < numWitnessTouched; i++) {
+                witnessCosts[witnessTouched[i]] = Double.POSITIVE_INFINITY;
+            }
+            numWitnessTouched = 0;
+            while (!witnessQueue.isEmpty()) {
+                witnessQueue.removeMin();
+            }
+        }
+
+        private void addShortcut(int u, int w, int middle, int arcToU, int arcToW, double weight) {
+            if (numArcs == arcVertex1.length) {
+                int capacity = numArcs * 2;
+                arcVertex1 = Arrays.copyOf(arcVertex1, capacity);
+                arcVertex2 = Arrays.copyOf(arcVertex2, capacity);
+                arcMiddle = Arrays.copyOf(arcMiddle, capacity);
+                arcChild1 = Arrays.copyOf(arcChild1, capacity);
+                arcChild2 = Arrays.copyOf(arcChild2, capacity);
+                arcWeight = Arrays.copyOf(arcWeight, capacity);
+            }
+            arcVertex1[numArcs] = u;
+            arcVertex2[numArcs] = w;
+            arcMiddle[numArcs] = middle;
+            arcChild1[numArcs] = arcToU;
+            arcChild2[numArcs] = arcToW;
+            arcWeight[numArcs] = weight;
+            // Any arc already joining u and w must cost more, or the witness search
+            // would have found it. It can never be on a shortest path again.
+            for (int j = 0; j < adjacencySize[u]; j++) {
+                if (adjacentVertices[u][j] == w) {
+                    superseded.set(adjacentArcs[u][j]);
+                }
+            }
+            removeArcsBetween(u, w);
+            removeArcsBetween(w, u);
+            addToAdjacency(u, numArcs, w);
+            addToAdjacency(w, numArcs, u);
+            numArcs++;
+        }
+
+        /**
+         * Drops the arcs from v to 'other' out of v's adjacency.
+         */
+        private void removeArcsBetween(int v, int other) {
+            int[] arcs = adjacentArcs[v];
+            int[] vertices = adjacentVertices[v];
+            double[] weights = adjacentWeights[v];
+            int kept = 0;
+            for (int j = 0; j < adjacencySize[v]; j++) {
+                if (vertices[j] != other) {
+                    arcs[kept] = arcs[j];
+                    vertices[kept] = vertices[j];
+                    weights[kept] = weights[j];
+                    kept++;
+                }
+            }
+            adjacencySize[v] = kept;
+        }
+
+        private void addToAdjacency(int v, int arc, int other) {
+            int size = adjacencySize[v];
+            if (size == adjacentArcs[v].length) {
+                adjacentArcs[v] = Arrays.copyOf(adjacentArcs[v], size * 2);
+                adjacentVertices[v] = Arrays.copyOf(adjacentVertices[v], size * 2);
+                adjacentWeights[v] = Arrays.copyOf(adjacentWeights[v], size * 2);
+            }
+            adjacentArcs[v][size] = arc;
+            adjacentVertices[v][size] = other;
+            adjacentWeights[v][size] = arcWeight[arc];
+            adjacencySize[v] = size + 1;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package misc.graphs;
+
+import datastructures.concrete.dictionaries.RobinHoodHashDictionary;
+import datastructures.interfaces.IDictionary;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, undirected graph stored in compressed sparse row (CSR) form.
+ *
+ * Every vertex is given a dense id in [0, numVertices()), and every edge an id in
+ * [0, numEdges()), in the order they were added to the Builder. The neighbours of
+ * vertex 'v' sit in slots offset(v) through offset(v + 1) - 1: slot 'i' holds the
+ * vertex target(i) at the other end of edge edgeId(i). An edge appears in the slots
+ * of both of its endpoints, except for a self-loop, which appears once.
+ *
+ * Walking the neighbours of a vertex allocates nothing:
+ *
+ *     for (int i = graph.offset(v); i < graph.offset(v + 1); i++) {
+ *         int next = graph.target(i);
+ *         double weight = graph.weight(graph.edgeId(i));
+ *         ...
+ *     }
+ *
+ * Graph's algorithms all run over this representation.
+ */
+public class CsrGraph<V, E extends Edge<V>> {
+    // The fields below are package-private so that Graph and SpanningTrees can
+    // read the arrays directly in their inner loops. Nothing may modify them.
+    final IDictionary<V, Integer> vertexIds;
+    final V[] vertices;
+    final E[] edges;
+    final int[] edgeVertex1;
+    final int[] edgeVertex2;
+    final double[] weights;
+    final int[] offsets;
+    final int[] targets;
+    final int[] edgeIds;
+
+    private CsrGraph(Builder<V, E> builder) {
+        int numVerts = builder.numVertices;
+        int numEdges = builder.numEdges;
+        vertexIds = builder.vertexIds;
+        vertices = Arrays.copyOf(builder.vertices, numVerts);
+        edges = Arrays.copyOf(builder.edges, numEdges);
+        edgeVertex1 = Arrays.copyOf(builder.edgeVertex1, numEdges);
+        edgeVertex2 = Arrays.copyOf(builder.edgeVertex2, numEdges);
+        weights = new double[numEdges];
+        for (int e = 0; e < numEdges; e++) {
+            weights[e] = edges[e].getWeight();
+        }
+
+        // Prefix sums of the degrees give the start of each vertex's block of slots.
+        offsets = new int[numVerts + 1];
+        for (int e = 0; e < numEdges; e++) {
+            offsets[edgeVertex1[e] + 1]++;
+            if (edgeVertex1[e] != edgeVertex2[e]) {
+                offsets[edgeVertex2[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < numVerts; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        targets = new int[offsets[numVerts]];
+        edgeIds = new int[offsets[numVerts]];
+        int[] fill = new int[numVerts];
+        for (int e = 0; e < numEdges; e++) {
+            int v1 = edgeVertex1[e];
+            int v2 = edgeVertex2[e];
+            int slot = offsets[v1] + fill[v1]++;
+            targets[slot] = v2;
+            edgeIds[slot] = e;
+            if (v1 != v2) {
+                slot = offsets[v2] + fill[v2]++;
+                targets[slot] = v1;
+                edgeIds[slot] = e;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct vertices.
+     */
+    public int numVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the number of edges, counting every parallel edge and self-loop.
+     */
+    public int numEdges() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the id of the given vertex, or -1 if it is not in this graph.
+     */
+    public int idOf(V vertex) {
+        Integer id = vertexIds.getOrDefault(vertex, null);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the vertex with the given id.
+     *
+     * @throws IndexOutOfBoundsException  if id < 0 or id >= numVertices()
+     */
+    public V vertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Returns the edge with the given id.
+     *
+     * @throws IndexOutOfBoundsException  if id < 0 or id >= numEdges()
+     */
+    public E edge(int id) {
+        return edges[id];
+    }
+
+    /**
+     * Returns the id of the vertex returned by edge(id).getVertex1().
+     */
+    public int edgeVertex1(int id) {
+        return edgeVertex1[id];
+    }
+
+    /**
+     * Returns the id of the vertex returned by edge(id).getVertex2().
+     */
+    public int edgeVertex2(int id) {
+        return edgeVertex2[id];
+    }
+
+    /**
+     * Returns edge(id).getWeight(), as it was when the graph was built.
+     */
+    public double weight(int id) {
+        return weights[id];
+    }
+
+    /**
+     * Returns the first neighbour slot of vertex 'v'. offset(numVertices()) is the
+     * total number of slots, so offset(v + 1) is always the end of v's slots.
+     */
+    public int offset(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Returns the number of edges touching the given vertex, counting a self-loop once.
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Returns the id of the neighbour in the given slot.
+     */
+    public int target(int slot) {
+        return targets[slot];
+    }
+
+    /**
+     * Returns the id of the edge leading to the neighbour in the given slot.
+     */
+    public int edgeId(int slot) {
+        return edgeIds[slot];
+    }
+
+    /**
+     * Collects vertices and edges for a CsrGraph. Vertices must be added before any
+     * edge that touches them. A builder can only build one graph.
+     */
+    public static class Builder<V, E extends Edge<V>> {
+        private IDictionary<V, Integer> vertexIds;
+        private V[] vertices;
+        private int numVertices;
+        private E[] edges;
+        private int[] edgeVertex1;
+        private int[] edgeVertex2;
+        private int numEdges;
+        private boolean built;
+
+        public Builder() {
+            vertexIds = new RobinHoodHashDictionary<>();
+            vertices = makeArrayOfV(16);
+            edges = makeArrayOfE(16);
+            edgeVertex1 = new int[16];
+            edgeVertex2 = new int[16];
+            numVertices = 0;
+            numEdges = 0;
+            built = false;
+        }
+
+        /**
+         * These helper methods return new, empty arrays that can contain vertices or edges.
+         * See ArrayHeap's makeArrayOfT(...) method for why we need them.
+         */
+        @SuppressWarnings("unchecked")
+        private V[] makeArrayOfV(int size) {
+            return (V[]) new Object[size];
+        }
+
+        @SuppressWarnings("unchecked")
+        private E[] makeArrayOfE(int size) {
+            return (E[]) new Edge<?>[size];
+        }
+
+        /**
+         * Adds the vertex and returns its id. Adding a vertex a second time does
+         * nothing and returns the id it already has.
+         *
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public int addVertex(V vertex) {
+            checkNotBuilt();
+            Integer id = vertexIds.getOrDefault(vertex, null);
+            if (id != null) {
+                return id;
+            }
+            if (numVertices == vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            }
+            vertices[numVertices] = vertex;
+            vertexIds.put(vertex, numVertices);
+            return numVertices++;
+        }
+
+        /**
+         * Adds the edge and returns its id.
+         *
+         * @throws IllegalArgumentException  if either endpoint has not been added as a vertex
+         * @throws IllegalStateException     if build() has already been called
+         */
+        public int addEdge(E edge) {
+            checkNotBuilt();
+            Integer id1 = vertexIds.getOrDefault(edge.getVertex1(), null);
+            Integer id2 = vertexIds.getOrDefault(edge.getVertex2(), null);
+            if (id1 == null || id2 == null) {
+                throw new IllegalArgumentException();
+            }
+            if (numEdges == edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+                edgeVertex1 = Arrays.copyOf(edgeVertex1, edgeVertex1.length * 2);
+                edgeVertex2 = Arrays.copyOf(edgeVertex2, edgeVertex2.length * 2);
+            }
+            edges[numEdges] = edge;
+            edgeVertex1[numEdges] = id1;
+            edgeVertex2[numEdges] = id2;
+            return numEdges++;
+        }
+
+        /**
+         * Returns the graph made of everything added so far.
+         *
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public CsrGraph<V, E> build() {
+            checkNotBuilt();
+            built = true;
+            return new CsrGraph<>(this);
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
@@ -6,9 +6,7 @@ import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.concrete.KVPair;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IDisjointSet;
+import datastructures.concrete.dictionaries.LruDictionary;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import datastructures.interfaces.ISet;
@@ -60,11 +58,40 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
     // Working with generics is really not the focus of this class, so if you
     // get stuck, let us know we'll try and help you get unstuck as best as we can.
 
-    IDictionary<V, ISet<V>> adjList; 
+    // MstStrategy.AUTO uses DENSE_PRIM once E >= V^2 / DENSE_PRIM_DENSITY, PRIM
+    // once E >= PRIM_EDGES_PER_VERTEX * V, and KRUSKAL otherwise.
+    private static final long DENSE_PRIM_DENSITY = 4;
+    private static final long PRIM_EDGES_PER_VERTEX = 8;
+    // How many shortest path trees a new graph caches.
+    private static final int DEFAULT_TREE_CACHE_SIZE = 8;
+
     int numVerts;
     int numEdges;
-    IPriorityQueue<E> eWeights;
-    IList<E> edges;
+
+    // The vertices, edges and incident-edge index, so that graph searches never
+    // have to scan the whole edge list or hash a vertex in their inner loops.
+    //
+    // The constructor only validates the input while collecting it into 'pending'.
+    // The CSR arrays are laid out by csr() the first time an algorithm needs them,
+    // and Kruskal's edge heap is only built when that strategy runs. Queries may
+    // come from several threads at once, so 'csr' is volatile and csr() builds
+    // it while holding the graph's lock.
+    private CsrGraph.Builder<V, E> pending;
+    private volatile CsrGraph<V, E> csr;
+
+    // Which search findShortestPathBetween and findShortestPathTree run; decided
+    // the first time one of them is called. See searchKind().
+    private SearchKind searchKind;
+
+    private enum SearchKind { BFS, ZERO_ONE_BFS, DIJKSTRA }
+
+    // The most recently used shortest path trees, keyed by source. When the cache
+    // is turned off, treeCacheSize is 0 and treeCache is simply never written to.
+    // LruDictionary reorders itself even on lookups, so every access to the cache,
+    // reads included, holds treeCacheLock.
+    private final Object treeCacheLock = new Object();
+    private LruDictionary<V, ShortestPathTree<V, E>> treeCache;
+    private int treeCacheSize;
     
     /**
      * Constructs a new graph based on the given vertices and edges.
@@ -74,32 +101,57 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      *                                   present in the 'vertices' list
      */
     public Graph(IList<V> vertices, IList<E> edges) {
-        // i think make adjacency list or matrix here
-        // lets say we decided on a list
-        // map of vertices to the vertices they link to.
-        adjList = new ChainedHashDictionary<V, ISet<V>>();
-        numVerts = vertices.size();
-        numEdges = edges.size();
-        eWeights = new ArrayHeap<>();
-        this.edges = edges;
-        
-        for (V ver : vertices) {
-            adjList.put(ver, new ChainedHashSet<>());
+        pending = new CsrGraph.Builder<>();
+        for (V vertex : vertices) {
+            pending.addVertex(vertex);
         }
         for (E edge : edges) {
             if (edge.getWeight() < 0.0) {
                 throw new IllegalArgumentException();
             }
-            V vert1 = edge.getVertex1();
-            V vert2 = edge.getVertex2();
-            if (!vertices.contains(vert1) || !vertices.contains(vert2)) {
+            pending.addEdge(edge);
+        }
+        numVerts = vertices.size();
+        numEdges = edges.size();
+        csr = null;
+        setShortestPathTreeCacheSize(DEFAULT_TREE_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a new graph that runs its algorithms over the given CSR graph.
+     *
+     * @throws IllegalArgumentException  if any of the edges have a negative weight
+     */
+    public Graph(CsrGraph<V, E> graph) {
+        for (int e = 0; e < graph.numEdges(); e++) {
+            if (graph.weight(e) < 0.0) {
                 throw new IllegalArgumentException();
             }
-            adjList.get(vert1).add(vert2);
-            adjList.get(vert2).add(vert1);
-            
-            eWeights.insert(edge);
         }
+        pending = null;
+        csr = graph;
+        numVerts = graph.numVertices();
+        numEdges = graph.numEdges();
+        setShortestPathTreeCacheSize(DEFAULT_TREE_CACHE_SIZE);
+    }
+
+    /**
+     * Returns the CSR form of this graph, building it on the first call. Safe to
+     * call from several threads at once: exactly one of them builds it.
+     */
+    CsrGraph<V, E> csr() {
+        CsrGraph<V, E> result = csr;
+        if (result == null) {
+            synchronized (this) {
+                result = csr;
+                if (result == null) {
+                    result = pending.build();
+                    pending = null;
+                    csr = result;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -145,43 +197,86 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * Precondition: the graph does not contain any unconnected components.
      */
     public ISet<E> findMinimumSpanningTree() {
-        // Kruskal's heckin Algorithm
+        return findMinimumSpanningTree(MstStrategy.AUTO);
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, found using the given algorithm.
+     *
+     * If there exists multiple valid MSTs, return any one of them.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     *
+     * @throws IllegalArgumentException  if the strategy is null
+     */
+    public ISet<E> findMinimumSpanningTree(MstStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException();
+        }
+        if (strategy == MstStrategy.AUTO) {
+            strategy = chooseMstStrategy();
+        }
+        switch (strategy) {
+            case PRIM:
+                return toEdgeSet(SpanningTrees.prim(csr()));
+            case DENSE_PRIM:
+                return toEdgeSet(SpanningTrees.densePrim(csr()));
+            case FILTER_KRUSKAL:
+                return toEdgeSet(SpanningTrees.filterKruskal(csr()));
+            case BORUVKA:
+                return toEdgeSet(SpanningTrees.boruvka(csr()));
+            default:
+                return heapKruskal();
+        }
+    }
+
+    /**
+     * Picks the MST strategy MstStrategy.AUTO stands for, based on the edge density.
+     */
+    MstStrategy chooseMstStrategy() {
+        long numVertices = csr().numVertices();
+        if (numEdges * DENSE_PRIM_DENSITY >= numVertices * numVertices) {
+            return MstStrategy.DENSE_PRIM;
+        } else if (numEdges >= PRIM_EDGES_PER_VERTEX * numVertices) {
+            return MstStrategy.PRIM;
+        } else {
+            return MstStrategy.KRUSKAL;
+        }
+    }
+
+    private ISet<E> toEdgeSet(int[] edgeIds) {
+        E[] edges = csr().edges;
         ISet<E> mst = new ChainedHashSet<>();
-        ISet<V> visited = new ChainedHashSet<>();
-        IDisjointSet<V> tree = new ArrayDisjointSet<>();
-        
-        // while it isnt a complete tree,
-        while (mst.size() < numVerts - 1) {
-            // take the smallest edge weight, 
+        for (int edge : edgeIds) {
+            mst.add(edges[edge]);
+        }
+        return mst;
+    }
+
+    private ISet<E> heapKruskal() {
+        // Kruskal's heckin Algorithm, over the dense vertex ids so the forest
+        // never has to hash a vertex.
+        CsrGraph<V, E> csr = csr();
+        IPriorityQueue<E> eWeights = new ArrayHeap<>();
+        for (int e = 0; e < numEdges; e++) {
+            eWeights.insert(csr.edges[e]);
+        }
+        ISet<E> mst = new ChainedHashSet<>();
+        ArrayDisjointSet<V> forest = new ArrayDisjointSet<>(csr.numVertices());
+        for (int v = 0; v < csr.numVertices(); v++) {
+            forest.makeSet();
+        }
+
+        // while it isnt a complete tree, take the smallest edge weight,
+        // and keep it if it joins two different trees
+        while (mst.size() < numVerts - 1 && !eWeights.isEmpty()) {
             E minW = eWeights.removeMin();
-            
-            // vertices with the smallest edgeWeight
-            V vert1 = minW.getVertex1();
-            V vert2 = minW.getVertex2();
-            
-            // save their IDs
-            int num1 = -1;
-            int num2 = -1;
-            
-            
-            if (visited.contains(vert1)) {
-                num1 = tree.findSet(vert1);
-            } else {
-                tree.makeSet(vert1);
-                num1 = tree.findSet(vert1);
-            }
-            if (visited.contains(vert2)) {
-                num2 = tree.findSet(vert2);
-            } else {
-                tree.makeSet(vert2);
-                num2 = tree.findSet(vert2);
-            }
-            if (num1 != num2) {                
-                tree.union(vert1, vert2);
+            int num1 = csr.idOf(minW.getVertex1());
+            int num2 = csr.idOf(minW.getVertex2());
+            if (forest.union(num1, num2)) {
                 mst.add(minW);
             }
-            visited.add(vert1);
-            visited.add(vert2);
         }
         return mst;
     }
@@ -202,89 +297,490 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
         if (start.equals(end)) {
             return new DoubleLinkedList<E>();
         }
-        
-        IDictionary<V, Double> ttlCosts = new ChainedHashDictionary<>();
-        IDictionary<V, E> backPointer = new ChainedHashDictionary<>();
-        // Set everything to infinity
-        for (KVPair<V, ISet<V>> vertToWeight : adjList) {
-            V vert = vertToWeight.getKey();
-            ttlCosts.put(vert, Double.POSITIVE_INFINITY);
-        }
-        
-        ISet<V> completed = new ChainedHashSet<>();
-        ISet<V> toBeVisited = new ChainedHashSet<>();
-        ISet<E> visitedEdges = new ChainedHashSet<>();
-        IList<E> shortestPath = new DoubleLinkedList<>();
-        toBeVisited.add(start);
-        ttlCosts.put(start, 0.0);
-        completed.add(start);
-        
-        IPriorityQueue<E> costs = new ArrayHeap<>();
-        
-        V next = start;
-        while (!toBeVisited.isEmpty() && !completed.contains(end)) {
-            toBeVisited.remove(next);
-            for (E edge : edges) {
-                addsAdjacentVertsToCosts(edge, next, costs, ttlCosts, toBeVisited, visitedEdges, completed);
+        ShortestPathTree<V, E> tree = cachedTree(start);
+        if (tree != null) {
+            return tree.pathTo(end);
+        }
+        CsrGraph<V, E> csr = csr();
+        int source = csr.idOf(start);
+        int target = csr.idOf(end);
+        if (source == -1 || target == -1) {
+            throw new NoPathExistsException();
+        }
+
+        double[] costs = new double[csr.numVertices()];
+        int[] backEdge = new int[csr.numVertices()];
+        if (!search(source, target, costs, backEdge)) {
+            throw new NoPathExistsException();
+        }
+        return buildPath(source, target, backEdge);
+    }
+
+    /**
+     * Returns the shortest paths from the given vertex to every vertex it can reach.
+     *
+     * The most recently used trees are cached (see setShortestPathTreeCacheSize), so
+     * asking again for the same source is free, and so is findShortestPathBetween
+     * from a source whose tree is cached.
+     *
+     * @throws IllegalArgumentException  if the source is not a vertex in this graph
+     */
+    public ShortestPathTree<V, E> findShortestPathTree(V source) {
+        ShortestPathTree<V, E> tree = cachedTree(source);
+        if (tree != null) {
+            return tree;
+        }
+        CsrGraph<V, E> csr = csr();
+        int id = csr.idOf(source);
+        if (id == -1) {
+            throw new IllegalArgumentException();
+        }
+        double[] costs = new double[csr.numVertices()];
+        int[] backEdge = new int[csr.numVertices()];
+        search(id, -1, costs, backEdge);
+        tree = new ShortestPathTree<>(csr, id, costs, backEdge);
+        synchronized (treeCacheLock) {
+            if (treeCacheSize > 0) {
+                treeCache.put(source, tree);
             }
-            
-            E lowestEdge = costs.removeMin();
-            while (!costs.isEmpty() && completed.contains(lowestEdge.getVertex1()) 
-                    && completed.contains(lowestEdge.getVertex2())) {
-                lowestEdge = costs.removeMin();
+        }
+        return tree;
+    }
+
+    private ShortestPathTree<V, E> cachedTree(V source) {
+        synchronized (treeCacheLock) {
+            return treeCache.getOrDefault(source, null);
+        }
+    }
+
+    /**
+     * Sets how many shortest path trees this graph keeps cached, dropping the least
+     * recently used ones if there are already more than that. Each tree takes about
+     * 12 bytes per vertex. A size of 0 turns the cache off.
+     *
+     * @throws IllegalArgumentException  if size < 0
+     */
+    public void setShortestPathTreeCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
+        }
+        LruDictionary<V, ShortestPathTree<V, E>> resized = new LruDictionary<>(Math.max(size, 1));
+        synchronized (treeCacheLock) {
+            if (size > 0 && treeCache != null) {
+                // Re-add from least to most recently used, so the order carries over.
+                IList<KVPair<V, ShortestPathTree<V, E>>> pairs = new DoubleLinkedList<>();
+                for (KVPair<V, ShortestPathTree<V, E>> pair : treeCache) {
+                    pairs.insert(0, pair);
+                }
+                for (KVPair<V, ShortestPathTree<V, E>> pair : pairs) {
+                    resized.put(pair.getKey(), pair.getValue());
+                }
             }
-            
-            V other = lowestEdge.getVertex1();
-            
-            if (completed.contains(other)) {
-                other = lowestEdge.getOtherVertex(other);
+            treeCache = resized;
+            treeCacheSize = size;
+        }
+    }
+
+    /**
+     * Preprocesses this graph into a contraction hierarchy, which answers shortest
+     * path queries far faster than findShortestPathBetween once it is built. Worth
+     * it when many queries will be asked of a graph that does not change.
+     *
+     * Building one takes about as long as a thousand ordinary searches, and about
+     * twice the memory of the graph's own index; see ContractionHierarchy.
+     */
+    public ContractionHierarchy<V, E> buildContractionHierarchy() {
+        return new ContractionHierarchy<>(csr());
+    }
+
+    /**
+     * Finds the shortest paths from the source over the CSR index, filling in the
+     * cost of reaching each vertex and the edge it was reached by (-1 if none).
+     *
+     * Stops early and returns 'true' once the target is reached. Pass -1 as the
+     * target to search the whole graph; then the result is 'false'.
+     */
+    private boolean search(int source, int target, double[] costs, int[] backEdge) {
+        switch (searchKind()) {
+            case BFS:
+                return bfs(source, target, costs, backEdge);
+            case ZERO_ONE_BFS:
+                return zeroOneBfs(source, target, costs, backEdge);
+            default:
+                return dijkstra(source, target, costs, backEdge);
+        }
+    }
+
+    /**
+     * Picks the cheapest search that still finds shortest paths in this graph:
+     *
+     * - A plain breadth-first search if the graph is a forest (as carved mazes
+     *   are), since then there is only one path between any two vertices, or if
+     *   every edge weighs the same, since then the fewest edges is the cheapest.
+     * - A 0-1 BFS if every edge weighs either 0 or one other value.
+     * - Dijkstra's algorithm otherwise.
+     */
+    private SearchKind searchKind() {
+        if (searchKind != null) {
+            return searchKind;
+        }
+        CsrGraph<V, E> csr = csr();
+        double[] weights = csr.weights;
+        // 'paid' is the first non-zero weight seen, or NaN if there is none.
+        double paid = Double.NaN;
+        boolean hasFree = false;
+        boolean twoValued = true;
+        for (int e = 0; e < weights.length && twoValued; e++) {
+            if (weights[e] == 0.0) {
+                hasFree = true;
+            } else if (Double.isNaN(paid)) {
+                paid = weights[e];
+            } else if (weights[e] != paid) {
+                twoValued = false;
             }
-            completed.add(other);
-            backPointer.put(other, lowestEdge);
-            next = other;
         }
-        
-        if (ttlCosts.get(end) == Double.POSITIVE_INFINITY || !completed.contains(start) 
-                || !completed.contains(end)) {
-            throw new NoPathExistsException();
+        boolean uniform = twoValued && (!hasFree || Double.isNaN(paid));
+        if (uniform || isForest(csr)) {
+            searchKind = SearchKind.BFS;
+        } else if (twoValued) {
+            searchKind = SearchKind.ZERO_ONE_BFS;
+        } else {
+            searchKind = SearchKind.DIJKSTRA;
+        }
+        return searchKind;
+    }
+
+    private static <V, E extends Edge<V>> boolean isForest(CsrGraph<V, E> csr) {
+        int numVertices = csr.numVertices();
+        if (csr.numEdges() >= numVertices) {
+            return false;
         }
-        
-        IList<E> temp = new DoubleLinkedList<>();
-        V look = end;
-        System.out.println(look);
-        while (look != start && backPointer.get(look).getOtherVertex(look) != start) {
-            E path = backPointer.get(look);
-            temp.add(path);
-            look = path.getOtherVertex(look);
+        ArrayDisjointSet<V> components = new ArrayDisjointSet<>(numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            components.makeSet();
         }
-        temp.add(backPointer.get(look));
-        for (int i = temp.size() - 1; i >= 0; i--) {
-            shortestPath.add(temp.get(i));
+        for (int e = 0; e < csr.numEdges(); e++) {
+            if (!components.union(csr.edgeVertex1[e], csr.edgeVertex2[e])) {
+                return false;
+            }
         }
-        return shortestPath;
+        return true;
     }
-    
-    private void addsAdjacentVertsToCosts(E edge, V next, IPriorityQueue<E> costs, IDictionary<V, Double> ttlCosts, 
-            ISet<V> toBeVisited, ISet<E> visitedEdges, ISet<V> completed) {
-        if ((edge.getVertex1().equals(next) || edge.getVertex2().equals(next)) && 
-                !visitedEdges.contains(edge)) {
-            
-            visitedEdges.add(edge);
-            costs.insert(edge);
-            
-            V vertex = edge.getVertex1();
-            if (vertex.equals(next)) {
-                vertex = edge.getVertex2();
+
+    /**
+     * Breadth-first search: the search(...) contract, for graphs where visiting
+     * vertices in order of how many edges away they are also visits them in order
+     * of cost.
+     */
+    private boolean bfs(int source, int target, double[] costs, int[] backEdge) {
+        CsrGraph<V, E> csr = csr();
+        int numVertices = csr.numVertices();
+        for (int v = 0; v < numVertices; v++) {
+            costs[v] = Double.POSITIVE_INFINITY;
+            backEdge[v] = -1;
+        }
+        // Every vertex enters the queue once, so a plain array is enough.
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
+        costs[source] = 0.0;
+        queue[tail++] = source;
+        if (source == target) {
+            return true;
+        }
+
+        int[] offsets = csr.offsets;
+        int[] targets = csr.targets;
+        int[] edgeIds = csr.edgeIds;
+        double[] weights = csr.weights;
+        while (head < tail) {
+            int next = queue[head++];
+            for (int i = offsets[next]; i < offsets[next + 1]; i++) {
+                int other = targets[i];
+                if (costs[other] == Double.POSITIVE_INFINITY) {
+                    costs[other] = costs[next] + weights[edgeIds[i]];
+                    backEdge[other] = edgeIds[i];
+                    if (other == target) {
+                        return true;
+                    }
+                    queue[tail++] = other;
+                }
             }
-            if (edge.getWeight() + ttlCosts.get(next) < ttlCosts.get(vertex)) {
-                ttlCosts.put(vertex, edge.getWeight() + ttlCosts.get(next));
+        }
+        return false;
+    }
+
+    /**
+     * 0-1 BFS: the search(...) contract, for graphs whose edges weigh either 0 or
+     * some single positive value. A vertex reached over a free edge goes on the
+     * front of a deque and one reached over a paid edge on the back, so the deque
+     * stays sorted by cost without a heap.
+     */
+    private boolean zeroOneBfs(int source, int target, double[] costs, int[] backEdge) {
+        CsrGraph<V, E> csr = csr();
+        int numVertices = csr.numVertices();
+        boolean[] done = new boolean[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            costs[v] = Double.POSITIVE_INFINITY;
+            backEdge[v] = -1;
+        }
+        // A circular buffer. A vertex can be added again each time its cost drops,
+        // so the buffer grows when it fills up.
+        int[] deque = new int[Math.max(16, numVertices)];
+        int head = 0;
+        int size = 0;
+        costs[source] = 0.0;
+        deque[0] = source;
+        size++;
+
+        int[] offsets = csr.offsets;
+        int[] targets = csr.targets;
+        int[] edgeIds = csr.edgeIds;
+        double[] weights = csr.weights;
+        while (size > 0) {
+            int next = deque[head];
+            head = (head + 1) % deque.length;
+            size--;
+            if (done[next]) {
+                continue;
             }
-            
-            if (!completed.contains(vertex) && !toBeVisited.contains(vertex)) {
-                toBeVisited.add(vertex); 
+            done[next] = true;
+            if (next == target) {
+                return true;
+            }
+            for (int i = offsets[next]; i < offsets[next + 1]; i++) {
+                int other = targets[i];
+                double weight = weights[edgeIds[i]];
+                double cost = costs[next] + weight;
+                if (cost < costs[other]) {
+                    costs[other] = cost;
+                    backEdge[other] = edgeIds[i];
+                    if (size == deque.length) {
+                        int[] bigger = new int[deque.length * 2];
+                        for (int j = 0; j < size; j++) {
+                            bigger[j] = deque[(head + j) % deque.length];
+                        }
+                        deque = bigger;
+                        head = 0;
+                    }
+                    if (weight == 0.0) {
+                        head = (head - 1 + deque.length) % deque.length;
+                        deque[head] = other;
+                    } else {
+                        deque[(head + size) % deque.length] = other;
+                    }
+                    size++;
+                }
             }
         }
+        return false;
     }
-    
-}
 
+    /**
+     * Dijkstra's algorithm: the search(...) contract, for any non-negative weights.
+     */
+    private boolean dijkstra(int source, int target, double[] costs, int[] backEdge) {
+        // Every vertex sits in the queue at most once; relaxing an edge lowers its
+        // key in place.
+        CsrGraph<V, E> csr = csr();
+        int numVertices = csr.numVertices();
+        for (int v = 0; v < numVertices; v++) {
+            costs[v] = Double.POSITIVE_INFINITY;
+            backEdge[v] = -1;
+        }
+        VertexQueue queue = new VertexQueue(numVertices);
+        costs[source] = 0.0;
+        queue.insertOrDecrease(source, 0.0);
+
+        int[] offsets = csr.offsets;
+        int[] targets = csr.targets;
+        int[] edgeIds = csr.edgeIds;
+        double[] weights = csr.weights;
+        while (!queue.isEmpty()) {
+            int next = queue.removeMin();
+            if (next == target) {
+                return true;
+            }
+            for (int i = offsets[next]; i < offsets[next + 1]; i++) {
+                int other = targets[i];
+                double cost = costs[next] + weights[edgeIds[i]];
+                if (cost < costs[other]) {
+                    costs[other] = cost;
+                    backEdge[other] = edgeIds[i];
+                    queue.insertOrDecrease(other, cost);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the shortest path from the start to the end, found with an A* search
+     * guided by the given heuristic, along with the number of vertices it expanded.
+     *
+     * The search stops as soon as it reaches the end. The path is a shortest path
+     * if the heuristic never overestimates (see Heuristic); otherwise it is still a
+     * path, just not necessarily the cheapest one.
+     *
+     * The path is empty if the start and end vertices are the same.
+     *
+     * @throws IllegalArgumentException  if the heuristic is null
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public SearchResult<E> findShortestPathAStar(V start, V end, Heuristic<V> heuristic) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException();
+        }
+        if (start.equals(end)) {
+            return new SearchResult<>(new DoubleLinkedList<E>(), 0.0, 0);
+        }
+        CsrGraph<V, E> csr = csr();
+        int source = csr.idOf(start);
+        int target = csr.idOf(end);
+        if (source == -1 || target == -1) {
+            throw new NoPathExistsException();
+        }
+
+        // costs[v] is the cheapest known cost from the start to v. The queue is ordered
+        // by that cost plus the estimate to the end, which is computed once per vertex.
+        int numVertices = csr.numVertices();
+        double[] costs = new double[numVertices];
+        double[] estimates = new double[numVertices];
+        int[] backEdge = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            costs[v] = Double.POSITIVE_INFINITY;
+            estimates[v] = Double.NaN;
+            backEdge[v] = -1;
+        }
+        VertexQueue queue = new VertexQueue(numVertices);
+        costs[source] = 0.0;
+        queue.insertOrDecrease(source, 0.0);
+
+        int[] offsets = csr.offsets;
+        int[] targets = csr.targets;
+        int[] edgeIds = csr.edgeIds;
+        double[] weights = csr.weights;
+        int expanded = 0;
+        while (!queue.isEmpty()) {
+            int next = queue.removeMin();
+            expanded++;
+            if (next == target) {
+                return new SearchResult<>(buildPath(source, target, backEdge), costs[target], expanded);
+            }
+            for (int i = offsets[next]; i < offsets[next + 1]; i++) {
+                int other = targets[i];
+                double cost = costs[next] + weights[edgeIds[i]];
+                if (cost < costs[other]) {
+                    if (Double.isNaN(estimates[other])) {
+                        estimates[other] = heuristic.estimate(csr.vertices[other], end);
+                    }
+                    costs[other] = cost;
+                    backEdge[other] = edgeIds[i];
+                    // If 'other' was already expanded, this puts it back in the queue,
+                    // which only happens when the heuristic is inconsistent.
+                    queue.insertOrDecrease(other, cost + estimates[other]);
+                }
+            }
+        }
+        throw new NoPathExistsException();
+    }
+
+    /**
+     * Returns the shortest path from the start to the end, found by running Dijkstra's
+     * algorithm from both ends at once until the two searches meet, along with the
+     * number of vertices the two searches expanded between them.
+     *
+     * Each step expands from whichever side has the closer frontier. The best path
+     * seen so far through a vertex both sides have reached is final once it costs no
+     * more than the sum of the two frontiers' smallest costs.
+     *
+     * The path is empty if the start and end vertices are the same.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public SearchResult<E> findShortestPathBidirectional(V start, V end) {
+        if (start.equals(end)) {
+            return new SearchResult<>(new DoubleLinkedList<E>(), 0.0, 0);
+        }
+        CsrGraph<V, E> csr = csr();
+        int source = csr.idOf(start);
+        int target = csr.idOf(end);
+        if (source == -1 || target == -1) {
+            throw new NoPathExistsException();
+        }
+
+        int numVertices = csr.numVertices();
+        double[] forwardCosts = new double[numVertices];
+        double[] backwardCosts = new double[numVertices];
+        int[] forwardBackEdge = new int[numVertices];
+        int[] backwardBackEdge = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            forwardCosts[v] = Double.POSITIVE_INFINITY;
+            backwardCosts[v] = Double.POSITIVE_INFINITY;
+            forwardBackEdge[v] = -1;
+            backwardBackEdge[v] = -1;
+        }
+        VertexQueue forward = new VertexQueue(numVertices);
+        VertexQueue backward = new VertexQueue(numVertices);
+        forwardCosts[source] = 0.0;
+        backwardCosts[target] = 0.0;
+        forward.insertOrDecrease(source, 0.0);
+        backward.insertOrDecrease(target, 0.0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        int expanded = 0;
+        while (!forward.isEmpty() && !backward.isEmpty()
+                && forward.peekMinKey() + backward.peekMinKey() < best) {
+            boolean fromStart = forward.peekMinKey() <= backward.peekMinKey();
+            VertexQueue queue = fromStart ? forward : backward;
+            double[] costs = fromStart ? forwardCosts : backwardCosts;
+            double[] otherCosts = fromStart ? backwardCosts : forwardCosts;
+            int[] backEdge = fromStart ? forwardBackEdge : backwardBackEdge;
+
+            int next = queue.removeMin();
+            expanded++;
+            for (int i = csr.offsets[next]; i < csr.offsets[next + 1]; i++) {
+                int other = csr.targets[i];
+                double cost = costs[next] + csr.weights[csr.edgeIds[i]];
+                if (cost < costs[other]) {
+                    costs[other] = cost;
+                    backEdge[other] = csr.edgeIds[i];
+                    queue.insertOrDecrease(other, cost);
+                }
+                if (costs[other] + otherCosts[other] < best) {
+                    best = costs[other] + otherCosts[other];
+                    meet = other;
+                }
+            }
+        }
+        if (meet == -1) {
+            throw new NoPathExistsException();
+        }
+
+        // The forward half is built back to front; the backward half is already in order.
+        IList<E> path = buildPath(source, meet, forwardBackEdge);
+        int look = meet;
+        while (look != target) {
+            int edge = backwardBackEdge[look];
+            path.add(csr.edges[edge]);
+            look = csr.edgeVertex1[edge] == look ? csr.edgeVertex2[edge] : csr.edgeVertex1[edge];
+        }
+        return new SearchResult<>(path, best, expanded);
+    }
+
+    /**
+     * Follows the back-pointers from the target to the source, returning the edges
+     * in start-to-end order.
+     */
+    private IList<E> buildPath(int source, int target, int[] backEdge) {
+        IList<E> path = new DoubleLinkedList<>();
+        int look = target;
+        while (look != source) {
+            int edge = backEdge[look];
+            path.insert(0, csr.edges[edge]);
+            look = csr.edgeVertex1[edge] == look ? csr.edgeVertex2[edge] : csr.edgeVertex1[edge];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,16 @@
+package misc.graphs;
+
+/**
+ * Estimates the cost of the cheapest path between two vertices, to guide an A*
+ * search (see Graph.findShortestPathAStar).
+ *
+ * The search only returns a shortest path if the heuristic is admissible: it must
+ * never estimate more than the true cost. An estimate of 0.0 everywhere is always
+ * admissible, and turns A* back into Dijkstra's algorithm.
+ */
+public interface Heuristic<V> {
+    /**
+     * Returns a lower bound on the cost of getting from 'vertex' to 'goal'.
+     */
+    public double estimate(V vertex, V goal);
+}
@@ -0,0 +1,47 @@
+package misc.graphs;
+
+/**
+ * The algorithms Graph.findMinimumSpanningTree(...) can use. They all return a
+ * minimum spanning tree, but may pick different trees when several edges tie.
+ */
+public enum MstStrategy {
+    /**
+     * Picks one of the strategies below based on how dense the graph is: DENSE_PRIM
+     * when the graph has close to an edge between every pair of vertices, PRIM when
+     * vertices average many edges each, and KRUSKAL otherwise.
+     */
+    AUTO,
+
+    /**
+     * Kruskal's algorithm, popping edges one at a time off a heap of every edge.
+     */
+    KRUSKAL,
+
+    /**
+     * Filter-Kruskal: partitions the edges around a pivot quicksort-style, builds the
+     * tree from the light half first, and then throws away every heavy edge whose
+     * endpoints are already connected before looking at the rest. Partitioning and
+     * filtering large ranges runs in parallel.
+     */
+    FILTER_KRUSKAL,
+
+    /**
+     * Boruvka's algorithm: every round, each component picks its cheapest outgoing
+     * edge, and all of those edges are added at once. The number of components at
+     * least halves each round. The per-edge search in each round runs in parallel.
+     */
+    BORUVKA,
+
+    /**
+     * Prim's algorithm: grows one tree from a seed vertex, always adding the cheapest
+     * edge leaving it, using a heap of vertices whose keys drop in place. It never
+     * has to sort the edges.
+     */
+    PRIM,
+
+    /**
+     * Prim's algorithm without a heap: each step scans every vertex for the closest
+     * one. This takes O(V^2) time, which beats the heap when E is close to V^2.
+     */
+    DENSE_PRIM
+}
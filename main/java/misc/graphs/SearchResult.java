@@ -0,0 +1,39 @@
+package misc.graphs;
+
+import datastructures.interfaces.IList;
+
+/**
+ * The path found by a graph search, along with how much work the search did.
+ */
+public class SearchResult<E> {
+    private IList<E> path;
+    private double cost;
+    private int nodesExpanded;
+
+    public SearchResult(IList<E> path, double cost, int nodesExpanded) {
+        this.path = path;
+        this.cost = cost;
+        this.nodesExpanded = nodesExpanded;
+    }
+
+    /**
+     * Returns the edges of the path in start-to-end order.
+     */
+    public IList<E> getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the total weight of the path.
+     */
+    public double getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Returns how many vertices the search removed from its queue and expanded.
+     */
+    public int getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+}
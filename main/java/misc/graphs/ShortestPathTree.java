@@ -0,0 +1,80 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoPathExistsException;
+
+/**
+ * The shortest paths from one source vertex to every vertex it can reach, as
+ * computed by Graph.findShortestPathTree.
+ *
+ * The tree is computed once. After that, distanceTo takes O(1) time and pathTo
+ * takes time proportional to the length of the path.
+ */
+public class ShortestPathTree<V, E extends Edge<V>> {
+    private final CsrGraph<V, E> graph;
+    private final int source;
+    private final double[] costs;
+    private final int[] backEdge;
+
+    /**
+     * Creates the tree of shortest paths out of 'source', given the cost of reaching
+     * each vertex and the edge each one was reached by (-1 for the source and for
+     * unreachable vertices).
+     */
+    ShortestPathTree(CsrGraph<V, E> graph, int source, double[] costs, int[] backEdge) {
+        this.graph = graph;
+        this.source = source;
+        this.costs = costs;
+        this.backEdge = backEdge;
+    }
+
+    /**
+     * Returns the vertex all the paths start from.
+     */
+    public V getSource() {
+        return graph.vertex(source);
+    }
+
+    /**
+     * Returns 'true' if there is a path from the source to the given vertex.
+     */
+    public boolean hasPathTo(V vertex) {
+        int id = graph.idOf(vertex);
+        return id != -1 && costs[id] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the total weight of the shortest path from the source to the given vertex.
+     *
+     * @throws NoPathExistsException  if there is no path from the source to the vertex
+     */
+    public double distanceTo(V vertex) {
+        return costs[reachableId(vertex)];
+    }
+
+    /**
+     * Returns the edges of the shortest path from the source to the given vertex, in
+     * source-to-vertex order. The path is empty if the vertex is the source.
+     *
+     * @throws NoPathExistsException  if there is no path from the source to the vertex
+     */
+    public IList<E> pathTo(V vertex) {
+        int look = reachableId(vertex);
+        IList<E> path = new DoubleLinkedList<>();
+        while (look != source) {
+            int edge = backEdge[look];
+            path.insert(0, graph.edges[edge]);
+            look = graph.edgeVertex1[edge] == look ? graph.edgeVertex2[edge] : graph.edgeVertex1[edge];
+        }
+        return path;
+    }
+
+    private int reachableId(V vertex) {
+        int id = graph.idOf(vertex);
+        if (id == -1 || costs[id] == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
+        }
+        return id;
+    }
+}
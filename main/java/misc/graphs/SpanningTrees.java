@@ -0,0 +1,474 @@
+package misc.graphs;
+
+import datastructures.concrete.ConcurrentDisjointSet;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning tree algorithms over a CsrGraph.
+ *
+ * Unless noted otherwise, edges are ordered by their compareTo method. Each returns the ids of the edges in
+ * the spanning tree, or in a spanning forest if the graph is not connected.
+ */
+final class SpanningTrees {
+    // Ranges at most this long are sorted and scanned directly.
+    private static final int BASE_CASE = 64;
+    // Ranges at least this long are partitioned and filtered in parallel.
+    private static final int PARALLEL_CUTOFF = 1 << 15;
+
+    private SpanningTrees() {
+    }
+
+    /**
+     * Runs Filter-Kruskal. See MstStrategy.FILTER_KRUSKAL.
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> int[] filterKruskal(CsrGraph<V, E> graph) {
+        FilterKruskal<E> search = new FilterKruskal<>(graph.numVertices(), graph.edges,
+                graph.edgeVertex1, graph.edgeVertex2);
+        int[] ids = new int[graph.numEdges()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        search.run(ids, 0, ids.length);
+        return trim(search.tree, search.treeSize);
+    }
+
+    /**
+     * Runs Boruvka's algorithm. See MstStrategy.BORUVKA.
+     *
+     * Edges are compared by compareTo, and ties are broken by edge id. With a strict
+     * order like that, the cheapest edges leaving each component can never form a
+     * cycle, so all of them can be added in the same round.
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> int[] boruvka(CsrGraph<V, E> graph) {
+        int numVerts = graph.numVertices();
+        E[] edges = graph.edges;
+        int[] v1 = graph.edgeVertex1;
+        int[] v2 = graph.edgeVertex2;
+        ConcurrentDisjointSet forest = new ConcurrentDisjointSet(numVerts);
+        int[] tree = new int[Math.max(numVerts - 1, 0)];
+        int treeSize = 0;
+
+        // 'live' holds the edges that may still join two components.
+        int[] live = new int[edges.length];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = i;
+        }
+        int numLive = live.length;
+        int[] component = new int[numVerts];
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(numVerts);
+
+        while (numLive > 0 && treeSize < numVerts - 1) {
+            int[] edgeIds = live;
+            int count = numLive;
+            IntStream.range(0, numVerts).parallel().forEach(v -> {
+                component[v] = forest.find(v);
+                cheapest.set(v, -1);
+            });
+
+            // Drop edges inside a component, and offer the rest to both endpoints.
+            boolean[] keep = new boolean[count];
+            IntStream.range(0, count).parallel().forEach(i -> {
+                int edge = edgeIds[i];
+                int comp1 = component[v1[edge]];
+                int comp2 = component[v2[edge]];
+                if (comp1 != comp2) {
+                    keep[i] = true;
+                    offer(cheapest, comp1, edge, edges);
+                    offer(cheapest, comp2, edge, edges);
+                }
+            });
+
+            for (int v = 0; v < numVerts; v++) {
+                int edge = cheapest.get(v);
+                // Two components may both pick the same edge; only the first adds it.
+                if (edge != -1 && forest.tryUnion(v1[edge], v2[edge])) {
+                    tree[treeSize++] = edge;
+                }
+            }
+
+            numLive = 0;
+            for (int i = 0; i < count; i++) {
+                if (keep[i]) {
+                    live[numLive++] = edgeIds[i];
+                }
+            }
+        }
+        return trim(tree, treeSize);
+    }
+
+    /**
+     * Makes 'edge' the cheapest edge of the given component if it beats the current one.
+     */
+    private static <E extends Comparable<E>> void offer(AtomicIntegerArray cheapest, int component,
+                                                        int edge, E[] edges) {
+        while (true) {
+            int current = cheapest.get(component);
+            if (current != -1 && compareEdges(edges, edge, current) > 0) {
+                return;
+            }
+            if (cheapest.compareAndSet(component, current, edge)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compares two edges by compareTo, breaking ties by edge id, so that no two
+     * different edges ever compare equal.
+     */
+    private static <E extends Comparable<E>> int compareEdges(E[] edges, int edge1, int edge2) {
+        int cmp = edges[edge1].compareTo(edges[edge2]);
+        return cmp != 0 ? cmp : Integer.compare(edge1, edge2);
+    }
+
+    /**
+     * Runs Prim's algorithm. See MstStrategy.PRIM.
+     *
+     * The heap orders each vertex by the cheapest edge joining it to the tree, with
+     * ties broken by edge id as in Boruvka.
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> int[] prim(CsrGraph<V, E> graph) {
+        int numVerts = graph.numVertices();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] edgeIds = graph.edgeIds;
+        E[] edges = graph.edges;
+        int[] tree = new int[Math.max(numVerts - 1, 0)];
+        int treeSize = 0;
+        boolean[] inTree = new boolean[numVerts];
+        int[] bestEdge = new int[numVerts];
+        for (int v = 0; v < numVerts; v++) {
+            bestEdge[v] = -1;
+        }
+        // Only a seed has no edge, and the heap is empty whenever one is added.
+        VertexQueue queue = new VertexQueue(numVerts,
+                (u, v) -> compareEdges(edges, bestEdge[u], bestEdge[v]));
+
+        // Restarting from every vertex not yet reached covers disconnected graphs too.
+        for (int seed = 0; seed < numVerts; seed++) {
+            if (inTree[seed]) {
+                continue;
+            }
+            queue.insertOrDecrease(seed);
+            while (!queue.isEmpty()) {
+                int next = queue.removeMin();
+                inTree[next] = true;
+                if (bestEdge[next] != -1) {
+                    tree[treeSize++] = bestEdge[next];
+                }
+                for (int i = offsets[next]; i < offsets[next + 1]; i++) {
+                    int other = targets[i];
+                    int edge = edgeIds[i];
+                    if (!inTree[other] && (bestEdge[other] == -1
+                            || compareEdges(edges, edge, bestEdge[other]) < 0)) {
+                        bestEdge[other] = edge;
+                        queue.insertOrDecrease(other);
+                    }
+                }
+            }
+        }
+        return trim(tree, treeSize);
+    }
+
+    /**
+     * Runs Prim's algorithm without a heap. See MstStrategy.DENSE_PRIM.
+     *
+     * Each step scans every vertex for the closest one outside the tree, so this
+     * takes O(V^2 + E) time no matter how many edges there are. Edges are ordered as
+     * in prim.
+     */
+    public static <V, E extends Edge<V> & Comparable<E>> int[] densePrim(CsrGraph<V, E> graph) {
+        int numVerts = graph.numVertices();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] edgeIds = graph.edgeIds;
+        E[] edges = graph.edges;
+        int[] tree = new int[Math.max(numVerts - 1, 0)];
+        int treeSize = 0;
+        boolean[] inTree = new boolean[numVerts];
+        int[] bestEdge = new int[numVerts];
+        for (int v = 0; v < numVerts; v++) {
+            bestEdge[v] = -1;
+        }
+
+        for (int step = 0; step < numVerts; step++) {
+            // The closest vertex outside the tree. If nothing outside the tree is
+            // reachable, this picks an unreached vertex and starts a new tree there.
+            int next = -1;
+            for (int v = 0; v < numVerts; v++) {
+                if (!inTree[v] && (next == -1 || (bestEdge[v] != -1 && (bestEdge[next] == -1
+                        || compareEdges(edges, bestEdge[v], bestEdge[next]) < 0)))) {
+                    next = v;
+                }
+            }
+            inTree[next] = true;
+            if (bestEdge[next] != -1) {
+                tree[treeSize++] = bestEdge[next];
+            }
+            for (int i = offsets[next]; i < offsets[next + 1]; i++) {
+                int other = targets[i];
+                int edge = edgeIds[i];
+                if (!inTree[other] && (bestEdge[other] == -1
+                        || compareEdges(edges, edge, bestEdge[other]) < 0)) {
+                    bestEdge[other] = edge;
+                }
+            }
+        }
+        return trim(tree, treeSize);
+    }
+
+    private static int[] trim(int[] array, int length) {
+        int[] result = new int[length];
+        System.arraycopy(array, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * The state of one Filter-Kruskal run.
+     *
+     * The forest is a ConcurrentDisjointSet so that the parallel filter step can call
+     * find from many threads at once. Unions only ever happen on the calling thread.
+     */
+    private static class FilterKruskal<E extends Comparable<E>> {
+        private final E[] edges;
+        private final int[] v1;
+        private final int[] v2;
+        private final int numVerts;
+        private final ConcurrentDisjointSet forest;
+        private final int[] tree;
+        private int treeSize;
+        private final Random rand;
+
+        // Scratch space for the parallel partition and filter, allocated on first use.
+        private int[] scratch;
+        private byte[] classes;
+
+        public FilterKruskal(int numVerts, E[] edges, int[] v1, int[] v2) {
+            this.edges = edges;
+            this.v1 = v1;
+            this.v2 = v2;
+            this.numVerts = numVerts;
+            this.forest = new ConcurrentDisjointSet(numVerts);
+            this.tree = new int[Math.max(numVerts - 1, 0)];
+            this.treeSize = 0;
+            this.rand = new Random(0);
+        }
+
+        /**
+         * Adds the spanning tree edges among ids[lo] through ids[hi - 1] to the tree.
+         * Every edge lighter than all of these must already have been considered.
+         */
+        public void run(int[] ids, int lo, int hi) {
+            while (hi - lo > BASE_CASE && treeSize < numVerts - 1) {
+                E pivot = pickPivot(ids, lo, hi);
+                long bounds = partition(ids, lo, hi, pivot);
+                int lessEnd = (int) (bounds >>> 32);
+                int equalEnd = (int) bounds;
+
+                run(ids, lo, lessEnd);
+                scan(ids, lessEnd, equalEnd);
+                lo = equalEnd;
+                hi = filter(ids, lo, hi);
+            }
+            if (treeSize < numVerts - 1) {
+                sort(ids, lo, hi);
+                scan(ids, lo, hi);
+            }
+        }
+
+        /**
+         * Kruskal's inner loop: keeps every edge in order that joins two trees.
+         */
+        private void scan(int[] ids, int lo, int hi) {
+            for (int i = lo; i < hi && treeSize < numVerts - 1; i++) {
+                int edge = ids[i];
+                if (forest.tryUnion(v1[edge], v2[edge])) {
+                    tree[treeSize++] = edge;
+                }
+            }
+        }
+
+        private E pickPivot(int[] ids, int lo, int hi) {
+            E a = edges[ids[lo + rand.nextInt(hi - lo)]];
+            E b = edges[ids[lo + rand.nextInt(hi - lo)]];
+            E c = edges[ids[lo + rand.nextInt(hi - lo)]];
+            if (a.compareTo(b) > 0) {
+                E temp = a;
+                a = b;
+                b = temp;
+            }
+            if (b.compareTo(c) <= 0) {
+                return b;
+            }
+            return a.compareTo(c) >= 0 ? a : c;
+        }
+
+        /**
+         * Rearranges ids[lo] through ids[hi - 1] into edges less than, equal to, and
+         * greater than the pivot. Returns the end of the first group in the upper 32
+         * bits and the end of the second group in the lower 32 bits.
+         */
+        private long partition(int[] ids, int lo, int hi, E pivot) {
+            if (hi - lo < PARALLEL_CUTOFF) {
+                return partitionSequential(ids, lo, hi, pivot);
+            }
+            ensureScratch(ids.length);
+            int chunks = numChunks(hi - lo);
+            int chunkSize = (hi - lo + chunks - 1) / chunks;
+            int[] counts = new int[chunks * 3];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = lo + chunk * chunkSize;
+                int stop = Math.min(start + chunkSize, hi);
+                for (int i = start; i < stop; i++) {
+                    int cmp = edges[ids[i]].compareTo(pivot);
+                    byte group = (byte) (cmp < 0 ? 0 : (cmp == 0 ? 1 : 2));
+                    classes[i] = group;
+                    counts[chunk * 3 + group]++;
+                }
+            });
+
+            // offsets[chunk * 3 + group] is where that chunk's share of the group starts.
+            int[] offsets = new int[chunks * 3];
+            int next = lo;
+            for (int group = 0; group < 3; group++) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    offsets[chunk * 3 + group] = next;
+                    next += counts[chunk * 3 + group];
+                }
+            }
+            int lessEnd = offsets[1];
+            int equalEnd = offsets[2];
+
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = lo + chunk * chunkSize;
+                int stop = Math.min(start + chunkSize, hi);
+                for (int i = start; i < stop; i++) {
+                    scratch[offsets[chunk * 3 + classes[i]]++] = ids[i];
+                }
+            });
+            System.arraycopy(scratch, lo, ids, lo, hi - lo);
+            return ((long) lessEnd << 32) | equalEnd;
+        }
+
+        /**
+         * Dijkstra's three-way partition.
+         */
+        private long partitionSequential(int[] ids, int lo, int hi, E pivot) {
+            int lessEnd = lo;
+            int i = lo;
+            int greaterStart = hi;
+            while (i < greaterStart) {
+                int cmp = edges[ids[i]].compareTo(pivot);
+                if (cmp < 0) {
+                    swap(ids, lessEnd++, i++);
+                } else if (cmp > 0) {
+                    swap(ids, i, --greaterStart);
+                } else {
+                    i++;
+                }
+            }
+            return ((long) lessEnd << 32) | greaterStart;
+        }
+
+        /**
+         * Moves the edges among ids[lo] through ids[hi - 1] that join two different trees
+         * to the front of the range, keeping their order, and returns where they end.
+         */
+        private int filter(int[] ids, int lo, int hi) {
+            if (hi - lo < PARALLEL_CUTOFF) {
+                int kept = lo;
+                for (int i = lo; i < hi; i++) {
+                    int edge = ids[i];
+                    if (forest.find(v1[edge]) != forest.find(v2[edge])) {
+                        ids[kept++] = edge;
+                    }
+                }
+                return kept;
+            }
+            ensureScratch(ids.length);
+            int chunks = numChunks(hi - lo);
+            int chunkSize = (hi - lo + chunks - 1) / chunks;
+            int[] counts = new int[chunks];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = lo + chunk * chunkSize;
+                int stop = Math.min(start + chunkSize, hi);
+                for (int i = start; i < stop; i++) {
+                    int edge = ids[i];
+                    boolean keep = forest.find(v1[edge]) != forest.find(v2[edge]);
+                    classes[i] = (byte) (keep ? 1 : 0);
+                    if (keep) {
+                        counts[chunk]++;
+                    }
+                }
+            });
+            int[] offsets = new int[chunks];
+            int next = lo;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk] = next;
+                next += counts[chunk];
+            }
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = lo + chunk * chunkSize;
+                int stop = Math.min(start + chunkSize, hi);
+                int out = offsets[chunk];
+                for (int i = start; i < stop; i++) {
+                    if (classes[i] == 1) {
+                        scratch[out++] = ids[i];
+                    }
+                }
+            });
+            System.arraycopy(scratch, lo, ids, lo, next - lo);
+            return next;
+        }
+
+        /**
+         * Sorts ids[lo] through ids[hi - 1] by edge: a plain three-way quicksort that
+         * falls back to insertion sort on short ranges.
+         */
+        private void sort(int[] ids, int lo, int hi) {
+            while (hi - lo > 16) {
+                long bounds = partitionSequential(ids, lo, hi, pickPivot(ids, lo, hi));
+                int lessEnd = (int) (bounds >>> 32);
+                int equalEnd = (int) bounds;
+                // Recurse into the smaller side so the stack stays O(log n) deep.
+                if (lessEnd - lo < hi - equalEnd) {
+                    sort(ids, lo, lessEnd);
+                    lo = equalEnd;
+                } else {
+                    sort(ids, equalEnd, hi);
+                    hi = lessEnd;
+                }
+            }
+            for (int i = lo + 1; i < hi; i++) {
+                int id = ids[i];
+                int j = i - 1;
+                while (j >= lo && edges[ids[j]].compareTo(edges[id]) > 0) {
+                    ids[j + 1] = ids[j];
+                    j--;
+                }
+                ids[j + 1] = id;
+            }
+        }
+
+        private void ensureScratch(int length) {
+            if (scratch == null) {
+                scratch = new int[length];
+                classes = new byte[length];
+            }
+        }
+
+        private static int numChunks(int length) {
+            int chunks = Runtime.getRuntime().availableProcessors() * 4;
+            return Math.max(1, Math.min(chunks, length / (PARALLEL_CUTOFF / 4)));
+        }
+
+        private static void swap(int[] ids, int i, int j) {
+            int temp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = temp;
+        }
+    }
+}
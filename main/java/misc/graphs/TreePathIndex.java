@@ -0,0 +1,246 @@
+package misc.graphs;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.exceptions.NoPathExistsException;
+
+import java.util.Arrays;
+
+/**
+ * Answers path queries on a forest, such as the spanning tree of walls a maze
+ * carver knocks down, or the edges returned by Graph.findMinimumSpanningTree.
+ *
+ * In a forest there is exactly one path between two connected vertices, so no
+ * search is needed. Each tree is rooted and laid out in depth-first order once;
+ * then every query starts by finding the lowest common ancestor of its two
+ * vertices with a sparse table, which takes O(1) time. distanceBetween takes O(1)
+ * time in total, and pathBetween takes time proportional to the length of the path.
+ *
+ * The index takes about 4 log2(n) bytes per vertex for the sparse table, plus the
+ * graph itself.
+ */
+public class TreePathIndex<V, E extends Edge<V>> {
+    private final CsrGraph<V, E> graph;
+
+    // parent[v] is v's parent vertex (-1 for a root), parentEdge[v] the edge to it,
+    // root[v] the root of v's tree and depth[v] the total weight from root[v] to v.
+    private final int[] parent;
+    private final int[] parentEdge;
+    private final int[] root;
+    private final double[] depth;
+
+    // The vertices in depth-first preorder, so each subtree is a contiguous run:
+    // order[position[v]] == v.
+    private final int[] order;
+    private final int[] position;
+
+    // ancestorTable[k][i] is the smallest position[parent[order[j]]] for j in
+    // [i, i + 2^k). See lowestCommonAncestor.
+    private final int[][] ancestorTable;
+
+    /**
+     * Indexes the forest made of the given vertices and edges.
+     *
+     * @throws IllegalArgumentException  if one of the edges connects to a vertex not
+     *                                   present in the 'vertices' list
+     * @throws IllegalArgumentException  if the edges contain a cycle (including a
+     *                                   self-loop or parallel edges)
+     */
+    public TreePathIndex(IList<V> vertices, IList<E> edges) {
+        CsrGraph.Builder<V, E> builder = new CsrGraph.Builder<>();
+        for (V vertex : vertices) {
+            builder.addVertex(vertex);
+        }
+        for (E edge : edges) {
+            builder.addEdge(edge);
+        }
+        this.graph = builder.build();
+        int numVertices = graph.numVertices();
+        if (!isForest(graph)) {
+            throw new IllegalArgumentException();
+        }
+
+        parent = new int[numVertices];
+        parentEdge = new int[numVertices];
+        root = new int[numVertices];
+        depth = new double[numVertices];
+        order = new int[numVertices];
+        position = new int[numVertices];
+        layOut();
+
+        int levels = 1;
+        while ((1 << levels) <= numVertices) {
+            levels++;
+        }
+        ancestorTable = new int[levels][];
+        ancestorTable[0] = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            int up = parent[order[i]];
+            ancestorTable[0][i] = up == -1 ? Integer.MAX_VALUE : position[up];
+        }
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            int[] below = ancestorTable[k - 1];
+            int[] level = new int[numVertices - (1 << k) + 1];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = Math.min(below[i], below[i + half]);
+            }
+            ancestorTable[k] = level;
+        }
+    }
+
+    /**
+     * Indexes the forest made of the given vertices and edges. See the constructor
+     * above.
+     */
+    public TreePathIndex(ISet<V> vertices, ISet<E> edges) {
+        this(setToList(vertices), setToList(edges));
+    }
+
+    private static <T> IList<T> setToList(ISet<T> set) {
+        IList<T> output = new DoubleLinkedList<>();
+        for (T item : set) {
+            output.add(item);
+        }
+        return output;
+    }
+
+    private static <V, E extends Edge<V>> boolean isForest(CsrGraph<V, E> graph) {
+        int numVertices = graph.numVertices();
+        if (graph.numEdges() >= Math.max(numVertices, 1)) {
+            return false;
+        }
+        ArrayDisjointSet<V> components = new ArrayDisjointSet<>(numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            components.makeSet();
+        }
+        for (int e = 0; e < graph.numEdges(); e++) {
+            if (!components.union(graph.edgeVertex1[e], graph.edgeVertex2[e])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Roots every tree at its lowest-numbered vertex and fills in everything but the
+     * sparse table, walking depth-first with an explicit stack.
+     */
+    private void layOut() {
+        int numVertices = graph.numVertices();
+        boolean[] seen = new boolean[numVertices];
+        int[] stack = new int[numVertices];
+        int next = 0;
+        for (int start = 0; start < numVertices; start++) {
+            if (seen[start]) {
+                continue;
+            }
+            seen[start] = true;
+            parent[start] = -1;
+            parentEdge[start] = -1;
+            depth[start] = 0.0;
+            int size = 0;
+            stack[size++] = start;
+            while (size > 0) {
+                int v = stack[--size];
+                root[v] = start;
+                order[next] = v;
+                position[v] = next;
+                next++;
+                for (int i = graph.offsets[v]; i < graph.offsets[v + 1]; i++) {
+                    int child = graph.targets[i];
+                    if (!seen[child]) {
+                        seen[child] = true;
+                        parent[child] = v;
+                        parentEdge[child] = graph.edgeIds[i];
+                        depth[child] = depth[v] + graph.weights[graph.edgeIds[i]];
+                        stack[size++] = child;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns 'true' if the two vertices are in the same tree.
+     */
+    public boolean hasPathBetween(V start, V end) {
+        int u = graph.idOf(start);
+        int v = graph.idOf(end);
+        return u != -1 && v != -1 && root[u] == root[v];
+    }
+
+    /**
+     * Returns the total weight of the path between the two vertices. The weight is
+     * computed from each vertex's distance to the root, so it may differ from the
+     * sum of the path's edge weights by rounding error.
+     *
+     * @throws NoPathExistsException  if the vertices are not in the same tree
+     */
+    public double distanceBetween(V start, V end) {
+        int u = graph.idOf(start);
+        int v = graph.idOf(end);
+        checkConnected(u, v);
+        return depth[u] + depth[v] - 2 * depth[lowestCommonAncestor(u, v)];
+    }
+
+    /**
+     * Returns the edges of the path from the start to the end, in start-to-end order.
+     * The path is empty if the start and end are the same vertex.
+     *
+     * @throws NoPathExistsException  if the vertices are not in the same tree
+     */
+    public IList<E> pathBetween(V start, V end) {
+        int u = graph.idOf(start);
+        int v = graph.idOf(end);
+        checkConnected(u, v);
+        int ancestor = lowestCommonAncestor(u, v);
+
+        IList<E> path = new DoubleLinkedList<>();
+        for (int look = u; look != ancestor; look = parent[look]) {
+            path.add(graph.edges[parentEdge[look]]);
+        }
+        // The end's half is found bottom-up, so collect it and add it back to front.
+        int[] endHalf = new int[16];
+        int numEndHalf = 0;
+        for (int look = v; look != ancestor; look = parent[look]) {
+            if (numEndHalf == endHalf.length) {
+                endHalf = Arrays.copyOf(endHalf, numEndHalf * 2);
+            }
+            endHalf[numEndHalf++] = parentEdge[look];
+        }
+        for (int i = numEndHalf - 1; i >= 0; i--) {
+            path.add(graph.edges[endHalf[i]]);
+        }
+        return path;
+    }
+
+    private void checkConnected(int u, int v) {
+        if (u == -1 || v == -1 || root[u] != root[v]) {
+            throw new NoPathExistsException();
+        }
+    }
+
+    /**
+     * Returns the deepest vertex that is an ancestor of both u and v (either may be
+     * an ancestor of itself). Both must be in the same tree.
+     */
+    private int lowestCommonAncestor(int u, int v) {
+        if (u == v) {
+            return u;
+        }
+        int from = Math.min(position[u], position[v]);
+        int to = Math.max(position[u], position[v]);
+        // Say u comes first in preorder. If u is an ancestor of v, then u is the
+        // parent of the first vertex on the way down to v and no vertex after u up
+        // to v has a parent higher than u. Otherwise the walk from u to v climbs
+        // back to just below the ancestor before going down, so the ancestor is
+        // again the highest (earliest) parent among positions (from, to].
+        int length = to - from;
+        int k = 31 - Integer.numberOfLeadingZeros(length);
+        int[] level = ancestorTable[k];
+        return order[Math.min(level[from + 1], level[to - (1 << k) + 1])];
+    }
+}
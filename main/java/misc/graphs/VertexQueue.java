@@ -0,0 +1,109 @@
+package misc.graphs;
+
+import datastructures.concrete.AbstractIndexedHeap;
+
+/**
+ * A 4-ary min-heap of vertex ids, ordered by a priority stored alongside each id.
+ *
+ * Unlike ArrayHeap, this heap remembers which slot every vertex occupies, so lowering
+ * a vertex's priority moves it in place instead of inserting a duplicate entry.
+ * IndexedArrayHeap does the same for objects, but would box every id and priority and
+ * hash each id on every move; since the vertices here are dense ids, plain arrays
+ * indexed by id do that job instead. The sifting itself is shared with it.
+ */
+class VertexQueue extends AbstractIndexedHeap {
+    private int[] heap;
+    // position[v] is the slot holding vertex v, or -1 if v is not in the heap
+    private int[] position;
+    private double[] keys;
+    // null when the vertices are ordered by their keys.
+    private VertexOrder order;
+
+    public VertexQueue(int numVerts) {
+        this(numVerts, null);
+    }
+
+    /**
+     * Creates a heap whose vertices are ordered by the given order rather than by
+     * priorities. Such a heap is filled with insertOrDecrease(vertex).
+     */
+    public VertexQueue(int numVerts, VertexOrder order) {
+        heap = new int[numVerts];
+        position = new int[numVerts];
+        keys = order == null ? new double[numVerts] : null;
+        this.order = order;
+        for (int v = 0; v < numVerts; v++) {
+            position[v] = -1;
+        }
+        length = 0;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Adds the vertex with the given priority, or lowers its priority if it is
+     * already in the heap.
+     */
+    public void insertOrDecrease(int vertex, double key) {
+        keys[vertex] = key;
+        insertOrDecrease(vertex);
+    }
+
+    /**
+     * Adds the vertex, or moves it up if it is already in the heap. For heaps with a
+     * VertexOrder, to be called after the vertex has moved earlier in that order.
+     */
+    public void insertOrDecrease(int vertex) {
+        if (position[vertex] == -1) {
+            heap[length] = vertex;
+            position[vertex] = length;
+            length++;
+        }
+        percolateUp(position[vertex]);
+    }
+
+    /**
+     * Returns the smallest priority in the heap. The heap must not be empty.
+     */
+    public double peekMinKey() {
+        return keys[heap[0]];
+    }
+
+    public int removeMin() {
+        int min = heap[0];
+        position[min] = -1;
+        length--;
+        if (length > 0) {
+            heap[0] = heap[length];
+            position[heap[0]] = 0;
+            percolateDown(0);
+        }
+        return min;
+    }
+
+    @Override
+    protected int compareSlots(int a, int b) {
+        if (order != null) {
+            return order.compare(heap[a], heap[b]);
+        }
+        return Double.compare(keys[heap[a]], keys[heap[b]]);
+    }
+
+    @Override
+    protected void swapSlots(int a, int b) {
+        int vertex = heap[a];
+        heap[a] = heap[b];
+        heap[b] = vertex;
+        position[heap[a]] = a;
+        position[vertex] = b;
+    }
+
+    /**
+     * An ordering of vertex ids, for heaps whose priorities are not plain numbers.
+     */
+    interface VertexOrder {
+        int compare(int u, int v);
+    }
+}
@@ -4,6 +4,7 @@ import datastructures.concrete.ArrayDisjointSet;
 import datastructures.interfaces.IDisjointSet;
 import misc.BaseTest;
 import org.junit.Test;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -185,4 +186,85 @@ public class TestArrayDisjointSet extends BaseTest {
         }
         
     }
+
+    @Test(timeout=SECOND)
+    public void testIntIndexedBasics() {
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, forest.makeSet());
+        }
+        assertEquals(5, forest.numSets());
+
+        assertTrue(forest.union(0, 1));
+        assertTrue(forest.union(2, 3));
+        assertFalse(forest.union(1, 0));
+        assertEquals(3, forest.numSets());
+        assertTrue(forest.sameSet(0, 1));
+        assertFalse(forest.sameSet(0, 2));
+        assertEquals(2, forest.setSize(1));
+        assertEquals(1, forest.setSize(4));
+
+        // The bigger set's root stays the root.
+        assertTrue(forest.union(4, 2));
+        assertEquals(forest.find(2), forest.find(4));
+        assertEquals(3, forest.setSize(4));
+        assertTrue(forest.find(4) == 2 || forest.find(4) == 3);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIntIndexedIllegalIds() {
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>();
+        forest.makeSet();
+        try {
+            forest.find(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.union(0, -1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGenericAndIntIdsAgree() {
+        String[] items = new String[] {"a", "b", "c", "d"};
+        IDisjointSet<String> generic = this.createForest(items);
+        ArrayDisjointSet<String> forest = (ArrayDisjointSet<String>) generic;
+
+        // makeSet(T) hands out ids in order, so "c" is id 2.
+        assertTrue(forest.union(2, 3));
+        assertEquals(forest.find(2), forest.findSet("d"));
+        try {
+            forest.union("c", "d");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(3, forest.numSets());
+    }
+
+    @Test(timeout=4 * SECOND)
+    public void testMillionsOfIntUnions() {
+        int numItems = 2000000;
+        ArrayDisjointSet<Integer> forest = new ArrayDisjointSet<>(numItems);
+        for (int i = 0; i < numItems; i++) {
+            forest.makeSet();
+        }
+        // Joining neighbours in a strided order builds long paths before any compression.
+        for (int stride = 1; stride < numItems; stride *= 2) {
+            for (int i = 0; i + stride < numItems; i += 2 * stride) {
+                assertTrue(forest.union(i + stride, i));
+            }
+        }
+        assertEquals(1, forest.numSets());
+        assertEquals(numItems, forest.setSize(0));
+        int root = forest.find(0);
+        for (int i = 0; i < numItems; i++) {
+            assertEquals(root, forest.find(i));
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package datastructures;
+
+import datastructures.concrete.ConcurrentDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestConcurrentDisjointSet extends BaseTest {
+    private static final int NUM_THREADS = 8;
+
+    @Test(timeout=SECOND)
+    public void testSingleThreadedBasics() {
+        ConcurrentDisjointSet forest = new ConcurrentDisjointSet(5);
+        assertEquals(5, forest.numSets());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, forest.find(i));
+        }
+
+        assertTrue(forest.tryUnion(0, 1));
+        assertTrue(forest.tryUnion(3, 4));
+        assertFalse(forest.tryUnion(1, 0));
+        assertEquals(3, forest.numSets());
+        assertTrue(forest.sameSet(0, 1));
+        assertFalse(forest.sameSet(1, 3));
+
+        assertTrue(forest.tryUnion(1, 4));
+        assertTrue(forest.sameSet(0, 3));
+        assertEquals(forest.find(0), forest.find(4));
+        assertEquals(2, forest.numSets());
+    }
+
+    @Test(timeout=SECOND)
+    public void testOutOfRange() {
+        ConcurrentDisjointSet forest = new ConcurrentDisjointSet(3);
+        try {
+            forest.find(3);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.tryUnion(-1, 0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testLongChain() {
+        // Union-by-index on a chain builds a deep tree; path halving has to flatten it.
+        int size = 1000000;
+        ConcurrentDisjointSet forest = new ConcurrentDisjointSet(size);
+        for (int i = 1; i < size; i++) {
+            assertTrue(forest.tryUnion(i - 1, i));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(size - 1, forest.find(i));
+        }
+        assertEquals(1, forest.numSets());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testConcurrentUnionsMatchSequential() throws InterruptedException {
+        int size = 200000;
+        int numEdges = 150000;
+        int[] from = new int[numEdges];
+        int[] to = new int[numEdges];
+        Random rand = new Random(8);
+        for (int i = 0; i < numEdges; i++) {
+            from[i] = rand.nextInt(size);
+            to[i] = rand.nextInt(size);
+        }
+
+        ConcurrentDisjointSet forest = new ConcurrentDisjointSet(size);
+        int[] merges = new int[NUM_THREADS];
+        Thread[] threads = new Thread[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = id; i < numEdges; i += NUM_THREADS) {
+                    if (forest.tryUnion(from[i], to[i])) {
+                        merges[id]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ConcurrentDisjointSet expected = new ConcurrentDisjointSet(size);
+        for (int i = 0; i < numEdges; i++) {
+            expected.tryUnion(from[i], to[i]);
+        }
+        int totalMerges = 0;
+        for (int count : merges) {
+            totalMerges += count;
+        }
+        assertEquals(expected.numSets(), forest.numSets());
+        assertEquals(size - forest.numSets(), totalMerges);
+        for (int i = 0; i < numEdges; i++) {
+            assertTrue(forest.sameSet(from[i], to[i]));
+        }
+        for (int i = 0; i < 1000; i++) {
+            int a = rand.nextInt(size);
+            int b = rand.nextInt(size);
+            assertEquals(expected.sameSet(a, b), forest.sameSet(a, b));
+        }
+    }
+}
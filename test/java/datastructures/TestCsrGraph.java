@@ -0,0 +1,109 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.graphs.CsrGraph;
+import misc.graphs.Graph;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestCsrGraph extends BaseTest {
+    private CsrGraph<String, SimpleEdge<String>> buildGraph() {
+        CsrGraph.Builder<String, SimpleEdge<String>> builder = new CsrGraph.Builder<>();
+        builder.addVertex("a");
+        builder.addVertex("b");
+        builder.addVertex("c");
+        builder.addVertex("d");
+        builder.addEdge(new SimpleEdge<>("a", "b", 1));
+        builder.addEdge(new SimpleEdge<>("a", "c", 4));
+        builder.addEdge(new SimpleEdge<>("b", "c", 2));
+        builder.addEdge(new SimpleEdge<>("c", "c", 5)); // self-loop
+        builder.addEdge(new SimpleEdge<>("b", "c", 7)); // parallel edge
+        return builder.build();
+    }
+
+    @Test(timeout=SECOND)
+    public void testIds() {
+        CsrGraph.Builder<String, SimpleEdge<String>> builder = new CsrGraph.Builder<>();
+        assertEquals(0, builder.addVertex("a"));
+        assertEquals(1, builder.addVertex("b"));
+        assertEquals(0, builder.addVertex("a"));
+        assertEquals(0, builder.addEdge(new SimpleEdge<>("a", "b", 3)));
+        CsrGraph<String, SimpleEdge<String>> graph = builder.build();
+
+        assertEquals(2, graph.numVertices());
+        assertEquals(1, graph.numEdges());
+        assertEquals(1, graph.idOf("b"));
+        assertEquals(-1, graph.idOf("z"));
+        assertEquals("b", graph.vertex(1));
+        assertEquals(0, graph.edgeVertex1(0));
+        assertEquals(1, graph.edgeVertex2(0));
+        assertEquals(3.0, graph.weight(0), 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testNeighbours() {
+        CsrGraph<String, SimpleEdge<String>> graph = this.buildGraph();
+        int c = graph.idOf("c");
+        // a-c, b-c, b-c again, and the self-loop counted once.
+        assertEquals(4, graph.degree(c));
+        assertEquals(0, graph.degree(graph.idOf("d")));
+
+        double total = 0.0;
+        for (int i = graph.offset(c); i < graph.offset(c + 1); i++) {
+            SimpleEdge<String> edge = graph.edge(graph.edgeId(i));
+            assertTrue(edge.getVertex1().equals("c") || edge.getVertex2().equals("c"));
+            assertEquals(graph.vertex(graph.target(i)), edge.getOtherVertex("c"));
+            total += graph.weight(graph.edgeId(i));
+        }
+        assertEquals(4 + 2 + 5 + 7, total, 0.0);
+        assertEquals(2 * graph.numEdges() - 1, graph.offset(graph.numVertices()));
+    }
+
+    @Test(timeout=SECOND)
+    public void testBuilderErrors() {
+        CsrGraph.Builder<String, SimpleEdge<String>> builder = new CsrGraph.Builder<>();
+        builder.addVertex("a");
+        try {
+            builder.addEdge(new SimpleEdge<>("a", "b", 1));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        builder.build();
+        try {
+            builder.addVertex("b");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGraphRunsOverCsr() {
+        Graph<String, SimpleEdge<String>> graph = new Graph<>(this.buildGraph());
+        assertEquals(4, graph.numVertices());
+        assertEquals(5, graph.numEdges());
+
+        IList<SimpleEdge<String>> path = graph.findShortestPathBetween("a", "c");
+        assertEquals(2, path.size());
+        assertEquals(2.0, path.get(1).getWeight(), 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testGraphRejectsNegativeWeights() {
+        CsrGraph.Builder<String, SimpleEdge<String>> builder = new CsrGraph.Builder<>();
+        builder.addVertex("a");
+        builder.addVertex("b");
+        builder.addEdge(new SimpleEdge<>("a", "b", -1));
+        try {
+            new Graph<>(builder.build());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package datastructures;
 
+import datastructures.concrete.ArrayDisjointSet;
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import misc.BaseTest;
 import misc.exceptions.NoPathExistsException;
+import misc.graphs.ContractionHierarchy;
 import misc.graphs.Edge;
 import misc.graphs.Graph;
+import misc.graphs.MstStrategy;
+import misc.graphs.SearchResult;
+import misc.graphs.ShortestPathTree;
 import org.junit.Test;
 
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class TestGraph extends BaseTest {
+    private static final int NUM_THREADS = 8;
+
     public static class SimpleEdge<V> implements Edge<V>, Comparable<SimpleEdge<V>> {
         private V vertex1;
         private V vertex2;
@@ -73,6 +83,20 @@ public class TestGraph extends BaseTest {
         }
     }
 
+    /**
+     * An edge that compares larger the lighter it is.
+     */
+    public static class ReversedEdge<V> extends SimpleEdge<V> {
+        public ReversedEdge(V vertex1, V vertex2, double weight) {
+            super(vertex1, vertex2, weight);
+        }
+
+        @Override
+        public int compareTo(SimpleEdge<V> other) {
+            return -super.compareTo(other);
+        }
+    }
+
     /**
      * A convenience method for constructing a new SimpleEdge, since having to
      * type 'new SimpleEdge<>(...)' everywhere would be clunky and annoying.
@@ -277,6 +301,189 @@ public class TestGraph extends BaseTest {
         assertTrue(mst.contains(edge("d", "f", 6)));
     }
 
+    @Test(timeout=SECOND)
+    public void testFindingMstEveryStrategy() {
+        for (MstStrategy strategy : MstStrategy.values()) {
+            Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
+            ISet<SimpleEdge<String>> mst = graph.findMinimumSpanningTree(strategy);
+
+            assertEquals(graph.numVertices() - 1, mst.size());
+            assertTrue(mst.contains(edge("a", "d", 1)));
+            assertTrue(mst.contains(edge("a", "b", 2)));
+            assertTrue(mst.contains(edge("b", "e", 3)));
+            assertTrue(mst.contains(edge("a", "c", 5)));
+            assertTrue(mst.contains(edge("d", "f", 6)));
+
+            // Self-loops and parallel edges must never end up in the tree twice.
+            Graph<String, SimpleEdge<String>> complex = this.buildComplexGraph();
+            assertEquals(complex.numVertices() - 1, complex.findMinimumSpanningTree(strategy).size());
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testMstStrategiesAgreeWithManyTies() {
+        // Enough edges that Filter-Kruskal partitions and filters in parallel, and
+        // only three distinct weights, so almost every comparison is a tie.
+        int numVerts = 5000;
+        Random rand = new Random(10);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVerts; i++) {
+            vertices.add(i);
+            if (i > 0) {
+                edges.add(edge(i, rand.nextInt(i), 1 + rand.nextInt(3)));
+            }
+        }
+        for (int i = 0; i < 60000; i++) {
+            edges.add(edge(rand.nextInt(numVerts), rand.nextInt(numVerts), 1 + rand.nextInt(3)));
+        }
+
+        double expected = -1;
+        for (MstStrategy strategy : MstStrategy.values()) {
+            ISet<SimpleEdge<Integer>> mst = new Graph<>(vertices, edges).findMinimumSpanningTree(strategy);
+            assertEquals(numVerts - 1, mst.size());
+
+            // The tree has the right size, so it spans every vertex if it has no cycle.
+            ArrayDisjointSet<String> forest = new ArrayDisjointSet<>(numVerts);
+            for (int i = 0; i < numVerts; i++) {
+                forest.makeSet();
+            }
+            double total = 0.0;
+            for (SimpleEdge<Integer> edge : mst) {
+                assertTrue(forest.union(edge.getVertex1().intValue(), edge.getVertex2().intValue()));
+                total += edge.getWeight();
+            }
+            if (expected < 0) {
+                expected = total;
+            }
+            assertEquals(expected, total, 0.0001);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBoruvkaBreaksTiesByEdgeId() {
+        // Every edge of a complete graph weighs the same, so each component's cheapest
+        // edge is decided by the tie-break alone. Picking edges inconsistently here
+        // would close a cycle. With ties broken by edge id, the tree must be the one
+        // Kruskal builds when it scans the edges in the order they were added.
+        int numVerts = 30;
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVerts; i++) {
+            vertices.add(i);
+        }
+        for (int i = numVerts - 1; i >= 0; i--) {
+            for (int j = 0; j < i; j++) {
+                edges.add(edge(i, j, 1));
+            }
+        }
+        ISet<SimpleEdge<Integer>> mst = new Graph<>(vertices, edges).findMinimumSpanningTree(MstStrategy.BORUVKA);
+
+        ArrayDisjointSet<String> forest = new ArrayDisjointSet<>(numVerts);
+        for (int i = 0; i < numVerts; i++) {
+            forest.makeSet();
+        }
+        int expectedSize = 0;
+        for (SimpleEdge<Integer> edge : edges) {
+            if (forest.union(edge.getVertex1().intValue(), edge.getVertex2().intValue())) {
+                assertTrue(mst.contains(edge));
+                expectedSize++;
+            }
+        }
+        assertEquals(numVerts - 1, expectedSize);
+        assertEquals(expectedSize, mst.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBoruvkaOnDisconnectedGraph() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        ISet<SimpleEdge<String>> mst = graph.findMinimumSpanningTree(MstStrategy.BORUVKA);
+
+        // One tree for each of the two components.
+        assertEquals(graph.numVertices() - 2, mst.size());
+        assertTrue(mst.contains(edge("c", "f", 0)));
+        assertTrue(mst.contains(edge("a", "b", 1)));
+        assertTrue(mst.contains(edge("e", "f", 1)));
+        assertTrue(mst.contains(edge("b", "c", 2)));
+        assertTrue(mst.contains(edge("e", "g", 2)));
+        assertTrue(mst.contains(edge("c", "d", 3)));
+        assertTrue(mst.contains(edge("h", "j", 1)));
+        assertTrue(mst.contains(edge("h", "k", 1)));
+        assertTrue(mst.contains(edge("i", "k", 2)));
+
+        // Isolated vertices are components of their own and add no edges.
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("c");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "a", 1));
+        assertEquals(0, new Graph<>(vertices, edges).findMinimumSpanningTree(MstStrategy.BORUVKA).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBoruvkaWithParallelEdgesBetweenComponents() {
+        // After the first round, {a, b} and {c, d} are joined only by the parallel
+        // edges between b and c. Both components offer the same cheapest edge, which
+        // must be added once, and of the two tied edges the one added first wins.
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("c");
+        vertices.add("d");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("b", "c", 5));
+        edges.add(edge("b", "c", 2));
+        edges.add(edge("c", "b", 2));
+        edges.add(edge("a", "b", 1));
+        edges.add(edge("c", "d", 1));
+        edges.add(edge("c", "b", 1.5));
+        edges.add(edge("b", "c", 3));
+
+        ISet<SimpleEdge<String>> mst = new Graph<>(vertices, edges).findMinimumSpanningTree(MstStrategy.BORUVKA);
+        assertEquals(3, mst.size());
+        assertTrue(mst.contains(edge("a", "b", 1)));
+        assertTrue(mst.contains(edge("c", "d", 1)));
+        assertTrue(mst.contains(edge("c", "b", 1.5)));
+
+        edges.delete(5);
+        mst = new Graph<>(vertices, edges).findMinimumSpanningTree(MstStrategy.BORUVKA);
+        assertEquals(3, mst.size());
+        assertTrue(mst.contains(edge("b", "c", 2)));
+        assertFalse(mst.contains(edge("c", "b", 2)));
+    }
+
+    @Test(timeout=SECOND)
+    public void testMstStrategiesOrderByCompareTo() {
+        // Edges that compare in the opposite order to their weights, so a strategy
+        // that ordered them by weight would build the lightest tree instead.
+        Random rand = new Random(11);
+        int numVerts = 200;
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVerts; i++) {
+            vertices.add(i);
+            if (i > 0) {
+                edges.add(new ReversedEdge<>(i, rand.nextInt(i), rand.nextInt(5)));
+            }
+        }
+        for (int i = 0; i < 3000; i++) {
+            edges.add(new ReversedEdge<>(rand.nextInt(numVerts), rand.nextInt(numVerts), rand.nextInt(5)));
+        }
+
+        double expected = -1;
+        for (MstStrategy strategy : MstStrategy.values()) {
+            double total = 0.0;
+            for (SimpleEdge<Integer> edge : new Graph<>(vertices, edges).findMinimumSpanningTree(strategy)) {
+                total += edge.getWeight();
+            }
+            if (expected < 0) {
+                expected = total;
+            }
+            assertEquals(strategy.toString(), expected, total, 0.0001);
+        }
+    }
+
     @Test(timeout=SECOND)                                                           //CHANGE
     public void testFindingShortestPathSimple() {
         Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
@@ -299,6 +506,390 @@ public class TestGraph extends BaseTest {
         checkPathMatches(graph, 1, new String[] {"b", "a"});
     }
 
+    @Test(timeout=SECOND)
+    public void testAStarWithZeroHeuristicMatchesDijkstra() {
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        SearchResult<SimpleEdge<String>> result = graph.findShortestPathAStar("a", "g", (v, goal) -> 0.0);
+        assertEquals(6.0, result.getCost(), 0.0001);
+        assertEquals(5, result.getPath().size());
+        assertTrue(result.getNodesExpanded() > 0 && result.getNodesExpanded() <= graph.numVertices());
+
+        SearchResult<SimpleEdge<String>> same = graph.findShortestPathAStar("a", "a", (v, goal) -> 0.0);
+        assertEquals(0, same.getPath().size());
+        assertEquals(0, same.getNodesExpanded());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAStarExpandsFewerWithGoodHeuristic() {
+        // Vertices on a line, so the distance between indices is an exact heuristic.
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(i);
+            if (i > 0) {
+                edges.add(edge(i - 1, i, 1));
+            }
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+        SearchResult<SimpleEdge<Integer>> blind = graph.findShortestPathAStar(50, 60, (v, goal) -> 0.0);
+        SearchResult<SimpleEdge<Integer>> guided = graph.findShortestPathAStar(50, 60,
+            (v, goal) -> Math.abs(goal - v));
+        assertEquals(10.0, blind.getCost(), 0.0);
+        assertEquals(10.0, guided.getCost(), 0.0);
+        assertEquals(11, guided.getNodesExpanded());
+        assertTrue(blind.getNodesExpanded() >= 20);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAStarErrors() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        try {
+            graph.findShortestPathAStar("a", "i", (v, goal) -> 0.0);
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.findShortestPathAStar("a", "b", null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBidirectionalMatchesDijkstra() {
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        String[] path = new String[] {"a", "b", "c", "f", "e", "g"};
+        SearchResult<SimpleEdge<String>> result = graph.findShortestPathBidirectional("a", "g");
+        assertEquals(6.0, result.getCost(), 0.0001);
+        assertEquals(path.length - 1, result.getPath().size());
+        String curr = "a";
+        for (int i = 0; i < result.getPath().size(); i++) {
+            curr = result.getPath().get(i).getOtherVertex(curr);
+            assertEquals(path[i + 1], curr);
+        }
+
+        assertEquals(0, graph.findShortestPathBidirectional("d", "d").getPath().size());
+        assertEquals(1.0, graph.findShortestPathBidirectional("b", "a").getCost(), 0.0);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testBidirectionalOnRandomGraphs() {
+        Random rand = new Random(16);
+        for (int round = 0; round < 200; round++) {
+            int numVerts = 2 + rand.nextInt(40);
+            IList<Integer> vertices = new DoubleLinkedList<>();
+            IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+            for (int i = 0; i < numVerts; i++) {
+                vertices.add(i);
+            }
+            int numEdges = rand.nextInt(numVerts * 3);
+            for (int i = 0; i < numEdges; i++) {
+                edges.add(edge(rand.nextInt(numVerts), rand.nextInt(numVerts), rand.nextInt(10)));
+            }
+            Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+            int from = rand.nextInt(numVerts);
+            int to = rand.nextInt(numVerts);
+
+            double expected;
+            try {
+                expected = graph.findShortestPathAStar(from, to, (v, goal) -> 0.0).getCost();
+            } catch (NoPathExistsException ex) {
+                try {
+                    graph.findShortestPathBidirectional(from, to);
+                    fail("Expected NoPathExistsException");
+                } catch (NoPathExistsException ex2) {
+                    // All ok -- expected result
+                }
+                continue;
+            }
+            SearchResult<SimpleEdge<Integer>> result = graph.findShortestPathBidirectional(from, to);
+            assertEquals(expected, result.getCost(), 0.0001);
+
+            int curr = from;
+            double cost = 0.0;
+            for (SimpleEdge<Integer> edge : result.getPath()) {
+                curr = edge.getOtherVertex(curr);
+                cost += edge.getWeight();
+            }
+            assertEquals(to, curr);
+            assertEquals(expected, cost, 0.0001);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testShortestPathSpecialWeights() {
+        // Uniform weights and {0, c} weights are searched without a heap, and so are
+        // forests whatever their weights. Check each against A* with no heuristic,
+        // which always runs the full Dijkstra loop.
+        Random rand = new Random(19);
+        for (int round = 0; round < 300; round++) {
+            int numVerts = 2 + rand.nextInt(40);
+            IList<Integer> vertices = new DoubleLinkedList<>();
+            IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+            for (int i = 0; i < numVerts; i++) {
+                vertices.add(i);
+            }
+            if (round % 3 == 0) {
+                // A random tree with arbitrary weights.
+                for (int i = 1; i < numVerts; i++) {
+                    edges.add(edge(i, rand.nextInt(i), rand.nextDouble() * 10));
+                }
+            } else {
+                int numEdges = rand.nextInt(numVerts * 3);
+                for (int i = 0; i < numEdges; i++) {
+                    double weight = round % 3 == 1 ? 2.5 : 2.5 * rand.nextInt(2);
+                    edges.add(edge(rand.nextInt(numVerts), rand.nextInt(numVerts), weight));
+                }
+            }
+            Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+            int from = rand.nextInt(numVerts);
+            int to = rand.nextInt(numVerts);
+
+            double expected;
+            try {
+                expected = graph.findShortestPathAStar(from, to, (v, goal) -> 0.0).getCost();
+            } catch (NoPathExistsException ex) {
+                try {
+                    graph.findShortestPathBetween(from, to);
+                    fail("Expected NoPathExistsException");
+                } catch (NoPathExistsException ex2) {
+                    // All ok -- expected result
+                }
+                assertFalse(graph.findShortestPathTree(from).hasPathTo(to));
+                continue;
+            }
+            int curr = from;
+            double cost = 0.0;
+            for (SimpleEdge<Integer> edge : graph.findShortestPathBetween(from, to)) {
+                curr = edge.getOtherVertex(curr);
+                cost += edge.getWeight();
+            }
+            assertEquals(to, curr);
+            assertEquals(expected, cost, 0.0001);
+            assertEquals(expected, graph.findShortestPathTree(from).distanceTo(to), 0.0001);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testContractionHierarchyMatchesDijkstra() {
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        ContractionHierarchy<String, SimpleEdge<String>> hierarchy = graph.buildContractionHierarchy();
+        String[] path = new String[] {"a", "b", "c", "f", "e", "g"};
+        IList<SimpleEdge<String>> edges = hierarchy.findShortestPathBetween("a", "g");
+        assertEquals(path.length - 1, edges.size());
+        String curr = "a";
+        for (int i = 0; i < edges.size(); i++) {
+            curr = edges.get(i).getOtherVertex(curr);
+            assertEquals(path[i + 1], curr);
+        }
+
+        String[] vertices = new String[] {"a", "b", "c", "d", "e", "f", "g"};
+        for (String from : vertices) {
+            for (String to : vertices) {
+                double expected = graph.findShortestPathAStar(from, to, (v, goal) -> 0.0).getCost();
+                assertEquals(expected, hierarchy.findShortestPath(from, to).getCost(), 0.0001);
+            }
+        }
+        assertEquals(0, hierarchy.findShortestPathBetween("d", "d").size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testContractionHierarchyNoPath() {
+        ContractionHierarchy<String, SimpleEdge<String>> hierarchy =
+                this.buildDisconnectedGraph().buildContractionHierarchy();
+        assertEquals(3.0, hierarchy.findShortestPath("h", "i").getCost(), 0.0001);
+        try {
+            hierarchy.findShortestPathBetween("a", "i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            hierarchy.findShortestPathBetween("a", "z");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        // A failed query must leave nothing behind for the next one.
+        assertEquals(6.0, hierarchy.findShortestPath("a", "g").getCost(), 0.0001);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testContractionHierarchyOnRandomGraphs() {
+        Random rand = new Random(18);
+        for (int round = 0; round < 100; round++) {
+            int numVerts = 2 + rand.nextInt(60);
+            IList<Integer> vertices = new DoubleLinkedList<>();
+            IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+            for (int i = 0; i < numVerts; i++) {
+                vertices.add(i);
+            }
+            int numEdges = rand.nextInt(numVerts * 3);
+            for (int i = 0; i < numEdges; i++) {
+                edges.add(edge(rand.nextInt(numVerts), rand.nextInt(numVerts), rand.nextInt(10)));
+            }
+            Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+            ContractionHierarchy<Integer, SimpleEdge<Integer>> hierarchy = graph.buildContractionHierarchy();
+
+            for (int query = 0; query < 10; query++) {
+                int from = rand.nextInt(numVerts);
+                int to = rand.nextInt(numVerts);
+                double expected;
+                try {
+                    expected = graph.findShortestPathAStar(from, to, (v, goal) -> 0.0).getCost();
+                } catch (NoPathExistsException ex) {
+                    try {
+                        hierarchy.findShortestPath(from, to);
+                        fail("Expected NoPathExistsException");
+                    } catch (NoPathExistsException ex2) {
+                        // All ok -- expected result
+                    }
+                    continue;
+                }
+                SearchResult<SimpleEdge<Integer>> result = hierarchy.findShortestPath(from, to);
+                assertEquals(expected, result.getCost(), 0.0001);
+
+                int curr = from;
+                double cost = 0.0;
+                for (SimpleEdge<Integer> edge : result.getPath()) {
+                    curr = edge.getOtherVertex(curr);
+                    cost += edge.getWeight();
+                }
+                assertEquals(to, curr);
+                assertEquals(expected, cost, 0.0001);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathTree() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        ShortestPathTree<String, SimpleEdge<String>> tree = graph.findShortestPathTree("a");
+        assertEquals("a", tree.getSource());
+        assertEquals(0.0, tree.distanceTo("a"), 0.0);
+        assertEquals(0, tree.pathTo("a").size());
+        assertEquals(6.0, tree.distanceTo("g"), 0.0001);
+        assertEquals(5, tree.pathTo("g").size());
+        assertEquals(6.0, tree.distanceTo("d"), 0.0001);
+
+        assertFalse(tree.hasPathTo("i"));
+        assertFalse(tree.hasPathTo("z"));
+        try {
+            tree.pathTo("i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.findShortestPathTree("z");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathTreeCache() {
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        graph.setShortestPathTreeCacheSize(2);
+        ShortestPathTree<String, SimpleEdge<String>> treeA = graph.findShortestPathTree("a");
+        assertTrue(treeA == graph.findShortestPathTree("a"));
+        graph.findShortestPathTree("b");
+        graph.findShortestPathTree("c");
+        // "a" was the least recently used of the three, so it has been evicted.
+        assertTrue(treeA != graph.findShortestPathTree("a"));
+
+        // A cached tree also answers plain path queries from its source.
+        checkPathMatches(graph, 6, new String[] {"a", "b", "c", "f", "e", "g"});
+
+        graph.setShortestPathTreeCacheSize(0);
+        assertTrue(graph.findShortestPathTree("a") != graph.findShortestPathTree("a"));
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentFirstQueries() throws InterruptedException {
+        // Several threads race to be the first to query a fresh graph, so they all
+        // ask for its CSR form before it has been built.
+        int numVerts = 100000;
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVerts; i++) {
+            vertices.add(i);
+            if (i > 0) {
+                edges.add(edge(i - 1, i, 1 + i % 3));
+            }
+        }
+        for (int round = 0; round < 5; round++) {
+            Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+            graph.setShortestPathTreeCacheSize(0);
+            int[] lengths = new int[NUM_THREADS];
+            Throwable[] errors = new Throwable[NUM_THREADS];
+            Thread[] threads = new Thread[NUM_THREADS];
+            for (int t = 0; t < NUM_THREADS; t++) {
+                int id = t;
+                threads[t] = new Thread(() -> {
+                    try {
+                        lengths[id] = graph.findShortestPathBetween(0, numVerts - 1).size();
+                    } catch (Throwable ex) {
+                        errors[id] = ex;
+                    }
+                });
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (int t = 0; t < NUM_THREADS; t++) {
+                assertEquals(null, errors[t]);
+                assertEquals(numVerts - 1, lengths[t]);
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentShortestPathTreeCache() throws InterruptedException {
+        // Every lookup reorders the LRU cache, so threads sharing a small cache keep
+        // evicting each other's trees while they read.
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        graph.setShortestPathTreeCacheSize(2);
+        String[] sources = {"a", "b", "c", "d", "e"};
+        double[] expected = new double[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            expected[i] = graph.findShortestPathTree(sources[i]).distanceTo("g");
+        }
+        Throwable[] errors = new Throwable[NUM_THREADS];
+        Thread[] threads = new Thread[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        int s = (id + i) % sources.length;
+                        double distance = graph.findShortestPathTree(sources[s]).distanceTo("g");
+                        if (distance != expected[s]) {
+                            throw new AssertionError(sources[s] + ": " + distance);
+                        }
+                    }
+                } catch (Throwable ex) {
+                    errors[id] = ex;
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int t = 0; t < NUM_THREADS; t++) {
+            assertEquals(null, errors[t]);
+        }
+    }
+
     @Test(timeout=SECOND)
     public void testFindingShortestPathSameStartAndEnd() {
         Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
@@ -0,0 +1,543 @@
+package datastructures;
+
+import static org.junit.Assert.assertTrue;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IPriorityQueue;
+import datastructures.interfaces.ISet;
+import mazes.entities.LineSegment;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import misc.BaseTest;
+import misc.graphs.ContractionHierarchy;
+import misc.graphs.Graph;
+import misc.graphs.MstStrategy;
+import misc.graphs.SearchResult;
+import misc.graphs.ShortestPathTree;
+import misc.graphs.TreePathIndex;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Benchmarks for Graph on generated grid mazes. Each test doubles as a timing
+ * budget: the timeouts are the numbers we expect the algorithms to stay under.
+ */
+public class TestGraphStress extends BaseTest {
+    /**
+     * A generated maze: every room is connected to its neighbours to the left and
+     * above, and every wall is given a random weight.
+     */
+    protected static class GridMaze {
+        public final Room[][] grid;
+        public final IList<Room> rooms;
+        public final IList<Wall> walls;
+
+        public GridMaze(int numRows, int numColumns, long seed) {
+            Random rand = new Random(seed);
+            Polygon shape = new Polygon();
+            grid = new Room[numColumns][numRows];
+            rooms = new DoubleLinkedList<>();
+            walls = new DoubleLinkedList<>();
+            for (int x = 0; x < numColumns; x++) {
+                for (int y = 0; y < numRows; y++) {
+                    Room room = new Room(new Point(x * 10, y * 10), shape);
+                    grid[x][y] = room;
+                    rooms.add(room);
+                    if (x > 0) {
+                        walls.add(wall(room, grid[x - 1][y], rand));
+                    }
+                    if (y > 0) {
+                        walls.add(wall(room, grid[x][y - 1], rand));
+                    }
+                }
+            }
+        }
+
+        private static Wall wall(Room room1, Room room2, Random rand) {
+            LineSegment line = new LineSegment(room1.getCenter(), room2.getCenter());
+            return new Wall(room1, room2, line, 1.0 + rand.nextDouble() * 9.0);
+        }
+
+        public Room topLeft() {
+            return grid[0][0];
+        }
+
+        public Room bottomRight() {
+            return grid[grid.length - 1][grid[0].length - 1];
+        }
+    }
+
+    protected static double cost(IList<Wall> path) {
+        double total = 0.0;
+        for (Wall wall : path) {
+            total += wall.getWeight();
+        }
+        return total;
+    }
+
+    /**
+     * The shortest-path search Graph used before it had an incident-edge index: every
+     * settled vertex scans the full edge list, and edges (not vertices) go in the heap.
+     * Kept here only as the baseline the benchmarks compare against.
+     */
+    protected static double legacyShortestPathCost(IList<Room> rooms, IList<Wall> walls, Room start, Room end) {
+        IDictionary<Room, Double> ttlCosts = new ChainedHashDictionary<>();
+        for (Room room : rooms) {
+            ttlCosts.put(room, Double.POSITIVE_INFINITY);
+        }
+        ISet<Room> completed = new ChainedHashSet<>();
+        ISet<Wall> visitedEdges = new ChainedHashSet<>();
+        IPriorityQueue<Wall> costs = new ArrayHeap<>();
+        ttlCosts.put(start, 0.0);
+        completed.add(start);
+
+        Room next = start;
+        while (!completed.contains(end)) {
+            for (Wall wall : walls) {
+                if ((wall.getVertex1().equals(next) || wall.getVertex2().equals(next))
+                        && !visitedEdges.contains(wall)) {
+                    visitedEdges.add(wall);
+                    costs.insert(wall);
+                    Room other = wall.getOtherVertex(next);
+                    double cost = ttlCosts.get(next) + wall.getWeight();
+                    if (cost < ttlCosts.get(other)) {
+                        ttlCosts.put(other, cost);
+                    }
+                }
+            }
+            Wall lowest = costs.removeMin();
+            while (completed.contains(lowest.getVertex1()) && completed.contains(lowest.getVertex2())) {
+                lowest = costs.removeMin();
+            }
+            next = completed.contains(lowest.getVertex1()) ? lowest.getVertex2() : lowest.getVertex1();
+            completed.add(next);
+        }
+        return ttlCosts.get(end);
+    }
+
+    private void checkShortestPath(int side) {
+        GridMaze maze = new GridMaze(side, side, side);
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        IList<Wall> path = graph.findShortestPathBetween(maze.topLeft(), maze.bottomRight());
+
+        Room curr = maze.topLeft();
+        for (Wall wall : path) {
+            curr = wall.getOtherVertex(curr);
+        }
+        assertEquals(maze.bottomRight(), curr);
+    }
+
+    /**
+     * A deliberately simple O(V^2) Dijkstra over a grid maze, used as ground truth.
+     */
+    protected static double referenceShortestPathCost(GridMaze maze) {
+        int numColumns = maze.grid.length;
+        int numRows = maze.grid[0].length;
+        IDictionary<Room, Integer> ids = new ChainedHashDictionary<>();
+        for (int x = 0; x < numColumns; x++) {
+            for (int y = 0; y < numRows; y++) {
+                ids.put(maze.grid[x][y], x * numRows + y);
+            }
+        }
+        double[][] weights = new double[numColumns * numRows][numColumns * numRows];
+        for (Wall wall : maze.walls) {
+            int id1 = ids.get(wall.getVertex1());
+            int id2 = ids.get(wall.getVertex2());
+            weights[id1][id2] = wall.getWeight();
+            weights[id2][id1] = wall.getWeight();
+        }
+
+        double[] dist = new double[weights.length];
+        boolean[] done = new boolean[weights.length];
+        for (int i = 0; i < dist.length; i++) {
+            dist[i] = Double.POSITIVE_INFINITY;
+        }
+        dist[ids.get(maze.topLeft())] = 0.0;
+        for (int round = 0; round < dist.length; round++) {
+            int best = -1;
+            for (int i = 0; i < dist.length; i++) {
+                if (!done[i] && (best == -1 || dist[i] < dist[best])) {
+                    best = i;
+                }
+            }
+            done[best] = true;
+            for (int i = 0; i < dist.length; i++) {
+                if (weights[best][i] > 0 && dist[best] + weights[best][i] < dist[i]) {
+                    dist[i] = dist[best] + weights[best][i];
+                }
+            }
+        }
+        return dist[ids.get(maze.bottomRight())];
+    }
+
+    @Test(timeout=30*SECOND)
+    public void testShortestPathAgainstLegacySearch() {
+        // The legacy search is O(V * E), so we compare on the 40x40 grid the GUI uses.
+        GridMaze maze = new GridMaze(40, 40, 1);
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        IList<Wall> path = graph.findShortestPathBetween(maze.topLeft(), maze.bottomRight());
+
+        assertEquals(referenceShortestPathCost(maze), cost(path), 0.0001);
+        // The legacy search ordered its heap by edge weight rather than by distance,
+        // so the best it could do was tie.
+        double legacy = legacyShortestPathCost(maze.rooms, maze.walls, maze.topLeft(), maze.bottomRight());
+        assertTrue(cost(path) <= legacy + 0.0001);
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testShortestPath10k() {
+        checkShortestPath(100);
+    }
+
+    @Test(timeout=20*SECOND)
+    public void testShortestPath100k() {
+        checkShortestPath(317);
+    }
+
+    @Test(timeout=120*SECOND)
+    public void testShortestPath1m() {
+        checkShortestPath(1000);
+    }
+
+    /**
+     * Times every MST strategy on the same graph, checking they agree on the total
+     * weight. Strategies later in MstStrategy.values() reuse the earlier graph, so
+     * each one is timed without the cost of building the graph.
+     */
+    private void compareMstStrategies(int side) {
+        GridMaze maze = new GridMaze(side, side, side);
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        double expected = -1;
+        for (MstStrategy strategy : MstStrategy.values()) {
+            if (strategy == MstStrategy.DENSE_PRIM) {
+                // O(V^2): far too slow for a grid, which has only about 2 edges per vertex.
+                continue;
+            }
+            long start = System.nanoTime();
+            ISet<Wall> mst = graph.findMinimumSpanningTree(strategy);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%dx%d grid, %s: %d ms%n", side, side, strategy, elapsed / 1000000);
+
+            assertEquals(maze.rooms.size() - 1, mst.size());
+            double total = 0.0;
+            for (Wall wall : mst) {
+                total += wall.getWeight();
+            }
+            if (expected < 0) {
+                expected = total;
+            }
+            assertEquals(expected, total, 0.0001 * expected);
+        }
+    }
+
+    @Test(timeout=30*SECOND)
+    public void testMstStrategies100k() {
+        compareMstStrategies(317);
+    }
+
+    @Test(timeout=120*SECOND)
+    public void testMstStrategies1m() {
+        compareMstStrategies(1000);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testMstStrategiesCompleteGraph() {
+        // A complete graph is the case DENSE_PRIM is for.
+        int numVerts = 1500;
+        Random rand = new Random(12);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<TestGraph.SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < numVerts; i++) {
+            vertices.add(i);
+            for (int j = 0; j < i; j++) {
+                edges.add(new TestGraph.SimpleEdge<>(i, j, rand.nextDouble()));
+            }
+        }
+        Graph<Integer, TestGraph.SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+
+        double expected = -1;
+        for (MstStrategy strategy : MstStrategy.values()) {
+            long start = System.nanoTime();
+            ISet<TestGraph.SimpleEdge<Integer>> mst = graph.findMinimumSpanningTree(strategy);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("complete graph on %d vertices, %s: %d ms%n", numVerts, strategy, elapsed / 1000000);
+
+            assertEquals(numVerts - 1, mst.size());
+            double total = 0.0;
+            for (TestGraph.SimpleEdge<Integer> edge : mst) {
+                total += edge.getWeight();
+            }
+            if (expected < 0) {
+                expected = total;
+            }
+            assertEquals(expected, total, 0.0001 * expected);
+        }
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testConstruction1m() {
+        // 708 x 708 rooms gives just over a million walls.
+        GridMaze maze = new GridMaze(708, 708, 708);
+
+        long start = System.nanoTime();
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        long constructed = System.nanoTime();
+        graph.findShortestPathBetween(maze.topLeft(), maze.bottomRight());
+        long firstSearch = System.nanoTime();
+        graph.findShortestPathBetween(maze.bottomRight(), maze.topLeft());
+        long secondSearch = System.nanoTime();
+
+        System.out.printf("%d walls: construction %d ms, first search %d ms, second search %d ms%n",
+                maze.walls.size(), (constructed - start) / 1000000, (firstSearch - constructed) / 1000000,
+                (secondSearch - firstSearch) / 1000000);
+        assertEquals(maze.rooms.size(), graph.numVertices());
+        assertEquals(maze.walls.size(), graph.numEdges());
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testAStarExpandsFewerThanDijkstra1m() {
+        // A* needs weights that are at least the distance between room centers for
+        // the Euclidean heuristic to be admissible, so stretch each wall a little
+        // past that distance instead of using the random grid weights.
+        GridMaze maze = new GridMaze(1000, 1000, 15);
+        Random rand = new Random(15);
+        for (Wall wall : maze.walls) {
+            wall.setDistance(wall.getRoom1().distanceTo(wall.getRoom2()) * (1.0 + rand.nextDouble() * 0.1));
+        }
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+
+        // Between opposite corners, a grid's paths are about sqrt(2) times longer than
+        // the straight line, so the heuristic barely helps. Across the middle it is
+        // nearly exact, as it is in Voronoi mazes, where rooms connect in all directions.
+        compareAStar(graph, maze.topLeft(), maze.bottomRight(), "corner to corner");
+        SearchResult<Wall> across = compareAStar(graph, maze.grid[0][500], maze.grid[999][500], "across");
+        assertTrue(across.getNodesExpanded() * 10 < maze.rooms.size());
+    }
+
+    private SearchResult<Wall> compareAStar(Graph<Room, Wall> graph, Room from, Room to, String label) {
+        long start = System.nanoTime();
+        SearchResult<Wall> dijkstra = graph.findShortestPathAStar(from, to, (room, goal) -> 0.0);
+        long middle = System.nanoTime();
+        SearchResult<Wall> astar = graph.findShortestPathAStar(from, to, Room.EUCLIDEAN_HEURISTIC);
+        long end = System.nanoTime();
+
+        System.out.printf("1000x1000 grid, %s: Dijkstra expanded %d in %d ms, A* expanded %d in %d ms%n",
+                label, dijkstra.getNodesExpanded(), (middle - start) / 1000000,
+                astar.getNodesExpanded(), (end - middle) / 1000000);
+        assertEquals(dijkstra.getCost(), astar.getCost(), 0.0001);
+        assertEquals(astar.getCost(), cost(astar.getPath()), 0.0001);
+        assertTrue(astar.getNodesExpanded() <= dijkstra.getNodesExpanded());
+        return astar;
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testBidirectionalAgainstDijkstra1m() {
+        GridMaze maze = new GridMaze(1000, 1000, 16);
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        // Build the index before timing anything.
+        graph.findShortestPathBetween(maze.topLeft(), maze.grid[0][1]);
+
+        // Corner to corner is what the GUI asks for. On a bounded grid both queries
+        // end up covering most of the maze either way, so the saving is modest.
+        compareBidirectional(graph, maze.topLeft(), maze.bottomRight(), "corner to corner");
+        compareBidirectional(graph, maze.grid[0][500], maze.grid[999][500], "across");
+    }
+
+    private void compareBidirectional(Graph<Room, Wall> graph, Room from, Room to, String label) {
+        long start = System.nanoTime();
+        SearchResult<Wall> dijkstra = graph.findShortestPathAStar(from, to, (room, goal) -> 0.0);
+        long middle = System.nanoTime();
+        SearchResult<Wall> both = graph.findShortestPathBidirectional(from, to);
+        long end = System.nanoTime();
+
+        System.out.printf("1000x1000 grid, %s: Dijkstra expanded %d in %d ms, bidirectional expanded %d in %d ms%n",
+                label, dijkstra.getNodesExpanded(), (middle - start) / 1000000,
+                both.getNodesExpanded(), (end - middle) / 1000000);
+        assertEquals(dijkstra.getCost(), both.getCost(), 0.0001);
+        assertEquals(both.getCost(), cost(both.getPath()), 0.0001);
+        assertTrue(both.getNodesExpanded() < dijkstra.getNodesExpanded());
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testShortestPathTreeManyDestinations() {
+        GridMaze maze = new GridMaze(317, 317, 17);
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        graph.setShortestPathTreeCacheSize(0);
+        Random rand = new Random(17);
+        Room[] destinations = new Room[100];
+        for (int i = 0; i < destinations.length; i++) {
+            destinations[i] = maze.grid[rand.nextInt(317)][rand.nextInt(317)];
+        }
+
+        long start = System.nanoTime();
+        double[] expected = new double[destinations.length];
+        for (int i = 0; i < destinations.length; i++) {
+            expected[i] = cost(graph.findShortestPathBetween(maze.topLeft(), destinations[i]));
+        }
+        long middle = System.nanoTime();
+        ShortestPathTree<Room, Wall> tree = graph.findShortestPathTree(maze.topLeft());
+        for (int i = 0; i < destinations.length; i++) {
+            assertEquals(expected[i], cost(tree.pathTo(destinations[i])), 0.0001);
+            assertEquals(expected[i], tree.distanceTo(destinations[i]), 0.0001);
+        }
+        long end = System.nanoTime();
+
+        System.out.printf("317x317 grid, %d destinations: one search each %d ms, one tree %d ms%n",
+                destinations.length, (middle - start) / 1000000, (end - middle) / 1000000);
+    }
+
+    /**
+     * Times building a contraction hierarchy and estimates the heap it takes, then
+     * checks its answers against plain Dijkstra over random pairs of rooms. Query
+     * latencies are printed, not asserted, since they depend on the machine's load.
+     */
+    private void benchmarkContractionHierarchy(int side) {
+        GridMaze maze = new GridMaze(side, side, side + 18);
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, maze.walls);
+        graph.setShortestPathTreeCacheSize(0);
+        graph.findShortestPathBetween(maze.topLeft(), maze.grid[0][1]);
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        ContractionHierarchy<Room, Wall> hierarchy = graph.buildContractionHierarchy();
+        long built = System.nanoTime();
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        Random rand = new Random(side);
+        int numQueries = 1000;
+        int numDijkstra = 10;
+        long hierarchyTime = 0;
+        long dijkstraTime = 0;
+        long expanded = 0;
+        for (int i = 0; i < numQueries; i++) {
+            Room from = maze.grid[rand.nextInt(side)][rand.nextInt(side)];
+            Room to = maze.grid[rand.nextInt(side)][rand.nextInt(side)];
+            long queryStart = System.nanoTime();
+            SearchResult<Wall> result = hierarchy.findShortestPath(from, to);
+            hierarchyTime += System.nanoTime() - queryStart;
+            expanded += result.getNodesExpanded();
+            assertEquals(result.getCost(), cost(result.getPath()), 0.0001);
+            if (i < numDijkstra) {
+                queryStart = System.nanoTime();
+                double expected = cost(graph.findShortestPathBetween(from, to));
+                dijkstraTime += System.nanoTime() - queryStart;
+                assertEquals(expected, result.getCost(), 0.0001);
+            }
+        }
+
+        System.out.printf("%dx%d grid: hierarchy built in %d ms with %d shortcuts, about %d MB%n",
+                side, side, (built - start) / 1000000, hierarchy.numShortcuts(),
+                (heapAfter - heapBefore) / (1024 * 1024));
+        System.out.printf("%dx%d grid: hierarchy query %d us (%d expanded), Dijkstra query %d us%n",
+                side, side, hierarchyTime / numQueries / 1000, expanded / numQueries,
+                dijkstraTime / numDijkstra / 1000);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testContractionHierarchy100k() {
+        benchmarkContractionHierarchy(317);
+    }
+
+    @Test(timeout=600*SECOND)
+    public void testContractionHierarchy1m() {
+        // Preprocessing a million rooms takes a few minutes and about 240 MB of heap,
+        // so this only runs when asked for with -Dbenchmark.contraction=true. The
+        // 100k case above checks the same thing by default.
+        Assume.assumeTrue(Boolean.getBoolean("benchmark.contraction"));
+        benchmarkContractionHierarchy(1000);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testBreadthFirstOnTreeAndUniformMazes1m() {
+        GridMaze maze = new GridMaze(1000, 1000, 19);
+        Graph<Room, Wall> full = new Graph<>(maze.rooms, maze.walls);
+        IList<Wall> tree = new DoubleLinkedList<>();
+        for (Wall wall : full.findMinimumSpanningTree()) {
+            tree.add(wall);
+        }
+
+        // A carved maze: a spanning tree, so there is exactly one path between rooms.
+        compareWithDijkstra(new Graph<>(maze.rooms, tree), maze, "tree maze");
+
+        // Every wall the same length, as in a grid of square rooms.
+        for (Wall wall : maze.walls) {
+            wall.setDistance(10.0);
+        }
+        compareWithDijkstra(new Graph<>(maze.rooms, maze.walls), maze, "uniform grid");
+    }
+
+    private void compareWithDijkstra(Graph<Room, Wall> graph, GridMaze maze, String label) {
+        graph.setShortestPathTreeCacheSize(0);
+        // Build the index and warm up both searches before timing anything.
+        graph.findShortestPathAStar(maze.bottomRight(), maze.topLeft(), (room, goal) -> 0.0);
+        graph.findShortestPathBetween(maze.bottomRight(), maze.topLeft());
+
+        long start = System.nanoTime();
+        SearchResult<Wall> dijkstra = graph.findShortestPathAStar(maze.topLeft(), maze.bottomRight(), (room, goal) -> 0.0);
+        long middle = System.nanoTime();
+        IList<Wall> path = graph.findShortestPathBetween(maze.topLeft(), maze.bottomRight());
+        long end = System.nanoTime();
+
+        System.out.printf("1000x1000 %s: Dijkstra %d ms, breadth-first %d ms%n",
+                label, (middle - start) / 1000000, (end - middle) / 1000000);
+        assertEquals(dijkstra.getCost(), cost(path), 0.0001);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testTreePathIndex1m() {
+        GridMaze maze = new GridMaze(1000, 1000, 20);
+        IList<Wall> tree = new DoubleLinkedList<>();
+        for (Wall wall : new Graph<>(maze.rooms, maze.walls).findMinimumSpanningTree()) {
+            tree.add(wall);
+        }
+        Graph<Room, Wall> graph = new Graph<>(maze.rooms, tree);
+        graph.setShortestPathTreeCacheSize(0);
+
+        long start = System.nanoTime();
+        TreePathIndex<Room, Wall> index = new TreePathIndex<>(maze.rooms, tree);
+        long built = System.nanoTime();
+
+        Random rand = new Random(20);
+        int numQueries = 1000;
+        int numSearches = 10;
+        long distanceTime = 0;
+        long pathTime = 0;
+        long searchTime = 0;
+        long pathLength = 0;
+        for (int i = 0; i < numQueries; i++) {
+            Room from = maze.grid[rand.nextInt(1000)][rand.nextInt(1000)];
+            Room to = maze.grid[rand.nextInt(1000)][rand.nextInt(1000)];
+            long queryStart = System.nanoTime();
+            double distance = index.distanceBetween(from, to);
+            long queryMiddle = System.nanoTime();
+            IList<Wall> path = index.pathBetween(from, to);
+            long queryEnd = System.nanoTime();
+            distanceTime += queryMiddle - queryStart;
+            pathTime += queryEnd - queryMiddle;
+            pathLength += path.size();
+            assertEquals(cost(path), distance, 0.0001);
+            if (i < numSearches) {
+                queryStart = System.nanoTime();
+                IList<Wall> expected = graph.findShortestPathBetween(from, to);
+                searchTime += System.nanoTime() - queryStart;
+                assertEquals(expected.size(), path.size());
+            }
+        }
+
+        System.out.printf("1000x1000 tree maze: index built in %d ms; distance %d ns, path %d us "
+                + "(%d walls on average), search %d ms%n",
+                (built - start) / 1000000, distanceTime / numQueries, pathTime / numQueries / 1000,
+                pathLength / numQueries, searchTime / numSearches / 1000000);
+    }
+}
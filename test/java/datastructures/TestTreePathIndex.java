@@ -0,0 +1,174 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import misc.graphs.Graph;
+import misc.graphs.TreePathIndex;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestTreePathIndex extends BaseTest {
+    private static <V> SimpleEdge<V> edge(V v1, V v2, double weight) {
+        return new SimpleEdge<>(v1, v2, weight);
+    }
+
+    /**
+     *      a           h
+     *     / \          |
+     *    b   c         i
+     *   / \   \
+     *  d   e   f       j
+     *          |
+     *          g
+     */
+    private TreePathIndex<String, SimpleEdge<String>> buildForest() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        for (String vertex : new String[] {"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"}) {
+            vertices.add(vertex);
+        }
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+        edges.add(edge("c", "a", 2));
+        edges.add(edge("b", "d", 3));
+        edges.add(edge("e", "b", 4));
+        edges.add(edge("c", "f", 5));
+        edges.add(edge("f", "g", 6));
+        edges.add(edge("h", "i", 7));
+        return new TreePathIndex<>(vertices, edges);
+    }
+
+    private static <V> void checkPath(IList<SimpleEdge<V>> path, V start, V[] expected) {
+        assertEquals(expected.length, path.size());
+        V curr = start;
+        for (int i = 0; i < expected.length; i++) {
+            curr = path.get(i).getOtherVertex(curr);
+            assertEquals(expected[i], curr);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDistances() {
+        TreePathIndex<String, SimpleEdge<String>> index = this.buildForest();
+        assertEquals(0.0, index.distanceBetween("d", "d"), 0.0);
+        assertEquals(3.0, index.distanceBetween("d", "b"), 0.0001);
+        assertEquals(7.0, index.distanceBetween("d", "e"), 0.0001);
+        assertEquals(17.0, index.distanceBetween("g", "d"), 0.0001);
+        assertEquals(13.0, index.distanceBetween("a", "g"), 0.0001);
+        assertEquals(7.0, index.distanceBetween("i", "h"), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testPaths() {
+        TreePathIndex<String, SimpleEdge<String>> index = this.buildForest();
+        assertEquals(0, index.pathBetween("c", "c").size());
+        checkPath(index.pathBetween("g", "d"), "g", new String[] {"f", "c", "a", "b", "d"});
+        checkPath(index.pathBetween("d", "g"), "d", new String[] {"b", "a", "c", "f", "g"});
+        checkPath(index.pathBetween("a", "e"), "a", new String[] {"b", "e"});
+        checkPath(index.pathBetween("e", "a"), "e", new String[] {"b", "a"});
+        checkPath(index.pathBetween("d", "e"), "d", new String[] {"b", "e"});
+    }
+
+    @Test(timeout=SECOND)
+    public void testDisconnected() {
+        TreePathIndex<String, SimpleEdge<String>> index = this.buildForest();
+        assertTrue(index.hasPathBetween("h", "i"));
+        assertFalse(index.hasPathBetween("a", "h"));
+        assertFalse(index.hasPathBetween("j", "i"));
+        assertFalse(index.hasPathBetween("a", "z"));
+        try {
+            index.pathBetween("a", "j");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            index.distanceBetween("z", "a");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsCycles() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("c");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+        edges.add(edge("b", "c", 1));
+        edges.add(edge("a", "c", 1));
+        try {
+            new TreePathIndex<>(vertices, edges);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        IList<SimpleEdge<String>> loop = new DoubleLinkedList<>();
+        loop.add(edge("a", "a", 1));
+        try {
+            new TreePathIndex<>(vertices, loop);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        IList<SimpleEdge<String>> unknown = new DoubleLinkedList<>();
+        unknown.add(edge("a", "z", 1));
+        try {
+            new TreePathIndex<>(vertices, unknown);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testMatchesGraphOnRandomForests() {
+        Random rand = new Random(20);
+        for (int round = 0; round < 100; round++) {
+            int numVerts = 1 + rand.nextInt(200);
+            IList<Integer> vertices = new DoubleLinkedList<>();
+            IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+            for (int i = 0; i < numVerts; i++) {
+                vertices.add(i);
+                // Leave out about one edge in twenty, to make a forest.
+                if (i > 0 && rand.nextInt(20) != 0) {
+                    edges.add(edge(i, rand.nextInt(i), rand.nextInt(10)));
+                }
+            }
+            Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+            TreePathIndex<Integer, SimpleEdge<Integer>> index = new TreePathIndex<>(vertices, edges);
+
+            for (int query = 0; query < 20; query++) {
+                int from = rand.nextInt(numVerts);
+                int to = rand.nextInt(numVerts);
+                IList<SimpleEdge<Integer>> expected;
+                try {
+                    expected = graph.findShortestPathBetween(from, to);
+                } catch (NoPathExistsException ex) {
+                    assertFalse(index.hasPathBetween(from, to));
+                    continue;
+                }
+                IList<SimpleEdge<Integer>> path = index.pathBetween(from, to);
+                assertEquals(expected.size(), path.size());
+                double cost = 0.0;
+                for (int i = 0; i < path.size(); i++) {
+                    assertTrue(expected.get(i) == path.get(i));
+                    cost += path.get(i).getWeight();
+                }
+                assertEquals(cost, index.distanceBetween(from, to), 0.0001);
+            }
+        }
+    }
+}
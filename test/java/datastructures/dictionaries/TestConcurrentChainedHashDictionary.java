@@ -0,0 +1,137 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every TestChainedHashDictionary test against ConcurrentChainedHashDictionary,
+ * plus tests that hammer it from several threads at once.
+ */
+public class TestConcurrentChainedHashDictionary extends TestChainedHashDictionary {
+    private static final int NUM_THREADS = 8;
+
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ConcurrentChainedHashDictionary<>();
+    }
+
+    /**
+     * Starts NUM_THREADS threads running the given task (which is passed the thread's
+     * number), waits for all of them, and rethrows the first failure.
+     */
+    private static void runThreads(ThreadTask task) throws Throwable {
+        Thread[] threads = new Thread[NUM_THREADS];
+        Throwable[] errors = new Throwable[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    task.run(id);
+                } catch (Throwable ex) {
+                    errors[id] = ex;
+                }
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < NUM_THREADS; t++) {
+            threads[t].join();
+            if (errors[t] != null) {
+                throw errors[t];
+            }
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int id);
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testConcurrentPutsOfDisjointKeys() throws Throwable {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        int perThread = 50000;
+        runThreads(id -> {
+            for (int i = 0; i < perThread; i++) {
+                dict.put(id * perThread + i, id);
+            }
+        });
+        assertEquals(NUM_THREADS * perThread, dict.size());
+        for (int i = 0; i < NUM_THREADS * perThread; i++) {
+            assertEquals(i / perThread, dict.get(i));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testMergeCountsEveryIncrement() throws Throwable {
+        ConcurrentChainedHashDictionary<String, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        runThreads(id -> {
+            for (int i = 0; i < 20000; i++) {
+                dict.merge("key" + (i % 100), 1, Integer::sum);
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            assertEquals(NUM_THREADS * 200, dict.get("key" + i));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testComputeIfAbsentRunsOnce() throws Throwable {
+        ConcurrentChainedHashDictionary<Integer, String> dict = new ConcurrentChainedHashDictionary<>();
+        AtomicInteger calls = new AtomicInteger();
+        runThreads(id -> {
+            for (int i = 0; i < 1000; i++) {
+                String value = dict.computeIfAbsent(i, key -> {
+                    calls.incrementAndGet();
+                    return "v" + key;
+                });
+                assertEquals("v" + i, value);
+            }
+        });
+        assertEquals(1000, calls.get());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAtomicOperationsSingleThreaded() {
+        ConcurrentChainedHashDictionary<String, Integer> dict = new ConcurrentChainedHashDictionary<>(1);
+        assertEquals(null, dict.putIfAbsent("a", 1));
+        assertEquals(1, dict.putIfAbsent("a", 2));
+        assertEquals(1, dict.get("a"));
+
+        assertEquals(5, dict.merge("a", 4, Integer::sum));
+        assertEquals(null, dict.merge("a", 0, (oldValue, value) -> null));
+        assertTrue(!dict.containsKey("a"));
+
+        assertEquals(null, dict.computeIfAbsent("b", key -> null));
+        assertTrue(!dict.containsKey("b"));
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testIterateWhileWriting() throws Throwable {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        for (int i = 0; i < 10000; i++) {
+            dict.put(i, i);
+        }
+        runThreads(id -> {
+            if (id == 0) {
+                for (int round = 0; round < 20; round++) {
+                    for (KVPair<Integer, Integer> pair : dict) {
+                        // Keys below 10000 are never touched by the writers.
+                        assertTrue(pair.getKey() >= 10000 || pair.getKey().equals(pair.getValue()));
+                    }
+                }
+            } else {
+                for (int i = 0; i < 20000; i++) {
+                    int key = 10000 + id * 20000 + i;
+                    dict.put(key, -key);
+                    dict.remove(key);
+                }
+            }
+        });
+        assertEquals(10000, dict.size());
+    }
+}
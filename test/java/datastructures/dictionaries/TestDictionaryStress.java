@@ -0,0 +1,242 @@
+package datastructures.dictionaries;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.concrete.dictionaries.RobinHoodHashDictionary;
+import datastructures.interfaces.IDictionary;
+import mazes.entities.LineSegment;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Benchmarks ChainedHashDictionary against RobinHoodHashDictionary with the key
+ * types the maze code actually uses, at 1M entries each, and measures the put
+ * latency of ChainedHashDictionary with and without incremental rehashing and the
+ * multi-threaded throughput of ConcurrentChainedHashDictionary. The timeouts are the
+ * budgets we expect each implementation to stay under.
+ */
+public class TestDictionaryStress extends BaseTest {
+    private static final int SIZE = 1000000;
+    private static final int SIDE = 1000;
+
+    private static Point[] makePoints() {
+        Point[] keys = new Point[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = new Point(i % SIDE * 10, i / SIDE * 10);
+        }
+        return keys;
+    }
+
+    private static Room[] makeRooms() {
+        Polygon shape = new Polygon();
+        Room[] keys = new Room[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = new Room(new Point(i % SIDE * 10, i / SIDE * 10), shape);
+        }
+        return keys;
+    }
+
+    private static Wall[] makeWalls(int count) {
+        Room[] rooms = makeRooms();
+        Wall[] keys = new Wall[count];
+        for (int i = 0; i < count; i++) {
+            // Connect each room to its right-hand neighbour, wrapping at the end of a row.
+            Room room1 = rooms[i];
+            Room room2 = rooms[(i + 1) % SIZE];
+            keys[i] = new Wall(room1, room2, new LineSegment(room1.getCenter(), room2.getCenter()));
+        }
+        return keys;
+    }
+
+    private static String[] makeStrings() {
+        String[] keys = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = "room-" + i;
+        }
+        return keys;
+    }
+
+    /**
+     * Inserts every key, reads each one back, overwrites, probes for a missing
+     * key, and finally removes everything.
+     */
+    private static <K> void exercise(IDictionary<K, Integer> dict, K[] keys, K missing) {
+        for (int i = 0; i < keys.length; i++) {
+            dict.put(keys[i], i);
+        }
+        assertEquals(keys.length, dict.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, dict.get(keys[i]));
+            dict.put(keys[i], -i);
+            assertFalse(dict.containsKey(missing));
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(-i, dict.remove(keys[i]));
+        }
+        assertEquals(0, dict.size());
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testPointKeysChained() {
+        exercise(new ChainedHashDictionary<>(), makePoints(), new Point(-1, -1));
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testPointKeysRobinHood() {
+        exercise(new RobinHoodHashDictionary<>(), makePoints(), new Point(-1, -1));
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testRoomKeysChained() {
+        exercise(new ChainedHashDictionary<>(), makeRooms(), new Room(new Point(-1, -1), new Polygon()));
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testRoomKeysRobinHood() {
+        exercise(new RobinHoodHashDictionary<>(), makeRooms(), new Room(new Point(-1, -1), new Polygon()));
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testWallKeysChained() {
+        Wall[] keys = makeWalls(SIZE);
+        exercise(new ChainedHashDictionary<>(), keys, new Wall(keys[1].getRoom2(), keys[0].getRoom1(),
+                keys[0].getDividingLine()));
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testWallKeysRobinHood() {
+        Wall[] keys = makeWalls(SIZE);
+        exercise(new RobinHoodHashDictionary<>(), keys, new Wall(keys[1].getRoom2(), keys[0].getRoom1(),
+                keys[0].getDividingLine()));
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testStringKeysChained() {
+        exercise(new ChainedHashDictionary<>(), makeStrings(), "missing");
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testStringKeysRobinHood() {
+        exercise(new RobinHoodHashDictionary<>(), makeStrings(), "missing");
+    }
+
+    /**
+     * Times every one of 'count' puts into the given dictionary, and returns the
+     * 99.9th percentile and the maximum, in nanoseconds.
+     */
+    private static long[] putLatencies(IDictionary<Integer, Integer> dict, int count) {
+        long[] times = new long[count];
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            dict.put(i, i);
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return new long[] {times[(int) (count * 0.999)], times[count - 1]};
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testIncrementalRehashPutLatency() {
+        // A 10M-entry build needs far more heap than the test runner gets, but 2M is
+        // enough to see the rehash pauses. Note that on a small heap, garbage collection
+        // pauses can dominate the maximum for both dictionaries.
+        int count = 2 * SIZE;
+        long[] stopTheWorld = putLatencies(new ChainedHashDictionary<>(), count);
+        long[] incremental = putLatencies(new ChainedHashDictionary<>(true), count);
+        System.out.printf("put latency (ns): stop-the-world p99.9=%d max=%d, incremental p99.9=%d max=%d%n",
+                stopTheWorld[0], stopTheWorld[1], incremental[0], incremental[1]);
+
+        assertTrue(incremental[0] < 100000);
+    }
+
+    /**
+     * The "one global lock" approach ConcurrentChainedHashDictionary replaces.
+     */
+    private static class SynchronizedDictionary<K, V> implements IDictionary<K, V> {
+        private IDictionary<K, V> dict;
+
+        public SynchronizedDictionary(IDictionary<K, V> dict) {
+            this.dict = dict;
+        }
+
+        public synchronized V get(K key) {
+            return dict.get(key);
+        }
+
+        public synchronized void put(K key, V value) {
+            dict.put(key, value);
+        }
+
+        public synchronized V remove(K key) {
+            return dict.remove(key);
+        }
+
+        public synchronized boolean containsKey(K key) {
+            return dict.containsKey(key);
+        }
+
+        public synchronized int size() {
+            return dict.size();
+        }
+
+        public Iterator<KVPair<K, V>> iterator() {
+            return dict.iterator();
+        }
+    }
+
+    /**
+     * Splits 'totalOps' operations (80% reads, 20% writes) over the given number of
+     * threads, and returns the throughput in operations per millisecond.
+     */
+    private static long throughput(IDictionary<Integer, Integer> dict, int numThreads, int totalOps)
+            throws InterruptedException {
+        int keyRange = 100000;
+        for (int i = 0; i < keyRange; i++) {
+            dict.put(i, i);
+        }
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                int key = seed * 7919;
+                for (int i = 0; i < totalOps / numThreads; i++) {
+                    key = (key * 1103515245 + 12345) & Integer.MAX_VALUE;
+                    int k = key % keyRange;
+                    if (i % 5 == 0) {
+                        dict.put(k, i);
+                    } else {
+                        dict.containsKey(k);
+                    }
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return totalOps * 1000000L / Math.max(1, System.nanoTime() - start);
+    }
+
+    @Test(timeout=120*SECOND)
+    public void testConcurrentThroughputScaling() throws InterruptedException {
+        int totalOps = 2 * SIZE;
+        for (int numThreads = 1; numThreads <= 32; numThreads *= 2) {
+            long locked = throughput(new SynchronizedDictionary<>(new ChainedHashDictionary<>()), numThreads, totalOps);
+            long striped = throughput(new ConcurrentChainedHashDictionary<>(), numThreads, totalOps);
+            System.out.printf("%2d threads: synchronized %d ops/ms, striped %d ops/ms%n", numThreads, locked, striped);
+        }
+    }
+}
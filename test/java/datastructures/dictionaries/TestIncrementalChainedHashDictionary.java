@@ -0,0 +1,58 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every TestChainedHashDictionary test with incremental rehashing turned on.
+ */
+public class TestIncrementalChainedHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(true);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIterateDuringRehash() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 3000; i++) {
+            dict.put(i, i);
+            if (i % 7 == 0) {
+                // Whatever point the rehash has reached, every key shows up exactly once.
+                boolean[] seen = new boolean[i + 1];
+                for (KVPair<Integer, Integer> pair : dict) {
+                    assertFalse(seen[pair.getKey()]);
+                    seen[pair.getKey()] = true;
+                }
+                for (boolean found : seen) {
+                    assertTrue(found);
+                }
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveDuringRehash() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 5000; i++) {
+            dict.put(i, i);
+            if (i % 3 == 0) {
+                assertEquals(i, dict.remove(i));
+            }
+        }
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertTrue(pair.getKey() % 3 != 0);
+            count++;
+        }
+        assertEquals(dict.size(), count);
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 3 != 0, dict.containsKey(i));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package datastructures.dictionaries;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.IntDictionary;
+import datastructures.concrete.dictionaries.IntIntDictionaryAdapter;
+import datastructures.interfaces.IDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestIntDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testBasic() {
+        IntDictionary dict = new IntDictionary();
+        dict.put(1, 10);
+        dict.put(-1, -10);
+        dict.put(1, 11);
+        assertEquals(2, dict.size());
+        assertEquals(11, dict.get(1));
+        assertEquals(-10, dict.get(-1));
+        assertEquals(7, dict.getOrDefault(2, 7));
+        assertEquals(11, dict.remove(1));
+        assertFalse(dict.containsKey(1));
+        try {
+            dict.get(1);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIterator() {
+        IntDictionary dict = new IntDictionary(4);
+        for (int i = 0; i < 100; i++) {
+            dict.put(i * 1024, i);
+        }
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(pair.getKey() / 1024, (int) pair.getValue());
+            count++;
+        }
+        assertEquals(100, count);
+        assertTrue(!dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAdapter() {
+        IDictionary<Integer, Integer> dict = new IntIntDictionaryAdapter(new IntDictionary());
+        dict.put(5, 50);
+        assertTrue(dict.containsKey(5));
+        assertFalse(dict.containsKey(null));
+        assertEquals(50, (int) dict.get(5));
+        assertEquals(null, dict.getOrDefault(6, null));
+        assertEquals(7, (int) dict.getOrDefault(null, 7));
+        try {
+            dict.get(null);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.put(6, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(50, (int) dict.remove(5));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void stressTestAgainstHashMap() {
+        IntDictionary dict = new IntDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rand = new Random(4);
+        for (int i = 0; i < 1000000; i++) {
+            int key = (rand.nextInt(100000) - 50000) * 7919;
+            if (rand.nextInt(3) == 0 && expected.containsKey(key)) {
+                assertEquals((int) expected.remove(key), dict.remove(key));
+            } else {
+                expected.put(key, i);
+                dict.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), dict.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+}
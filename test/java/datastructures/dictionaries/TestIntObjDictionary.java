@@ -0,0 +1,148 @@
+package datastructures.dictionaries;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.IntDictionaryAdapter;
+import datastructures.concrete.dictionaries.IntObjDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IIntDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestIntObjDictionary extends BaseTest {
+    protected <V> IIntDictionary<V> newDictionary() {
+        return new IntObjDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutGetUpdate() {
+        IIntDictionary<String> dict = this.newDictionary();
+        dict.put(3, "a");
+        dict.put(-7, "b");
+        dict.put(0, "c");
+        assertEquals(3, dict.size());
+        assertEquals("a", dict.get(3));
+        assertEquals("b", dict.get(-7));
+        assertEquals("c", dict.get(0));
+
+        dict.put(3, "d");
+        assertEquals(3, dict.size());
+        assertEquals("d", dict.get(3));
+        assertEquals("x", dict.getOrDefault(4, "x"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullValues() {
+        IIntDictionary<String> dict = this.newDictionary();
+        dict.put(1, null);
+        assertTrue(dict.containsKey(1));
+        assertEquals(null, dict.get(1));
+        assertEquals(null, dict.getOrDefault(1, "x"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeyExceptions() {
+        IIntDictionary<String> dict = this.newDictionary();
+        dict.put(1, "a");
+        try {
+            dict.get(2);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.remove(2);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        dict.remove(1);
+        assertTrue(dict.isEmpty());
+        assertFalse(dict.containsKey(1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveKeepsProbeRunsIntact() {
+        // Multiples of a large power of two all land near each other, forming long runs.
+        IIntDictionary<Integer> dict = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dict.put(i << 16, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, dict.remove(i << 16));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(i << 16));
+            if (i % 2 == 1) {
+                assertEquals(i, dict.get(i << 16));
+            }
+        }
+        assertEquals(500, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIterator() {
+        IIntDictionary<Integer> dict = this.newDictionary();
+        for (int i = -50; i < 50; i++) {
+            dict.put(i, i * 2);
+        }
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(pair.getKey() * 2, (int) pair.getValue());
+            count++;
+        }
+        assertEquals(100, count);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAdapter() {
+        IDictionary<Integer, String> dict = new IntDictionaryAdapter<>(this.<String>newDictionary());
+        dict.put(5, "five");
+        assertTrue(dict.containsKey(5));
+        assertFalse(dict.containsKey(null));
+        assertEquals("five", dict.get(5));
+        assertEquals("none", dict.getOrDefault(null, "none"));
+        try {
+            dict.get(null);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.put(null, "null");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals("five", dict.remove(5));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void stressTestAgainstHashMap() {
+        IIntDictionary<Integer> dict = this.newDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rand = new Random(3);
+        for (int i = 0; i < 1000000; i++) {
+            int key = rand.nextInt(100000) - 50000;
+            if (rand.nextInt(3) == 0 && expected.containsKey(key)) {
+                assertEquals(expected.remove(key), dict.remove(key));
+            } else {
+                expected.put(key, i);
+                dict.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), dict.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.LruDictionary;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs every TestDictionary and TestChainedHashDictionary test against an
+ * LruDictionary too big to ever evict, plus tests of the eviction order.
+ */
+public class TestLruDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new LruDictionary<>(Integer.MAX_VALUE);
+    }
+
+    @Test(timeout=SECOND)
+    public void testEvictsLeastRecentlyUsed() {
+        IDictionary<String, Integer> dict = new LruDictionary<>(3);
+        dict.put("a", 1);
+        dict.put("b", 2);
+        dict.put("c", 3);
+        assertEquals(1, dict.get("a"));
+        dict.put("d", 4);
+
+        assertEquals(3, dict.size());
+        assertFalse(dict.containsKey("b"));
+        assertTrue(dict.containsKey("a"));
+        assertTrue(dict.containsKey("c"));
+        assertTrue(dict.containsKey("d"));
+
+        // Overwriting counts as a use; containsKey does not.
+        dict.put("c", 30);
+        assertTrue(dict.containsKey("a"));
+        dict.put("e", 5);
+        assertFalse(dict.containsKey("a"));
+        assertEquals(30, dict.getOrDefault("c", -1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratesMostRecentFirst() {
+        IDictionary<String, Integer> dict = new LruDictionary<>(10);
+        dict.put("a", 1);
+        dict.put("b", 2);
+        dict.put("c", 3);
+        dict.get("a");
+        dict.remove("b");
+
+        Iterator<KVPair<String, Integer>> iter = dict.iterator();
+        assertEquals("a", iter.next().getKey());
+        assertEquals("c", iter.next().getKey());
+        assertFalse(iter.hasNext());
+    }
+
+    @Test(timeout=SECOND)
+    public void testCapacityOne() {
+        IDictionary<Integer, Integer> dict = new LruDictionary<>(1);
+        for (int i = 0; i < 100; i++) {
+            dict.put(i, i);
+            assertEquals(1, dict.size());
+            assertEquals(i, dict.get(i));
+        }
+        try {
+            dict.get(98);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBadCapacity() {
+        try {
+            new LruDictionary<String, String>(0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.RobinHoodHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Runs every TestDictionary and TestChainedHashDictionary test against
+ * RobinHoodHashDictionary, plus a few aimed at its probing and deletion.
+ */
+public class TestRobinHoodHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new RobinHoodHashDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveFromCollidingRun() {
+        IDictionary<Wrapper<Integer>, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 200; i++) {
+            // Four distinct hash codes, so every key lands in one of four long runs.
+            dict.put(new Wrapper<>(i, i % 4), i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            assertEquals(i, dict.remove(new Wrapper<>(i, i % 4)));
+        }
+        for (int i = 0; i < 200; i++) {
+            Wrapper<Integer> key = new Wrapper<>(i, i % 4);
+            if (i % 3 == 0) {
+                assertFalse(dict.containsKey(key));
+            } else {
+                assertEquals(i, dict.get(key));
+            }
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void stressTestAgainstHashMap() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rand = new Random(5);
+        for (int i = 0; i < 2000000; i++) {
+            // Multiples of 1024 stress the hash spreader.
+            int key = rand.nextInt(200000) * 1024;
+            if (rand.nextInt(3) == 0 && expected.containsKey(key)) {
+                assertEquals(expected.remove(key), dict.remove(key));
+            } else {
+                expected.put(key, i);
+                dict.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), dict.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+}
@@ -233,4 +233,42 @@ public class TestArrayHeapFunctionality extends BaseTest {
             // Do nothing
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testReplaceMin() {
+        IPriorityQueue<Integer> test = this.makeInstance();
+        try {
+            test.replaceMin(3);
+            fail("Did not catch call on empty heap");
+        } catch (EmptyContainerException e) {
+            // Do nothing
+        }
+
+        List<Integer> copy = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int num = (int) (Math.random() * 1000);
+            test.insert(num);
+            copy.add(num);
+        }
+        for (int i = 0; i < 500; i++) {
+            int num = (int) (Math.random() * 1000);
+            Collections.sort(copy);
+            assertEquals(copy.get(0), test.replaceMin(num));
+            copy.set(0, num);
+            assertEquals(100, test.size());
+        }
+        Collections.sort(copy);
+        for (int num : copy) {
+            assertEquals(num, test.removeMin());
+        }
+
+        test.insert(1);
+        try {
+            test.replaceMin(null);
+            fail("Did not catch null item");
+        } catch (IllegalArgumentException e) {
+            // Do nothing
+        }
+        assertEquals(1, test.peekMin());
+    }
 }
@@ -0,0 +1,108 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import datastructures.concrete.ConcurrentMultiQueue;
+import datastructures.interfaces.IPriorityQueue;
+import org.junit.Test;
+
+public class TestConcurrentMultiQueue extends BaseTest {
+    private static final int NUM_THREADS = 8;
+
+    @Test(timeout=SECOND)
+    public void testStrictModeIsExact() {
+        IPriorityQueue<Integer> queue = new ConcurrentMultiQueue<>(4, true);
+        for (int i = 100; i > 0; i--) {
+            queue.insert(i);
+        }
+        assertEquals(100, queue.size());
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, queue.peekMin());
+            assertEquals(i, queue.removeMin());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyAndNull() {
+        for (boolean strict : new boolean[] {true, false}) {
+            IPriorityQueue<Integer> queue = new ConcurrentMultiQueue<>(4, strict);
+            try {
+                queue.removeMin();
+                fail("Expected EmptyContainerException");
+            } catch (EmptyContainerException ex) {
+                // All ok -- expected result
+            }
+            try {
+                queue.peekMin();
+                fail("Expected EmptyContainerException");
+            } catch (EmptyContainerException ex) {
+                // All ok -- expected result
+            }
+            try {
+                queue.insert(null);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRelaxedModeReturnsEverything() {
+        IPriorityQueue<Integer> queue = new ConcurrentMultiQueue<>(8, false);
+        for (int i = 0; i < 1000; i++) {
+            queue.insert(i);
+        }
+        boolean[] seen = new boolean[1000];
+        for (int i = 0; i < 1000; i++) {
+            int item = queue.removeMin();
+            assertTrue(!seen[item]);
+            seen[item] = true;
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    private static void checkConcurrentInsertThenRemove(boolean strict) throws InterruptedException {
+        IPriorityQueue<Integer> queue = new ConcurrentMultiQueue<>(2 * NUM_THREADS, strict);
+        int perThread = 20000;
+        boolean[] seen = new boolean[NUM_THREADS * perThread];
+        Thread[] threads = new Thread[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.insert(id * perThread + i);
+                }
+                // Each thread takes out as many as it put in; between them they drain the queue.
+                for (int i = 0; i < perThread; i++) {
+                    int item = queue.removeMin();
+                    synchronized (seen) {
+                        seen[item] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+        for (boolean found : seen) {
+            assertTrue(found);
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testConcurrentStrict() throws InterruptedException {
+        checkConcurrentInsertThenRemove(true);
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testConcurrentRelaxed() throws InterruptedException {
+        checkConcurrentInsertThenRemove(false);
+    }
+}
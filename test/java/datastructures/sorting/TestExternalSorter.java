@@ -0,0 +1,278 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.ExternalSorter;
+import misc.Searcher;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestExternalSorter extends BaseTest {
+    // Small enough that a few hundred records need several runs and merge passes:
+    // three 64 KB buffers only allow merging two runs at a time.
+    private static final int RUN_SIZE = 100;
+    private static final long TWO_WAY_BUDGET = 3 * (1 << 16);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Compares by key only, so sorting can be checked for stability with 'order'.
+     */
+    private static class Keyed implements Comparable<Keyed> {
+        public final int key;
+        public final int order;
+
+        public Keyed(int key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Keyed other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    private static final ExternalSorter.Codec<Keyed> KEYED = new ExternalSorter.Codec<Keyed>() {
+        public void write(DataOutput out, Keyed item) throws IOException {
+            out.writeInt(item.key);
+            out.writeInt(item.order);
+        }
+
+        public Keyed read(DataInput in) throws IOException {
+            int key = in.readInt();
+            return new Keyed(key, in.readInt());
+        }
+    };
+
+    private <T extends Comparable<T>> ExternalSorter<T> makeSorter(ExternalSorter.Codec<T> codec) {
+        return new ExternalSorter<>(codec, RUN_SIZE, TWO_WAY_BUDGET, folder.getRoot().toPath());
+    }
+
+    private static <T extends Comparable<T>> List<T> readAll(ExternalSorter<T> sorter, Path file) throws IOException {
+        List<T> items = new ArrayList<>();
+        try (ExternalSorter.RecordReader<T> reader = sorter.openReader(file)) {
+            while (reader.hasNext()) {
+                items.add(reader.next());
+            }
+        }
+        return items;
+    }
+
+    private void assertOnlyFilesLeft(Path... expected) throws IOException {
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(expected.length, (int) files.count());
+        }
+        for (Path file : expected) {
+            assertTrue(Files.exists(file));
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testSortIntegers() throws IOException {
+        ExternalSorter<Integer> sorter = this.makeSorter(ExternalSorter.INTEGERS);
+        Random rand = new Random(1);
+        for (int count : new int[] {0, 1, RUN_SIZE, RUN_SIZE + 1, 1234}) {
+            Integer[] items = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                items[i] = rand.nextInt(500) - 250;
+            }
+            Path output = folder.getRoot().toPath().resolve("sorted" + count);
+            sorter.sort(Arrays.asList(items).iterator(), output);
+
+            Arrays.sort(items);
+            assertArrayEquals(items, readAll(sorter, output).toArray());
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testManyMergePasses() throws IOException {
+        // 200 runs merged two at a time take eight passes. This is the scaled-down
+        // version of TestExternalSorterStress's 10 GB benchmark.
+        ExternalSorter<Long> sorter = this.makeSorter(ExternalSorter.LONGS);
+        Random rand = new Random(5);
+        Path input = folder.newFile("input").toPath();
+        long inputSum = 0;
+        int count = 200 * RUN_SIZE;
+        try (ExternalSorter.RecordWriter<Long> writer = sorter.openWriter(input)) {
+            for (int i = 0; i < count; i++) {
+                long item = rand.nextLong();
+                inputSum += item;
+                writer.write(item);
+            }
+        }
+        Path output = folder.newFile("output").toPath();
+        sorter.sort(input, output);
+
+        long outputSum = 0;
+        int outputCount = 0;
+        try (ExternalSorter.RecordReader<Long> reader = sorter.openReader(output)) {
+            long last = Long.MIN_VALUE;
+            while (reader.hasNext()) {
+                long item = reader.next();
+                assertTrue(last <= item);
+                outputSum += item;
+                outputCount++;
+                last = item;
+            }
+        }
+        assertEquals(count, outputCount);
+        assertEquals(inputSum, outputSum);
+        assertOnlyFilesLeft(input, output);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testSortIsStable() throws IOException {
+        ExternalSorter<Keyed> sorter = this.makeSorter(KEYED);
+        Random rand = new Random(2);
+        List<Keyed> items = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            items.add(new Keyed(rand.nextInt(20), i));
+        }
+        Path output = folder.newFile("sorted").toPath();
+        sorter.sort(items.iterator(), output);
+
+        List<Keyed> sorted = readAll(sorter, output);
+        assertEquals(items.size(), sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            Keyed before = sorted.get(i - 1);
+            Keyed after = sorted.get(i);
+            assertTrue(before.key < after.key || (before.key == after.key && before.order < after.order));
+        }
+        assertOnlyFilesLeft(output);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testSortFileToFile() throws IOException {
+        ExternalSorter<String> sorter = this.makeSorter(ExternalSorter.STRINGS);
+        Random rand = new Random(3);
+        List<String> items = new ArrayList<>();
+        Path input = folder.newFile("input").toPath();
+        try (ExternalSorter.RecordWriter<String> writer = sorter.openWriter(input)) {
+            for (int i = 0; i < 777; i++) {
+                String item = Integer.toString(rand.nextInt(), 36) + "\u00e9\u4e2d";
+                items.add(item);
+                writer.write(item);
+            }
+        }
+        Path output = folder.newFile("output").toPath();
+        sorter.sort(input, output);
+
+        items.sort(null);
+        assertEquals(items, readAll(sorter, output));
+        assertOnlyFilesLeft(input, output);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testTopKMatchesSearcher() throws IOException {
+        ExternalSorter<Double> sorter = this.makeSorter(ExternalSorter.DOUBLES);
+        Random rand = new Random(4);
+        List<Double> items = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            items.add((double) rand.nextInt(300));
+        }
+        // In memory (k <= RUN_SIZE), on disk with and without extra passes, and k > n.
+        for (int k : new int[] {0, 1, RUN_SIZE, RUN_SIZE + 1, 700, 1500, 2000}) {
+            Path output = folder.getRoot().toPath().resolve("top" + k);
+            sorter.topK(k, items.iterator(), output);
+
+            IList<Double> expected = Searcher.topKSort(k, items.iterator());
+            List<Double> actual = readAll(sorter, output);
+            assertEquals(expected.size(), actual.size());
+            Iterator<Double> iter = actual.iterator();
+            for (double item : expected) {
+                assertEquals(item, iter.next(), 0.0);
+            }
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testTopKFromFile() throws IOException {
+        ExternalSorter<Long> sorter = this.makeSorter(ExternalSorter.LONGS);
+        Path input = folder.newFile("input").toPath();
+        try (ExternalSorter.RecordWriter<Long> writer = sorter.openWriter(input)) {
+            for (long i = 0; i < 1000; i++) {
+                writer.write((i * 7919) % 1000);
+            }
+        }
+        Path output = folder.newFile("output").toPath();
+        sorter.topK(250, input, output);
+        List<Long> top = readAll(sorter, output);
+        assertEquals(250, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(750L + i, (long) top.get(i));
+        }
+        assertOnlyFilesLeft(input, output);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIllegalArguments() throws IOException {
+        Path root = folder.getRoot().toPath();
+        try {
+            new ExternalSorter<>(ExternalSorter.INTEGERS, 0, TWO_WAY_BUDGET, root);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new ExternalSorter<>(ExternalSorter.INTEGERS, RUN_SIZE, TWO_WAY_BUDGET - 1, root);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        ExternalSorter<Integer> sorter = this.makeSorter(ExternalSorter.INTEGERS);
+        Path output = root.resolve("output");
+        try {
+            sorter.topK(-1, Arrays.asList(1, 2).iterator(), output);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        List<Integer> withNull = new ArrayList<>();
+        for (int i = 0; i < 3 * RUN_SIZE; i++) {
+            withNull.add(i == 2 * RUN_SIZE ? null : i);
+        }
+        try {
+            sorter.sort(withNull.iterator(), output);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        // The runs written before the null was found are cleaned up.
+        assertFalse(Files.exists(output));
+        assertOnlyFilesLeft();
+    }
+
+    @Test(timeout=SECOND)
+    public void testTruncatedFile() throws IOException {
+        ExternalSorter<Long> sorter = this.makeSorter(ExternalSorter.LONGS);
+        Path input = folder.newFile("input").toPath();
+        Files.write(input, new byte[] {0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0});
+        try {
+            sorter.sort(input, folder.getRoot().toPath().resolve("output"));
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            // All ok -- expected result
+        }
+    }
+}
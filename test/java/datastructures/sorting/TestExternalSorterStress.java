@@ -0,0 +1,142 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import misc.BaseTest;
+import misc.ExternalSorter;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Benchmarks ExternalSorter on 10 GB of records. It takes minutes and needs about
+ * 30 GB of temporary disk, so it only runs when asked for with
+ * -Dbenchmark.external=true.
+ */
+public class TestExternalSorterStress extends BaseTest {
+    private static final int KEY_SIZE = 10;
+    private static final int RECORD_SIZE = 100;
+
+    /**
+     * A record in the style of the sort benchmark: a 10-byte key and 90 bytes of
+     * payload, ordered by the key's bytes, unsigned.
+     */
+    private static class Record implements Comparable<Record> {
+        public final byte[] bytes;
+
+        public Record(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int compareTo(Record other) {
+            for (int i = 0; i < KEY_SIZE; i++) {
+                int cmp = Integer.compare(bytes[i] & 0xff, other.bytes[i] & 0xff);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        }
+
+        public long keyHash() {
+            long hash = 0;
+            for (int i = 0; i < KEY_SIZE; i++) {
+                hash = hash * 31 + bytes[i];
+            }
+            return hash;
+        }
+    }
+
+    private static final ExternalSorter.Codec<Record> RECORDS = new ExternalSorter.Codec<Record>() {
+        public void write(DataOutput out, Record item) throws IOException {
+            out.write(item.bytes);
+        }
+
+        public Record read(DataInput in) throws IOException {
+            byte[] bytes = new byte[RECORD_SIZE];
+            in.readFully(bytes);
+            return new Record(bytes);
+        }
+    };
+
+    @Test(timeout=3*3600*SECOND)
+    public void testSortTenGigabytes() throws IOException {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark.external"));
+        // 10 GB of input, in runs of 2 million records (about 270 MB of heap), with
+        // 64 MB of merge buffers: enough to merge all 50 runs in one pass.
+        final long count = 100000000L;
+        Path directory = Files.createTempDirectory("external-sort");
+        ExternalSorter<Record> sorter = new ExternalSorter<>(RECORDS, 2000000, 64L << 20, directory);
+        Path input = directory.resolve("input");
+        Path output = directory.resolve("output");
+        try {
+            SplittableRandom rand = new SplittableRandom(10);
+            long inputHash = 0;
+            long start = System.nanoTime();
+            try (ExternalSorter.RecordWriter<Record> writer = sorter.openWriter(input)) {
+                for (long i = 0; i < count; i++) {
+                    byte[] bytes = new byte[RECORD_SIZE];
+                    for (int j = 0; j < KEY_SIZE; j++) {
+                        bytes[j] = (byte) rand.nextInt(256);
+                    }
+                    for (int j = KEY_SIZE; j < RECORD_SIZE; j += 8) {
+                        bytes[j] = (byte) (i >>> (j & 56));
+                    }
+                    Record record = new Record(bytes);
+                    inputHash += record.keyHash();
+                    writer.write(record);
+                }
+            }
+            printElapsed("write input", count, start);
+
+            start = System.nanoTime();
+            sorter.sort(input, output);
+            printElapsed("sort", count, start);
+
+            start = System.nanoTime();
+            long outputHash = 0;
+            long outputCount = 0;
+            try (ExternalSorter.RecordReader<Record> reader = sorter.openReader(output)) {
+                Record last = null;
+                while (reader.hasNext()) {
+                    Record record = reader.next();
+                    assertTrue(last == null || last.compareTo(record) <= 0);
+                    outputHash += record.keyHash();
+                    outputCount++;
+                    last = record;
+                }
+            }
+            printElapsed("verify output", count, start);
+            assertEquals(count, outputCount);
+            assertEquals(inputHash, outputHash);
+
+            // The top 1000 fit in memory; the top 5 million take runs on disk.
+            for (int k : new int[] {1000, 5000000}) {
+                start = System.nanoTime();
+                sorter.topK(k, input, output);
+                printElapsed("top " + k, count, start);
+                assertEquals((long) k * RECORD_SIZE, Files.size(output));
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void printElapsed(String step, long count, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-14s %7.1f s, %6.1f MB/s%n", step, seconds, count * RECORD_SIZE / 1e6 / seconds);
+    }
+}
@@ -0,0 +1,226 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import org.junit.Test;
+
+public class TestIndexedArrayHeap extends BaseTest {
+    /**
+     * An element whose priority can be changed after it has been inserted. Equality
+     * and hashing are by identity, so changing the priority never moves it in a hash map.
+     */
+    private static class Entry implements Comparable<Entry> {
+        public double priority;
+
+        public Entry(double priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(this.priority, other.priority);
+        }
+    }
+
+    protected <T extends Comparable<T>> IIndexedPriorityQueue<T> makeInstance() {
+        return new IndexedArrayHeap<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testBasicInsertRemoveMin() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        for (int i = 10; i > 0; i--) {
+            heap.insert(i);
+        }
+        assertEquals(10, heap.size());
+        for (int i = 1; i <= 10; i++) {
+            assertTrue(heap.contains(i));
+            assertEquals(i, heap.peekMin());
+            assertEquals(i, heap.removeMin());
+            assertFalse(heap.contains(i));
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertDuplicateOrNull() {
+        IIndexedPriorityQueue<String> heap = this.makeInstance();
+        heap.insert("a");
+        try {
+            heap.insert("a");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.insert(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(1, heap.size());
+        assertFalse(heap.contains(null));
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyExceptions() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.peekMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingItemExceptions() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(1);
+        try {
+            heap.remove(2);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(2);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.increaseKey(2);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveMiddleKeepsOrder() {
+        IIndexedPriorityQueue<Integer> heap = this.makeInstance();
+        for (int i = 0; i < 100; i++) {
+            heap.insert(i);
+        }
+        // Removing an internal node must be able to sink the replacement, not just raise it.
+        for (int i = 1; i < 100; i += 3) {
+            heap.remove(i);
+        }
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 != 1) {
+                assertEquals(i, heap.removeMin());
+            }
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseAndIncreaseKey() {
+        IIndexedPriorityQueue<Entry> heap = this.makeInstance();
+        Entry[] entries = new Entry[20];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry(i);
+            heap.insert(entries[i]);
+        }
+
+        entries[15].priority = -1;
+        heap.decreaseKey(entries[15]);
+        assertEquals(entries[15], heap.peekMin());
+
+        entries[15].priority = 100;
+        heap.increaseKey(entries[15]);
+        entries[0].priority = 50;
+        heap.increaseKey(entries[0]);
+        assertEquals(entries[1], heap.peekMin());
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            Entry next = heap.removeMin();
+            assertTrue(next.priority >= last);
+            last = next.priority;
+        }
+        assertEquals(100.0, last, 0.0);
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testRandomOperationsMatchSortedOrder() {
+        IIndexedPriorityQueue<Entry> heap = this.makeInstance();
+        Random rand = new Random(12);
+        List<Entry> live = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            Entry entry = new Entry(rand.nextDouble());
+            heap.insert(entry);
+            live.add(entry);
+        }
+        for (int i = 0; i < 100000; i++) {
+            int index = rand.nextInt(live.size());
+            Entry entry = live.get(index);
+            int op = rand.nextInt(3);
+            if (op == 0) {
+                entry.priority -= rand.nextDouble();
+                heap.decreaseKey(entry);
+            } else if (op == 1) {
+                entry.priority += rand.nextDouble();
+                heap.increaseKey(entry);
+            } else {
+                heap.remove(entry);
+                assertFalse(heap.contains(entry));
+                live.set(index, live.get(live.size() - 1));
+                live.remove(live.size() - 1);
+            }
+        }
+
+        List<Double> expected = new ArrayList<>();
+        for (Entry entry : live) {
+            expected.add(entry.priority);
+        }
+        Collections.sort(expected);
+        assertEquals(expected.size(), heap.size());
+        for (double priority : expected) {
+            assertEquals(priority, heap.removeMin().priority, 0.0);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testComparatorOrder() {
+        IIndexedPriorityQueue<Entry> heap = new IndexedArrayHeap<Entry>(java.util.Comparator.reverseOrder());
+        Entry[] entries = new Entry[20];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry((i * 7) % 20);
+            heap.insert(entries[i]);
+        }
+        assertEquals(19.0, heap.peekMin().priority, 0.0);
+
+        // Under a reversed order, growing is what decreaseKey handles.
+        entries[0].priority = 100;
+        heap.decreaseKey(entries[0]);
+        assertTrue(heap.peekMin() == entries[0]);
+        entries[0].priority = -1;
+        heap.increaseKey(entries[0]);
+
+        for (int priority = 19; priority >= 1; priority--) {
+            assertEquals(priority, heap.removeMin().priority, 0.0);
+        }
+        assertTrue(heap.removeMin() == entries[0]);
+        assertTrue(heap.isEmpty());
+    }
+}
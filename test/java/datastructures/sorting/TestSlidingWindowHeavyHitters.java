@@ -0,0 +1,127 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.SlidingWindowHeavyHitters;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+
+public class TestSlidingWindowHeavyHitters extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testBasicCounts() {
+        SlidingWindowHeavyHitters<String> hitters = new SlidingWindowHeavyHitters<>(2);
+        String[] keys = {"a", "b", "a", "c", "a", "b", "c", "c", "c"};
+        for (int i = 0; i < keys.length; i++) {
+            hitters.insert(keys[i], i);
+        }
+        assertEquals(3, hitters.count("a"));
+        assertEquals(0, hitters.count("z"));
+
+        IList<KVPair<String, Integer>> top = hitters.topK();
+        assertEquals(2, top.size());
+        assertEquals("a", top.get(0).getKey());
+        assertEquals(3, (int) top.get(0).getValue());
+        assertEquals("c", top.get(1).getKey());
+        assertEquals(4, (int) top.get(1).getValue());
+
+        // Dropping the first five removes every a, one b and one c.
+        assertEquals(5, hitters.expireBefore(5));
+        assertEquals(0, hitters.count("a"));
+        top = hitters.topK();
+        assertEquals("b", top.get(0).getKey());
+        assertEquals(1, (int) top.get(0).getValue());
+        assertEquals("c", top.get(1).getKey());
+        assertEquals(3, (int) top.get(1).getValue());
+
+        assertEquals(4, hitters.retainNewest(0));
+        assertEquals(0, hitters.size());
+        assertEquals(0, hitters.topK().size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testTiesGoToMostRecent() {
+        SlidingWindowHeavyHitters<Integer> hitters = new SlidingWindowHeavyHitters<>(1);
+        hitters.insert(1);
+        hitters.insert(2);
+        assertEquals(2, (int) hitters.topK().get(0).getKey());
+        hitters.insert(1);
+        hitters.insert(2);
+        assertEquals(2, (int) hitters.topK().get(0).getKey());
+        // Window is now 2, 1, 2: 2 leads outright, until another 1 ties it.
+        hitters.retainNewest(3);
+        assertEquals(2, (int) hitters.topK().get(0).getKey());
+        hitters.insert(1);
+        assertEquals(1, (int) hitters.topK().get(0).getKey());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIllegalArguments() {
+        try {
+            new SlidingWindowHeavyHitters<String>(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        SlidingWindowHeavyHitters<String> hitters = new SlidingWindowHeavyHitters<>(1);
+        hitters.insert("a", 3);
+        try {
+            hitters.insert("a", 2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            hitters.retainNewest(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(1, hitters.count("a"));
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testRandomWindowsMatchCounting() {
+        Random rand = new Random(8);
+        int k = 5;
+        SlidingWindowHeavyHitters<Integer> hitters = new SlidingWindowHeavyHitters<>(k);
+        List<Integer> window = new ArrayList<>();
+        for (int tick = 0; tick < 3000; tick++) {
+            // Skewed keys, so there are real heavy hitters.
+            int key = (int) Math.sqrt(rand.nextInt(400));
+            hitters.insert(key);
+            window.add(key);
+            if (rand.nextInt(3) == 0) {
+                int keep = rand.nextInt(200);
+                while (window.size() > keep) {
+                    window.remove(0);
+                }
+                hitters.retainNewest(keep);
+            }
+
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (int item : window) {
+                counts.put(item, counts.getOrDefault(item, 0) + 1);
+            }
+            List<Integer> sortedCounts = new ArrayList<>(counts.values());
+            Collections.sort(sortedCounts);
+            IList<KVPair<Integer, Integer>> top = hitters.topK();
+            assertEquals(Math.min(k, counts.size()), top.size());
+            int ind = sortedCounts.size() - top.size();
+            for (KVPair<Integer, Integer> pair : top) {
+                assertEquals(sortedCounts.get(ind), pair.getValue());
+                assertEquals(counts.get(pair.getKey()), pair.getValue());
+                assertEquals((int) pair.getValue(), hitters.count(pair.getKey()));
+                ind++;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.SlidingWindowTopK;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.Searcher;
+import org.junit.Test;
+
+public class TestSlidingWindowTopK extends BaseTest {
+    private static <T> void assertSameItems(IList<T> expected, IList<T> actual) {
+        assertEquals(expected.size(), actual.size());
+        Iterator<T> iter = actual.iterator();
+        for (T item : expected) {
+            assertEquals(item, iter.next());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBasicWindow() {
+        SlidingWindowTopK<Integer> window = new SlidingWindowTopK<>(3);
+        assertEquals(0, window.topK().size());
+        window.insert(5, 0);
+        window.insert(1, 1);
+        assertSameItems(toList(1, 5), window.topK());
+
+        window.insert(9, 2);
+        window.insert(7, 3);
+        window.insert(3, 4);
+        assertEquals(5, window.size());
+        assertSameItems(toList(5, 7, 9), window.topK());
+
+        // 5 and 1 leave, so 3 moves up into the top three.
+        assertEquals(2, window.expireBefore(2));
+        assertSameItems(toList(3, 7, 9), window.topK());
+
+        assertEquals(2, window.retainNewest(1));
+        assertSameItems(toList(3), window.topK());
+        assertEquals(0, window.expireBefore(4));
+        assertEquals(1, window.expireBefore(5));
+        assertEquals(0, window.size());
+        assertEquals(0, window.topK().size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDuplicatesAndZeroK() {
+        SlidingWindowTopK<String> window = new SlidingWindowTopK<>(2);
+        SlidingWindowTopK<String> none = new SlidingWindowTopK<>(0);
+        for (int i = 0; i < 5; i++) {
+            window.insert("a");
+            none.insert("a");
+        }
+        assertSameItems(toList("a", "a"), window.topK());
+        assertEquals(0, none.topK().size());
+        window.retainNewest(1);
+        assertSameItems(toList("a"), window.topK());
+        assertEquals(5, none.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIllegalArguments() {
+        try {
+            new SlidingWindowTopK<Integer>(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        SlidingWindowTopK<Integer> window = new SlidingWindowTopK<>(2);
+        window.insert(1, 10);
+        try {
+            window.insert(null, 10);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            window.insert(2, 9);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            window.retainNewest(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(1, window.size());
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testRandomWindowsMatchTopKSort() {
+        Random rand = new Random(12);
+        for (int k : new int[] {1, 5, 40}) {
+            SlidingWindowTopK<Integer> window = new SlidingWindowTopK<>(k);
+            List<Integer> items = new ArrayList<>();
+            List<Long> times = new ArrayList<>();
+            long time = 0;
+            for (int tick = 0; tick < 2000; tick++) {
+                time += rand.nextInt(3);
+                int item = rand.nextInt(50);
+                window.insert(item, time);
+                items.add(item);
+                times.add(time);
+                if (rand.nextInt(4) == 0) {
+                    long cutoff = time - rand.nextInt(20);
+                    int expired = 0;
+                    while (!times.isEmpty() && times.get(0) < cutoff) {
+                        times.remove(0);
+                        items.remove(0);
+                        expired++;
+                    }
+                    assertEquals(expired, window.expireBefore(cutoff));
+                } else if (rand.nextInt(4) == 0) {
+                    int keep = rand.nextInt(60);
+                    while (items.size() > keep) {
+                        times.remove(0);
+                        items.remove(0);
+                    }
+                    window.retainNewest(keep);
+                }
+                assertEquals(items.size(), window.size());
+                assertSameItems(Searcher.topKSort(k, items), window.topK());
+            }
+        }
+    }
+
+    @SafeVarargs
+    private static <T> IList<T> toList(T... items) {
+        IList<T> list = new DoubleLinkedList<>();
+        for (T item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+}
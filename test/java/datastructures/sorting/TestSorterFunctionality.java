@@ -0,0 +1,222 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.Sorter;
+import org.junit.Test;
+
+public class TestSorterFunctionality extends BaseTest {
+    /**
+     * Compares by key only, so sorting can be checked for stability with 'order'.
+     */
+    private static class Keyed implements Comparable<Keyed> {
+        public final int key;
+        public final int order;
+
+        public Keyed(int key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Keyed other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    /**
+     * Returns inputs of the given length in shapes that tend to trip sorts up.
+     */
+    private static List<int[]> patterns(int length, long seed) {
+        Random rand = new Random(seed);
+        List<int[]> result = new ArrayList<>();
+        int[] random = new int[length];
+        int[] sorted = new int[length];
+        int[] reversed = new int[length];
+        int[] fewDistinct = new int[length];
+        int[] sawtooth = new int[length];
+        int[] organPipe = new int[length];
+        int[] nearlySorted = new int[length];
+        int[] runs = new int[length];
+        for (int i = 0; i < length; i++) {
+            random[i] = rand.nextInt();
+            sorted[i] = i;
+            reversed[i] = length - i;
+            fewDistinct[i] = rand.nextInt(3);
+            sawtooth[i] = i % 97;
+            organPipe[i] = Math.min(i, length - i);
+            nearlySorted[i] = i;
+        }
+        for (int i = 0; i < length / 50; i++) {
+            int a = rand.nextInt(length);
+            int b = rand.nextInt(length);
+            int temp = nearlySorted[a];
+            nearlySorted[a] = nearlySorted[b];
+            nearlySorted[b] = temp;
+        }
+        // Ascending and descending runs of random lengths.
+        int start = 0;
+        while (start < length) {
+            int end = Math.min(length, start + 1 + rand.nextInt(200));
+            boolean up = rand.nextBoolean();
+            int base = rand.nextInt(1000);
+            for (int i = start; i < end; i++) {
+                runs[i] = up ? base + (i - start) : base - (i - start);
+            }
+            start = end;
+        }
+        Collections.addAll(result, random, sorted, reversed, fewDistinct, sawtooth, organPipe,
+                nearlySorted, runs, new int[length]);
+        return result;
+    }
+
+    private static Keyed[] toKeyed(int[] keys) {
+        Keyed[] items = new Keyed[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            items[i] = new Keyed(keys[i], i);
+        }
+        return items;
+    }
+
+    private static void assertSortedStably(Keyed[] items) {
+        for (int i = 1; i < items.length; i++) {
+            assertTrue(items[i - 1].key < items[i].key
+                    || (items[i - 1].key == items[i].key && items[i - 1].order < items[i].order));
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testMergeSortPatterns() {
+        for (int length : new int[] {0, 1, 2, 31, 32, 33, 100, 1000, 54321}) {
+            for (int[] keys : patterns(length, length)) {
+                Keyed[] items = toKeyed(keys);
+                Sorter.sort(items);
+                assertSortedStably(items);
+            }
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelSortPatterns() {
+        // Long enough to be split into buckets.
+        for (int[] keys : patterns(300000, 9)) {
+            Keyed[] items = toKeyed(keys);
+            Sorter.parallelSort(items);
+            assertSortedStably(items);
+        }
+        Keyed[] small = toKeyed(patterns(500, 10).get(0));
+        Sorter.parallelSort(small);
+        assertSortedStably(small);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSortList() {
+        IList<String> list = new DoubleLinkedList<>();
+        List<String> expected = new ArrayList<>();
+        Random rand = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            String item = Integer.toString(rand.nextInt(500), 36);
+            list.add(item);
+            expected.add(item);
+        }
+        List<String> original = new ArrayList<>(expected);
+        Collections.sort(expected);
+
+        IList<String> sorted = Sorter.sort(list);
+        assertEquals(expected.size(), sorted.size());
+        Iterator<String> iter = sorted.iterator();
+        for (String item : expected) {
+            assertEquals(item, iter.next());
+        }
+        iter = list.iterator();
+        for (String item : original) {
+            assertEquals(item, iter.next());
+        }
+        assertEquals(0, Sorter.sort(new DoubleLinkedList<String>()).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullElements() {
+        Integer[] items = {3, null, 1};
+        try {
+            Sorter.sort(items);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            Sorter.parallelSort(items);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        IList<Integer> list = new DoubleLinkedList<>();
+        list.add(null);
+        try {
+            Sorter.sort(list);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testIntSortPatterns() {
+        for (int length : new int[] {0, 1, 2, 39, 40, 41, 100, 1000, 200000}) {
+            for (int[] items : patterns(length, length + 1)) {
+                int[] expected = items.clone();
+                Arrays.sort(expected);
+                Sorter.sort(items);
+                assertArrayEquals(expected, items);
+            }
+        }
+        int[] extremes = {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        Sorter.sort(extremes);
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE,
+                Integer.MAX_VALUE}, extremes);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testDoubleSortPatterns() {
+        for (int length : new int[] {0, 1, 41, 1000, 200000}) {
+            for (int[] keys : patterns(length, length + 2)) {
+                double[] items = new double[length];
+                for (int i = 0; i < length; i++) {
+                    items[i] = keys[i] / 7.0;
+                }
+                double[] expected = items.clone();
+                Arrays.sort(expected);
+                Sorter.sort(items);
+                assertTrue(Arrays.equals(expected, items));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDoubleSpecialValues() {
+        Random rand = new Random(6);
+        double[] specials = {Double.NaN, -0.0, 0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MIN_VALUE, 1.0, -1.0};
+        double[] items = new double[5000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = specials[rand.nextInt(specials.length)];
+        }
+        double[] expected = items.clone();
+        Arrays.sort(expected);
+        Sorter.sort(items);
+        // Arrays.equals compares doubles bit for bit, so -0.0 and 0.0 must match too.
+        assertTrue(Arrays.equals(expected, items));
+    }
+}
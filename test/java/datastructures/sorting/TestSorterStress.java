@@ -0,0 +1,190 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.Searcher;
+import misc.Sorter;
+import org.junit.Test;
+
+/**
+ * Runs the inputs from TestSortingStress through every full sort we have and prints
+ * how long each takes: Searcher.topKSort with k = n, Sorter on an IList, Sorter on
+ * an array, Sorter.parallelSort and, where the data is numeric, the primitive sorts
+ * next to java.util.Arrays.
+ */
+public class TestSorterStress extends BaseTest {
+    private static <T extends Comparable<T>> void benchmark(String scenario, T[] data) {
+        IList<T> list = new DoubleLinkedList<>();
+        for (T item : data) {
+            list.add(item);
+        }
+
+        long start = System.nanoTime();
+        IList<T> viaSearcher = Searcher.topKSort(data.length, list);
+        long searcherTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        IList<T> viaList = Sorter.sort(list);
+        long listTime = System.nanoTime() - start;
+
+        T[] sorted = data.clone();
+        start = System.nanoTime();
+        Sorter.sort(sorted);
+        long arrayTime = System.nanoTime() - start;
+
+        T[] parallelSorted = data.clone();
+        start = System.nanoTime();
+        Sorter.parallelSort(parallelSorted);
+        long parallelTime = System.nanoTime() - start;
+
+        System.out.printf("%-24s topKSort %6d ms | Sorter list %5d ms, array %5d ms, parallel %5d ms%n",
+                scenario, searcherTime / 1000000, listTime / 1000000, arrayTime / 1000000, parallelTime / 1000000);
+
+        assertEquals(data.length, viaSearcher.size());
+        assertEquals(data.length, viaList.size());
+        Iterator<T> heapOrder = viaSearcher.iterator();
+        Iterator<T> listOrder = viaList.iterator();
+        for (int i = 0; i < data.length; i++) {
+            // Both array sorts are stable, so they agree element for element.
+            assertTrue(sorted[i] == parallelSorted[i]);
+            assertTrue(sorted[i] == listOrder.next());
+            assertEquals(0, sorted[i].compareTo(heapOrder.next()));
+        }
+    }
+
+    private static void benchmark(String scenario, int[] data) {
+        int[] expected = data.clone();
+        long start = System.nanoTime();
+        Arrays.sort(expected);
+        long arraysTime = System.nanoTime() - start;
+
+        int[] sorted = data.clone();
+        start = System.nanoTime();
+        Sorter.sort(sorted);
+        long sorterTime = System.nanoTime() - start;
+
+        System.out.printf("%-24s int[]: Arrays.sort %5d ms, Sorter %5d ms%n",
+                scenario, arraysTime / 1000000, sorterTime / 1000000);
+        assertArrayEquals(expected, sorted);
+    }
+
+    private static void benchmark(String scenario, double[] data) {
+        double[] expected = data.clone();
+        long start = System.nanoTime();
+        Arrays.sort(expected);
+        long arraysTime = System.nanoTime() - start;
+
+        double[] sorted = data.clone();
+        start = System.nanoTime();
+        Sorter.sort(sorted);
+        long sorterTime = System.nanoTime() - start;
+
+        System.out.printf("%-24s double[]: Arrays.sort %5d ms, Sorter %5d ms%n",
+                scenario, arraysTime / 1000000, sorterTime / 1000000);
+        assertTrue(Arrays.equals(expected, sorted));
+    }
+
+    private static Integer[] box(int[] data) {
+        Integer[] boxed = new Integer[data.length];
+        for (int i = 0; i < data.length; i++) {
+            boxed[i] = data[i];
+        }
+        return boxed;
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testLarge() {
+        int[] data = new int[1000000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = data.length - i;
+        }
+        benchmark("descending 1M", box(data));
+        benchmark("descending 1M", data);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testWeirdOrder() {
+        int[] data = new int[3000000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 - i % 100;
+        }
+        benchmark("100 values x 30000", box(data));
+        benchmark("100 values x 30000", data);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testKSortLarge() {
+        Random rand = new Random(1);
+        Double[] data = new Double[5000];
+        double[] primitive = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            primitive[i] = rand.nextDouble() * 1000 - 500;
+            data[i] = primitive[i];
+        }
+        benchmark("random doubles 5000", data);
+        benchmark("random doubles 5000", primitive);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testKSortLargeString() {
+        Random rand = new Random(2);
+        String[] data = new String[5000];
+        for (int i = 0; i < data.length; i++) {
+            char[] chars = new char[rand.nextInt(20)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('A' + rand.nextInt(25));
+            }
+            data[i] = new String(chars);
+        }
+        benchmark("random strings 5000", data);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testIntKSortLarge() {
+        Random rand = new Random(3);
+        int[] data = new int[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rand.nextInt(1000) - 500;
+        }
+        benchmark("small ints 5000", box(data));
+        benchmark("small ints 5000", data);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testSearcherTopKSort() {
+        int[] data = new int[500000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = data.length - i;
+        }
+        benchmark("descending 500k", box(data));
+        benchmark("descending 500k", data);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testRandomPermutation() {
+        // The permutation testSearcherTopKSortStreaming streams, at a size that
+        // still fits in a DoubleLinkedList.
+        int count = 2000000;
+        int[] data = new int[count];
+        for (int i = 0; i < count; i++) {
+            data[i] = (int) ((i * 48271L) % count);
+        }
+        benchmark("permutation 2M", box(data));
+        benchmark("permutation 2M", data);
+
+        Random rand = new Random(4);
+        for (int i = 0; i < count; i++) {
+            data[i] = rand.nextInt();
+        }
+        benchmark("random ints 2M", box(data));
+        benchmark("random ints 2M", data);
+    }
+}
@@ -6,12 +6,17 @@ import misc.Searcher;
 import org.junit.Test;
 
 import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.ConcurrentMultiQueue;
 import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.KVPair;
+import datastructures.concrete.SlidingWindowHeavyHitters;
+import datastructures.concrete.SlidingWindowTopK;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -130,6 +135,143 @@ public class TestSortingStress extends BaseTest {
         }
     }
     
+    @Test(timeout=30*SECOND)
+    public void testSearcherTopKSortStreaming() {
+        // 20 million elements streamed through, never stored: the heap only ever
+        // holds k of them.
+        final int count = 20000000;
+        Iterator<Integer> stream = new Iterator<Integer>() {
+            private int produced = 0;
+
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            public Integer next() {
+                produced++;
+                // A permutation of [0, count), so the top 10 are count - 10 through count - 1.
+                return (int) ((produced * 48271L) % count);
+            }
+        };
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        IList<Integer> top = Searcher.topKSort(10, stream);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("top 10 of %d streamed: %d ms, heap grew %d KB%n", count, elapsed / 1000000,
+                Math.max(0, runtime.totalMemory() - runtime.freeMemory() - heapBefore) / 1024);
+
+        assertEquals(10, top.size());
+        int ind = count - 10;
+        for (int item : top) {
+            assertEquals(ind, item);
+            ind++;
+        }
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testSearcherParallelTopKSort() {
+        final int count = 20000000;
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            // A permutation of [0, count), so the top k are count - k through count - 1.
+            items[i] = (int) ((i * 48271L) % count);
+        }
+        List<Integer> source = java.util.Arrays.asList(items);
+        System.out.printf("%d cores%n", java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+
+        for (int k : new int[] {10, 1000, count / 4}) {
+            long start = System.nanoTime();
+            IList<Integer> sequential = Searcher.topKSort(k, source);
+            long sequentialTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            IList<Integer> parallel = Searcher.parallelTopKSort(k, items);
+            long parallelTime = System.nanoTime() - start;
+            System.out.printf("top %d of %d: sequential %d ms, parallel %d ms%n", k, count,
+                    sequentialTime / 1000000, parallelTime / 1000000);
+
+            assertEquals(k, parallel.size());
+            Iterator<Integer> iter = sequential.iterator();
+            int ind = count - k;
+            for (int item : parallel) {
+                assertEquals(ind, item);
+                assertEquals(ind, (int) iter.next());
+                ind++;
+            }
+        }
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testSlidingWindowTopK() {
+        // Top 10 of the last 100,000 events after each of 1,000,000 events, against
+        // rebuilding the window and re-running topKSort (timed on a sample of ticks).
+        final int windowSize = 100000;
+        final int events = 1000000;
+        final int k = 10;
+        java.util.Random rand = new java.util.Random(4);
+        int[] scores = new int[events];
+        for (int i = 0; i < events; i++) {
+            scores[i] = rand.nextInt();
+        }
+
+        SlidingWindowTopK<Integer> window = new SlidingWindowTopK<>(k);
+        IList<Integer> last = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            window.insert(scores[i]);
+            window.retainNewest(windowSize);
+            last = window.topK();
+        }
+        long incremental = System.nanoTime() - start;
+
+        int samples = 100;
+        long rebuild = 0;
+        for (int sample = 1; sample <= samples; sample++) {
+            int end = (int) ((long) events * sample / samples);
+            start = System.nanoTime();
+            IList<Integer> rebuilt = new DoubleLinkedList<>();
+            for (int i = Math.max(0, end - windowSize); i < end; i++) {
+                rebuilt.add(scores[i]);
+            }
+            IList<Integer> top = Searcher.topKSort(k, rebuilt);
+            rebuild += System.nanoTime() - start;
+            if (end == events) {
+                assertEquals(top.size(), last.size());
+                Iterator<Integer> iter = last.iterator();
+                for (int item : top) {
+                    assertEquals(item, (int) iter.next());
+                }
+            }
+        }
+        System.out.printf("sliding top %d of %d over %d events: %.2f us per tick, topKSort rebuild %.0f us per tick%n",
+                k, windowSize, events, incremental / 1000.0 / events, rebuild / 1000.0 / samples);
+    }
+
+    @Test(timeout=60*SECOND)
+    public void testSlidingWindowHeavyHitters() {
+        final int windowSize = 100000;
+        final int events = 1000000;
+        java.util.Random rand = new java.util.Random(5);
+        SlidingWindowHeavyHitters<Integer> hitters = new SlidingWindowHeavyHitters<>(10);
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            // Zipf-like: key j comes up about 1 / j of the time.
+            int key = (int) Math.exp(rand.nextDouble() * Math.log(100000));
+            hitters.insert(key);
+            hitters.retainNewest(windowSize);
+            hitters.topK();
+        }
+        long elapsed = System.nanoTime() - start;
+        IList<KVPair<Integer, Integer>> top = hitters.topK();
+        System.out.printf("heavy hitters of %d over %d events: %.2f us per tick, top key %d seen %d times%n",
+                windowSize, events, elapsed / 1000.0 / events, top.get(top.size() - 1).getKey(),
+                top.get(top.size() - 1).getValue());
+        assertEquals(1, (int) top.get(top.size() - 1).getKey());
+    }
+
     @Test(timeout=10*SECOND)
     public void testSearcherTopKSort() {
         int big = 500000;
@@ -156,4 +298,74 @@ public class TestSortingStress extends BaseTest {
             assertEquals(test.get(big - k + i), top2.get(i));
         }
     }
+
+    /**
+     * The "one global lock" approach ConcurrentMultiQueue replaces.
+     */
+    private static class SynchronizedHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
+        private IPriorityQueue<T> heap = new ArrayHeap<>();
+
+        public synchronized T removeMin() {
+            return heap.removeMin();
+        }
+
+        public synchronized T peekMin() {
+            return heap.peekMin();
+        }
+
+        public synchronized void insert(T item) {
+            heap.insert(item);
+        }
+
+        public synchronized void remove(T item) {
+            heap.remove(item);
+        }
+
+        public synchronized int size() {
+            return heap.size();
+        }
+    }
+
+    /**
+     * Has each of 'numThreads' threads alternate inserts and removeMins on a queue
+     * pre-filled with 100k items, and returns the throughput in operations per millisecond.
+     */
+    private static long queueThroughput(IPriorityQueue<Integer> queue, int numThreads, int totalOps)
+            throws InterruptedException {
+        for (int i = 0; i < 100000; i++) {
+            queue.insert(i);
+        }
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                int value = seed;
+                for (int i = 0; i < totalOps / numThreads / 2; i++) {
+                    value = (value * 1103515245 + 12345) & Integer.MAX_VALUE;
+                    queue.insert(value % 1000000);
+                    queue.removeMin();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return totalOps * 1000000L / Math.max(1, System.nanoTime() - start);
+    }
+
+    @Test(timeout=120*SECOND)
+    public void testConcurrentQueueThroughputScaling() throws InterruptedException {
+        int totalOps = 2000000;
+        for (int numThreads = 1; numThreads <= 32; numThreads *= 2) {
+            long locked = queueThroughput(new SynchronizedHeap<>(), numThreads, totalOps);
+            long relaxed = queueThroughput(new ConcurrentMultiQueue<>(2 * numThreads, false), numThreads, totalOps);
+            long strict = queueThroughput(new ConcurrentMultiQueue<>(2 * numThreads, true), numThreads, totalOps);
+            System.out.printf("%2d threads: synchronized %d ops/ms, relaxed %d ops/ms, strict %d ops/ms%n",
+                    numThreads, locked, relaxed, strict);
+        }
+    }
 }
@@ -5,10 +5,12 @@ import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import misc.Searcher;
 
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.Test;
@@ -234,6 +236,230 @@ public class TestTopKSortFunctionality extends BaseTest {
             ind++;
         }
     }
-    
-    
+
+    /**
+     * Produces 'count' pseudo-random numbers without ever holding them all.
+     */
+    private static Iterator<Integer> randomStream(long seed, int count) {
+        return new Iterator<Integer>() {
+            private java.util.Random rand = new java.util.Random(seed);
+            private int produced = 0;
+
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            public Integer next() {
+                produced++;
+                return rand.nextInt(1000);
+            }
+        };
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorSource() {
+        List<Integer> temp = new ArrayList<>();
+        Iterator<Integer> copy = randomStream(21, REF);
+        while (copy.hasNext()) {
+            temp.add(copy.next());
+        }
+        Collections.sort(temp);
+
+        for (int k = 0; k <= REF + 10; k += 37) {
+            Iterator<Integer> stream = randomStream(21, REF);
+            IList<Integer> top = Searcher.topKSort(k, stream);
+            assertEquals(Math.min(k, REF), top.size());
+            int ind = REF - top.size();
+            for (int item : top) {
+                assertEquals(temp.get(ind), item);
+                ind++;
+            }
+            assertTrue(!stream.hasNext());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIterableSource() {
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < REF; i++) {
+            source.add("s" + (i * 7919 % REF));
+        }
+        List<String> temp = new ArrayList<>(source);
+        Collections.sort(temp);
+
+        IList<String> top = Searcher.topKSort(25, source);
+        assertEquals(25, top.size());
+        int ind = REF - 25;
+        for (String item : top) {
+            assertEquals(temp.get(ind), item);
+            ind++;
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testZeroKStillChecksForNull() {
+        List<Integer> source = new ArrayList<>();
+        source.add(3);
+        source.add(null);
+        try {
+            Searcher.topKSort(0, source);
+            fail("Did not catch null entry");
+        } catch (IllegalArgumentException e) {
+            // Do nothing.
+        }
+        source.remove(1);
+        assertEquals(0, Searcher.topKSort(0, source).size());
+    }
+
+    private static Integer[] randomArray(long seed, int count, int bound) {
+        java.util.Random rand = new java.util.Random(seed);
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = rand.nextInt(bound);
+        }
+        return items;
+    }
+
+    private static <T> void assertSameItems(IList<T> expected, IList<T> actual) {
+        assertEquals(expected.size(), actual.size());
+        Iterator<T> iter = actual.iterator();
+        for (T item : expected) {
+            assertEquals(item, iter.next());
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelMatchesSequential() {
+        // Big enough to split into chunks; the small bound makes lots of duplicates.
+        int count = 100000;
+        Integer[] items = randomArray(42, count, 5000);
+        List<Integer> source = java.util.Arrays.asList(items);
+        // Small k uses per-chunk heaps, k >= count / 8 uses selection.
+        int[] ks = {0, 1, 10, 1000, count / 8 - 1, count / 8, count / 2, count, count + 5};
+        for (int k : ks) {
+            assertSameItems(Searcher.topKSort(k, source), Searcher.parallelTopKSort(k, items));
+        }
+    }
+
+    /**
+     * A record compared by its key alone, so records with the same key tie.
+     */
+    private static class Keyed implements Comparable<Keyed> {
+        public final int key;
+        public final int payload;
+
+        public Keyed(int key, int payload) {
+            this.key = key;
+            this.payload = payload;
+        }
+
+        @Override
+        public int compareTo(Keyed other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testTiesAreBrokenByInputPosition() {
+        int count = 100000;
+        java.util.Random rand = new java.util.Random(8);
+        Keyed[] items = new Keyed[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = new Keyed(rand.nextInt(300), i);
+        }
+        // The last k of a stable sort: equal keys stay in input order.
+        Keyed[] stable = items.clone();
+        java.util.Arrays.sort(stable);
+
+        List<Keyed> source = java.util.Arrays.asList(items);
+        for (int k : new int[] {1, 10, 1000, count / 8, count / 2, count}) {
+            IList<Keyed> sequential = Searcher.topKSort(k, source);
+            IList<Keyed> parallel = Searcher.parallelTopKSort(k, items);
+            assertEquals(k, sequential.size());
+            assertEquals(k, parallel.size());
+            Iterator<Keyed> iter = parallel.iterator();
+            int ind = count - k;
+            for (Keyed item : sequential) {
+                assertTrue(item == stable[ind]);
+                assertTrue(item == iter.next());
+                ind++;
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testParallelSmallInput() {
+        Integer[] items = randomArray(7, REF, 100);
+        List<Integer> source = java.util.Arrays.asList(items);
+        for (int k : new int[] {0, 3, REF / 2, REF, REF + 1}) {
+            assertSameItems(Searcher.topKSort(k, source), Searcher.parallelTopKSort(k, items));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelListSource() {
+        Integer[] items = randomArray(3, 50000, Integer.MAX_VALUE);
+        List<Integer> arrayList = new ArrayList<>(java.util.Arrays.asList(items));
+        List<Integer> linkedList = new java.util.LinkedList<>(arrayList);
+        for (int k : new int[] {25, 20000}) {
+            IList<Integer> expected = Searcher.topKSort(k, arrayList);
+            assertSameItems(expected, Searcher.parallelTopKSort(k, arrayList));
+            assertSameItems(expected, Searcher.parallelTopKSort(k, linkedList));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelSortedAndReversedInput() {
+        int count = 60000;
+        Integer[] ascending = new Integer[count];
+        Integer[] descending = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            ascending[i] = i;
+            descending[i] = count - i;
+        }
+        for (int k : new int[] {100, count / 3}) {
+            IList<Integer> top = Searcher.parallelTopKSort(k, ascending);
+            int ind = count - k;
+            for (int item : top) {
+                assertEquals(ind, item);
+                ind++;
+            }
+            top = Searcher.parallelTopKSort(k, descending);
+            ind = count - k + 1;
+            for (int item : top) {
+                assertEquals(ind, item);
+                ind++;
+            }
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelIllArgException() {
+        Integer[] items = randomArray(5, 40000, 1000);
+        try {
+            Searcher.parallelTopKSort(-1, items);
+            fail("Did not catch call with negative k value");
+        } catch (IllegalArgumentException e) {
+            // Do nothing.
+        }
+
+        items[31234] = null;
+        for (int k : new int[] {0, 10, 20000}) {
+            try {
+                Searcher.parallelTopKSort(k, items);
+                fail("Did not catch null entry");
+            } catch (IllegalArgumentException e) {
+                // Do nothing.
+            }
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelInputUnchanged() {
+        Integer[] items = randomArray(11, 40000, 1000000);
+        Integer[] copy = items.clone();
+        Searcher.parallelTopKSort(10, items);
+        Searcher.parallelTopKSort(30000, items);
+        assertTrue(java.util.Arrays.equals(copy, items));
+    }
 }